@@ -0,0 +1,71 @@
+package bench.jmh;
+
+import static bench.jmh.ItertoolsBenchmark.boxed;
+import static bench.jmh.ItertoolsBenchmark.sum;
+
+import itertools.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH versions of the cases of {@code bench.itertools.ItertoolsBench} that hand work to other
+ * threads.
+ *
+ * <p>These measure how well the producer and consumer overlap, so they only mean something on a
+ * machine with several cores; on one core the threads just take turns. Record their baseline on
+ * such a machine, and note its core count alongside it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConcurrentBenchmark {
+    @Param({"1000", "100000"})
+    public int n;
+
+    @Benchmark
+    public long parallelReduce() {
+        return Itertools.parallelReduce(new RangeIterator(n), 0L, (a, x) -> a + x, Long::sum);
+    }
+
+    @Benchmark
+    public long prefetch() {
+        try (Prefetch<Integer> it = Itertools.prefetch(boxed(n), 256)) {
+            return sum(it);
+        }
+    }
+
+    @Benchmark
+    public long mapConcurrent() {
+        try (ConcurrentMapping<Integer, Integer> it =
+                Itertools.mapConcurrent(boxed(n), x -> x + 1, 4)) {
+            return sum(it);
+        }
+    }
+
+    @Benchmark
+    public long mapConcurrentUnordered() {
+        try (ConcurrentMapping<Integer, Integer> it =
+                Itertools.mapConcurrentUnordered(boxed(n), x -> x + 1, 4)) {
+            return sum(it);
+        }
+    }
+
+    @Benchmark
+    public long publisherToIterator() {
+        return sum(Itertools.fromPublisher(Itertools.publisher(boxed(n)), 256));
+    }
+}
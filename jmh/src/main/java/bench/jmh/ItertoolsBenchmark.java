@@ -0,0 +1,349 @@
+package bench.jmh;
+
+import itertools.*;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH versions of the single-threaded cases of {@code bench.itertools.ItertoolsBench}, plus every
+ * other single-threaded {@link Itertools} method outside {@link PipelineBenchmark}: sources,
+ * adapters, grouping, merging and terminals, each a full pass over `n` elements. Double-ended
+ * cases are read from the back, since that is what they add over the plain versions.
+ *
+ * <p>Scores are per pass, so divide by `n` to compare with the ns/elem of the hand-rolled
+ * harness; with {@code -prof gc}, "gc.alloc.rate.norm" is likewise bytes per pass.
+ *
+ * <p>Warmup is longer than in the other benchmarks: at n=100000 a pass takes long enough that the
+ * JIT can still be removing the boxing a few seconds in, which shows up as a megabyte or so of
+ * allocation in the first measured iterations and nothing after.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ItertoolsBenchmark {
+    @Param({"1000", "100000"})
+    public int n;
+
+    @Benchmark
+    public long rangeBoxed() {
+        return sum(boxed(n));
+    }
+
+    @Benchmark
+    public long rangeInt() {
+        return sumInt(new RangeIterator(n));
+    }
+
+    @Benchmark
+    public long rangeBatch() {
+        BatchIterator<Integer> it = new RangeIterator(n);
+        Object[] buf = new Object[256];
+        long sum = 0;
+        for (int got; (got = it.nextBatch(buf, 0, buf.length)) > 0; ) {
+            for (int i = 0; i < got; i++) {
+                sum += (Integer) buf[i];
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long takeBoxed() {
+        return sum(Itertools.take(boxed(n * 2), n));
+    }
+
+    @Benchmark
+    public long takeInt() {
+        return sumInt(Itertools.takeInt(new RangeIterator(n * 2), n));
+    }
+
+    @Benchmark
+    public long skipBoxed() {
+        return sum(Itertools.skip(boxed(n * 2), n));
+    }
+
+    @Benchmark
+    public long filterBoxed() {
+        return sum(Itertools.filter(boxed(n), x -> x % 3 != 0));
+    }
+
+    @Benchmark
+    public long filterInt() {
+        return sumInt(Itertools.filterInt(new RangeIterator(n), x -> x % 3 != 0));
+    }
+
+    @Benchmark
+    public long filterDoubleEnded() {
+        return sum(Itertools.filterDoubleEnded(doubleEnded(n), x -> x % 3 != 0));
+    }
+
+    @Benchmark
+    public long zipBoxed() {
+        return sum(Itertools.zip(boxed(n), boxed(n), (x, y) -> x + y));
+    }
+
+    @Benchmark
+    public long zipInt() {
+        return sumInt(
+                Itertools.zipInt(new RangeIterator(n), new RangeIterator(n), (x, y) -> x + y));
+    }
+
+    @Benchmark
+    public long zipDoubleEnded() {
+        return sum(Itertools.zipDoubleEnded(doubleEnded(n), doubleEnded(n), (x, y) -> x + y));
+    }
+
+    @Benchmark
+    public long takeDoubleEnded() {
+        return sum(Itertools.reversed(Itertools.takeDoubleEnded(doubleEnded(n * 2), n)));
+    }
+
+    @Benchmark
+    public int nth() {
+        return Itertools.nth(Itertools.map(boxed(n), x -> x + 1), n - 1);
+    }
+
+    @Benchmark
+    public long reversed() {
+        return sum(Itertools.reversed(doubleEnded(n)));
+    }
+
+    @Benchmark
+    public long windowsBoxed() {
+        long sum = 0;
+        Iterator<List<Integer>> it = Itertools.windows(boxed(n), 4);
+        while (it.hasNext()) {
+            sum += it.next().get(3);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long windowsInt() {
+        long sum = 0;
+        Iterator<IntView> it = Itertools.windowsInt(new RangeIterator(n), 4);
+        while (it.hasNext()) {
+            sum += it.next().get(3);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long windowsDoubleEnded() {
+        long sum = 0;
+        DoubleEndedIterator<List<Integer>> it = Itertools.windowsDoubleEnded(doubleEnded(n), 4);
+        while (it.hasNext()) {
+            sum += it.reverseNext().get(3);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long chunksBoxed() {
+        long sum = 0;
+        Iterator<List<Integer>> it = Itertools.chunks(boxed(n), 16);
+        while (it.hasNext()) {
+            sum += it.next().size();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long chunksDoubleEnded() {
+        long sum = 0;
+        DoubleEndedIterator<List<Integer>> it = Itertools.chunksDoubleEnded(doubleEnded(n), 16);
+        while (it.hasNext()) {
+            sum += it.reverseNext().size();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long chunksInt() {
+        long sum = 0;
+        Iterator<IntView> it = Itertools.chunksInt(new RangeIterator(n), 16);
+        while (it.hasNext()) {
+            sum += it.next().sum();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long tee() {
+        List<Iterator<Integer>> tees = Itertools.tee(boxed(n), 2, 64);
+        long sum = 0;
+        while (tees.get(0).hasNext()) {
+            sum += tees.get(0).next() + tees.get(1).next();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long mergeSorted() {
+        return sum(
+                Itertools.mergeSorted(
+                        Comparator.<Integer>naturalOrder(),
+                        quarter(n, 0),
+                        quarter(n, 1),
+                        quarter(n, 2),
+                        quarter(n, 3)));
+    }
+
+    @Benchmark
+    public long mergeSortedDistinct() {
+        return sum(
+                Itertools.mergeSortedDistinct(
+                        Comparator.<Integer>naturalOrder(), boxed(n), boxed(n), boxed(n)));
+    }
+
+    @Benchmark
+    public long mergeSortedDoubleEnded() {
+        return sum(
+                Itertools.reversed(
+                        Itertools.mergeSorted(
+                                Comparator.<Integer>naturalOrder(),
+                                doubleEndedQuarter(n, 0),
+                                doubleEndedQuarter(n, 1),
+                                doubleEndedQuarter(n, 2),
+                                doubleEndedQuarter(n, 3))));
+    }
+
+    @Benchmark
+    public int groupAggregate() {
+        return Itertools.groupAggregate(boxed(n), x -> x % 16, () -> 0L, (a, x) -> a + x).size();
+    }
+
+    @Benchmark
+    public int groupAggregateInt() {
+        return Itertools.groupAggregateInt(boxed(n), x -> x % 16, x -> x, Long::sum).size();
+    }
+
+    @Benchmark
+    public int groupAggregateLong() {
+        return Itertools.groupAggregateLong(boxed(n), x -> x % 16, x -> x, Long::sum).size();
+    }
+
+    @Benchmark
+    public long instrument() {
+        return sum(Itertools.instrument(boxed(n), "ItertoolsBenchmark.instrument"));
+    }
+
+    @Benchmark
+    public long count() {
+        return Itertools.count(Itertools.map(boxed(n), x -> x));
+    }
+
+    @Benchmark
+    public long last() {
+        return Itertools.last(boxed(n));
+    }
+
+    @Benchmark
+    public long lastDoubleEnded() {
+        return Itertools.last(doubleEnded(n));
+    }
+
+    @Benchmark
+    public int toList() {
+        return Itertools.toList(boxed(n)).size();
+    }
+
+    @Benchmark
+    public long reduceBoxed() {
+        return Itertools.reduce(boxed(n), 0L, (a, x) -> a + x);
+    }
+
+    @Benchmark
+    public long reduceBatched() {
+        return Itertools.reduceBatches(new RangeIterator(n), 0L, (a, x) -> a + x);
+    }
+
+    @Benchmark
+    public int reduceInt() {
+        return Itertools.reduce(
+                (PrimitiveIterator.OfInt) new RangeIterator(n), 0, (int a, int x) -> a + x);
+    }
+
+    @Benchmark
+    public long reduceSumCount() {
+        return Itertools.reduce((PrimitiveIterator.OfInt) new RangeIterator(n), new SumCount())
+                .getSum();
+    }
+
+    @Benchmark
+    public double reduceVariance() {
+        return Itertools.reduce(doubles(n), new Variance()).getVariance();
+    }
+
+    @Benchmark
+    public double reduceCompensatedSum() {
+        return Itertools.reduce(doubles(n), new CompensatedSum()).getSum();
+    }
+
+    static Iterator<Integer> boxed(int n) {
+        return new RangeIterator(n);
+    }
+
+    static DoubleEndedIterator<Integer> doubleEnded(int n) {
+        return new RangeIterator(n);
+    }
+
+    // The elements below n leaving the given remainder mod 4; four of them merge into the range
+    static Iterator<Integer> quarter(int n, int remainder) {
+        return new RangeIterator(remainder, n, 4);
+    }
+
+    static DoubleEndedIterator<Integer> doubleEndedQuarter(int n, int remainder) {
+        return new RangeIterator(remainder, n, 4);
+    }
+
+    // Halves of the integers below n, without boxing
+    static PrimitiveIterator.OfDouble doubles(int n) {
+        RangeIterator range = new RangeIterator(n);
+        return new PrimitiveIterator.OfDouble() {
+            @Override
+            public boolean hasNext() {
+                return range.hasNext();
+            }
+
+            @Override
+            public double nextDouble() {
+                return range.nextInt() * 0.5;
+            }
+        };
+    }
+
+    static long sum(Iterator<Integer> it) {
+        long sum = 0;
+        while (it.hasNext()) {
+            sum += it.next();
+        }
+        return sum;
+    }
+
+    static long sumInt(PrimitiveIterator.OfInt it) {
+        long sum = 0;
+        while (it.hasNext()) {
+            sum += it.nextInt();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,79 @@
+package bench.jmh;
+
+import static bench.jmh.ItertoolsBenchmark.boxed;
+import static bench.jmh.ItertoolsBenchmark.sum;
+import static bench.jmh.ItertoolsBenchmark.sumInt;
+
+import itertools.*;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH versions of the depth cases of {@code bench.itertools.ItertoolsBench}: chains of `depth`
+ * stages built by nesting adapters, compared with the same chain run through a {@link Pipeline}.
+ *
+ * <p>Each fork builds only one shape, so the call-site profiles seen here are cleaner than in the
+ * hand-rolled harness, which runs every shape in one JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PipelineBenchmark {
+    @Param({"1000", "100000"})
+    public int n;
+
+    @Param({"1", "4", "8"})
+    public int depth;
+
+    @Benchmark
+    public long mapBoxed() {
+        Iterator<Integer> it = boxed(n);
+        for (int i = 0; i < depth; i++) {
+            it = Itertools.map(it, x -> x + 1);
+        }
+        return sum(it);
+    }
+
+    @Benchmark
+    public long mapInt() {
+        PrimitiveIterator.OfInt it = new RangeIterator(n);
+        for (int i = 0; i < depth; i++) {
+            it = Itertools.mapInt(it, x -> x + 1);
+        }
+        return sumInt(it);
+    }
+
+    @Benchmark
+    public long mapFilterNested() {
+        Iterator<Integer> it = boxed(n);
+        for (int i = 0; i < depth; i++) {
+            it = Itertools.filter(Itertools.map(it, x -> x + 1), x -> x >= 0);
+        }
+        return sum(it);
+    }
+
+    @Benchmark
+    public long pipeline() {
+        Pipeline<Integer> pipeline = Itertools.pipeline(boxed(n));
+        for (int i = 0; i < depth; i++) {
+            pipeline = pipeline.map(x -> x + 1).filter(x -> x >= 0);
+        }
+        return sum(pipeline.iterator());
+    }
+}
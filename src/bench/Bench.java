@@ -0,0 +1,24 @@
+package bench;
+
+/**
+ * Runs every benchmark, printing a line per case. Pass a substring to only run the cases whose
+ * names contain it, e.g. {@code java -cp out bench.Bench filter}.
+ *
+ * <p>This is a hand-rolled harness in the style of {@code test.Test}, for a quick check that
+ * needs nothing but {@code javac}. For numbers to rely on, use the JMH benchmarks in {@code jmh/}
+ * (forked JVMs, error bars, {@code -prof gc}). Numbers are only comparable between runs on the
+ * same machine and JVM; see {@code baseline.txt} for a reference run.
+ */
+public class Bench {
+    public static void main(String[] args) {
+        run("", args.length > 0 ? args[0] : "");
+    }
+
+    public static void run(String prefix, String filter) {
+        String indent = prefix + "  ";
+        System.out.println(prefix + "Running benchmarks");
+        System.out.println(indent + Measurement.header());
+
+        bench.itertools.ItertoolsBench.run(indent, filter);
+    }
+}
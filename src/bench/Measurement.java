@@ -0,0 +1,67 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+/**
+ * Times one benchmark case: a pass over some number of elements, repeated until the JIT has
+ * settled, then repeated again while measuring.
+ *
+ * <p>Reports the average time per element, the throughput in millions of elements per second, and
+ * the bytes allocated per element by the measuring thread (the same figure as JMH's {@code -prof
+ * gc} "gc.alloc.rate.norm", divided by the elements per pass).
+ */
+public class Measurement {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final long WARMUP_NANOS = 300_000_000L;
+    private static final long MEASURE_NANOS = 700_000_000L;
+
+    // Consumes results so the JIT cannot drop the passes that produced them
+    public static long sink;
+
+    public final String name;
+    public double nanosPerElement;
+    public double bytesPerElement;
+
+    public Measurement(String name) {
+        this.name = name;
+    }
+
+    public static String header() {
+        return String.format("%-44s %10s %10s %10s", "case", "ns/elem", "Melem/s", "B/elem");
+    }
+
+    /**
+     * Measures the given pass, which must touch `elements` elements and return something derived
+     * from all of them.
+     */
+    public Measurement measure(long elements, LongSupplier pass) {
+        long end = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < end) {
+            sink += pass.getAsLong();
+        }
+
+        long passes = 0;
+        long bytes = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        long now = start;
+        while (now - start < MEASURE_NANOS) {
+            sink += pass.getAsLong();
+            passes++;
+            now = System.nanoTime();
+        }
+        bytes = THREADS.getCurrentThreadAllocatedBytes() - bytes;
+
+        nanosPerElement = (double) (now - start) / (passes * elements);
+        bytesPerElement = (double) bytes / (passes * elements);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%-44s %10.2f %10.1f %10.2f",
+                name, nanosPerElement, 1000 / nanosPerElement, bytesPerElement);
+    }
+}
@@ -0,0 +1,207 @@
+package bench.itertools;
+
+import bench.Measurement;
+
+import itertools.*;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.LongSupplier;
+
+public class ItertoolsBench {
+    private static final int[] SIZES = {1_000, 100_000};
+    private static final int[] DEPTHS = {1, 4, 8};
+
+    public static void run(String prefix, String filter) {
+        for (int size : SIZES) {
+            runSources(prefix, filter, size);
+            runAdapters(prefix, filter, size);
+            runDepths(prefix, filter, size);
+            runGrouping(prefix, filter, size);
+            runTerminals(prefix, filter, size);
+            runConcurrent(prefix, filter, size);
+        }
+    }
+
+    private static void runSources(String prefix, String filter, int n) {
+        bench(prefix, filter, "range boxed", n, () -> sum(new RangeIterator(n)));
+        bench(prefix, filter, "range int", n, () -> sumInt(new RangeIterator(n)));
+        bench(prefix, filter, "range batch", n, () -> {
+            BatchIterator<Integer> it = new RangeIterator(n);
+            Object[] buf = new Object[256];
+            long sum = 0;
+            for (int got; (got = it.nextBatch(buf, 0, buf.length)) > 0; ) {
+                for (int i = 0; i < got; i++) {
+                    sum += (Integer) buf[i];
+                }
+            }
+            return sum;
+        });
+    }
+
+    private static void runAdapters(String prefix, String filter, int n) {
+        bench(prefix, filter, "take boxed", n, () -> sum(Itertools.take(boxed(n * 2), n)));
+        bench(prefix, filter, "take int", n, () -> sumInt(Itertools.takeInt(ints(n * 2), n)));
+        bench(prefix, filter, "skip boxed", n, () -> sum(Itertools.skip(boxed(n * 2), n)));
+        bench(prefix, filter, "filter boxed", n,
+                () -> sum(Itertools.filter(boxed(n), x -> x % 3 != 0)));
+        bench(prefix, filter, "filter int", n,
+                () -> sumInt(Itertools.filterInt(ints(n), x -> x % 3 != 0)));
+        bench(prefix, filter, "filter double-ended", n,
+                () -> sum(Itertools.filterDoubleEnded(doubleEnded(n), x -> x % 3 != 0)));
+        bench(prefix, filter, "zip boxed", n,
+                () -> sum(Itertools.zip(boxed(n), boxed(n), (x, y) -> x + y)));
+        bench(prefix, filter, "zip int", n,
+                () -> sumInt(Itertools.zipInt(ints(n), ints(n), (x, y) -> x + y)));
+        bench(prefix, filter, "zip double-ended", n,
+                () -> sum(
+                        Itertools.zipDoubleEnded(
+                                doubleEnded(n), doubleEnded(n), ItertoolsBench::add)));
+        bench(prefix, filter, "reversed", n, () -> sum(Itertools.reversed(doubleEnded(n))));
+    }
+
+    private static void runDepths(String prefix, String filter, int n) {
+        for (int depth : DEPTHS) {
+            bench(prefix, filter, "map boxed depth " + depth, n, () -> {
+                Iterator<Integer> it = boxed(n);
+                for (int i = 0; i < depth; i++) {
+                    it = Itertools.map(it, x -> x + 1);
+                }
+                return sum(it);
+            });
+            bench(prefix, filter, "map int depth " + depth, n, () -> {
+                PrimitiveIterator.OfInt it = new RangeIterator(n);
+                for (int i = 0; i < depth; i++) {
+                    it = Itertools.mapInt(it, x -> x + 1);
+                }
+                return sumInt(it);
+            });
+            bench(prefix, filter, "map+filter nested depth " + depth, n, () -> {
+                Iterator<Integer> it = boxed(n);
+                for (int i = 0; i < depth; i++) {
+                    it = Itertools.filter(Itertools.map(it, x -> x + 1), x -> x >= 0);
+                }
+                return sum(it);
+            });
+            bench(prefix, filter, "pipeline depth " + depth, n, () -> {
+                Pipeline<Integer> pipeline = Itertools.pipeline(boxed(n));
+                for (int i = 0; i < depth; i++) {
+                    pipeline = pipeline.map(x -> x + 1).filter(x -> x >= 0);
+                }
+                return sum(pipeline.iterator());
+            });
+        }
+    }
+
+    private static void runGrouping(String prefix, String filter, int n) {
+        bench(prefix, filter, "windows boxed", n, () -> {
+            long sum = 0;
+            Iterator<List<Integer>> it = Itertools.windows(boxed(n), 4);
+            while (it.hasNext()) {
+                sum += it.next().get(3);
+            }
+            return sum;
+        });
+        bench(prefix, filter, "windows int", n, () -> {
+            long sum = 0;
+            Iterator<IntView> it = Itertools.windowsInt(new RangeIterator(n), 4);
+            while (it.hasNext()) {
+                sum += it.next().get(3);
+            }
+            return sum;
+        });
+        bench(prefix, filter, "chunks boxed", n, () -> {
+            long sum = 0;
+            Iterator<List<Integer>> it = Itertools.chunks(boxed(n), 16);
+            while (it.hasNext()) {
+                sum += it.next().size();
+            }
+            return sum;
+        });
+        bench(prefix, filter, "chunks int", n, () -> {
+            long sum = 0;
+            Iterator<IntView> it = Itertools.chunksInt(new RangeIterator(n), 16);
+            while (it.hasNext()) {
+                sum += it.next().sum();
+            }
+            return sum;
+        });
+        bench(prefix, filter, "tee 2", n, () -> {
+            List<Iterator<Integer>> tees = Itertools.tee(boxed(n), 2, 64);
+            long sum = 0;
+            while (tees.get(0).hasNext()) {
+                sum += tees.get(0).next() + tees.get(1).next();
+            }
+            return sum;
+        });
+    }
+
+    private static void runTerminals(String prefix, String filter, int n) {
+        bench(prefix, filter, "reduce boxed", n,
+                () -> Itertools.reduce(boxed(n), 0L, (a, x) -> a + x));
+        bench(prefix, filter, "reduce batched", n,
+                () -> Itertools.reduceBatches(new RangeIterator(n), 0L, (a, x) -> a + x));
+        bench(prefix, filter, "reduce int", n,
+                () -> Itertools.reduce(ints(n), 0, (int a, int x) -> a + x));
+        bench(prefix, filter, "count", n, () -> Itertools.count(Itertools.map(boxed(n), x -> x)));
+        bench(prefix, filter, "last double-ended", n, () -> Itertools.last(doubleEnded(n)));
+        bench(prefix, filter, "toList", n, () -> Itertools.toList(boxed(n)).size());
+        bench(prefix, filter, "parallelReduce", n,
+                () -> Itertools.parallelReduce(range(n), 0L, (a, x) -> a + x, Long::sum));
+    }
+
+    private static void runConcurrent(String prefix, String filter, int n) {
+        bench(prefix, filter, "prefetch", n, () -> {
+            try (Prefetch<Integer> it = Itertools.prefetch(boxed(n), 256)) {
+                return sum(it);
+            }
+        });
+        bench(prefix, filter, "publisher to iterator", n,
+                () -> sum(Itertools.fromPublisher(Itertools.publisher(boxed(n)), 256)));
+    }
+
+    private static void bench(
+            String prefix, String filter, String name, int n, LongSupplier pass) {
+        name = name + " n=" + n;
+        if (name.contains(filter)) {
+            System.out.println(prefix + new Measurement(name).measure(n, pass));
+        }
+    }
+
+    private static Integer add(Integer x, Integer y) {
+        return x + y;
+    }
+
+    private static RangeIterator range(int n) {
+        return new RangeIterator(n);
+    }
+
+    private static Iterator<Integer> boxed(int n) {
+        return new RangeIterator(n);
+    }
+
+    private static PrimitiveIterator.OfInt ints(int n) {
+        return new RangeIterator(n);
+    }
+
+    private static DoubleEndedIterator<Integer> doubleEnded(int n) {
+        return new RangeIterator(n);
+    }
+
+    private static long sum(Iterator<Integer> it) {
+        long sum = 0;
+        while (it.hasNext()) {
+            sum += it.next();
+        }
+        return sum;
+    }
+
+    private static long sumInt(PrimitiveIterator.OfInt it) {
+        long sum = 0;
+        while (it.hasNext()) {
+            sum += it.nextInt();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,49 @@
+package itertools;
+
+import java.util.Iterator;
+
+/**
+ * An iterator that can skip over elements without returning them. Sources that know where their
+ * elements are (such as {@link RangeIterator}) can skip in constant time, and adapters pass skips
+ * through to the iterators they wrap without doing any work on the skipped elements.
+ *
+ * @param <T> The type of elements returned by the iterator.
+ */
+public interface AdvancingIterator<T> extends Iterator<T> {
+    /**
+     * Skips over the next `n` elements in the iteration, or as many as remain if fewer.
+     *
+     * <p>The default implementation calls {@link #next()} once per skipped element.
+     *
+     * @param n The number of elements to skip.
+     * @return The number of elements actually skipped.
+     */
+    default int advanceBy(int n) {
+        int skipped = 0;
+        while (skipped < n && hasNext()) {
+            next();
+            skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * Skips over the next `n` elements of any iterator, using {@link #advanceBy} if the iterator
+     * supports it and falling back to {@link #next()} otherwise.
+     *
+     * @param it The iterator to skip elements of.
+     * @param n The number of elements to skip.
+     * @return The number of elements actually skipped.
+     */
+    static int advance(Iterator<?> it, int n) {
+        if (it instanceof AdvancingIterator) {
+            return ((AdvancingIterator<?>) it).advanceBy(n);
+        }
+        int skipped = 0;
+        while (skipped < n && it.hasNext()) {
+            it.next();
+            skipped++;
+        }
+        return skipped;
+    }
+}
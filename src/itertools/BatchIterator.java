@@ -0,0 +1,51 @@
+package itertools;
+
+import java.util.Iterator;
+
+/**
+ * An iterator that can hand out many elements per call. Adapters and reductions can use this to
+ * move whole runs of elements at once rather than paying for a {@link #hasNext()} and {@link
+ * #next()} call per element.
+ *
+ * <p>Buffers are typed as `Object[]` so that adapters can pass their own scratch buffers to any
+ * source, whatever its element type. A buffer whose component type cannot hold the elements will
+ * cause an {@link ArrayStoreException}.
+ *
+ * @param <T> The type of elements returned by the iterator.
+ */
+public interface BatchIterator<T> extends Iterator<T> {
+    /**
+     * Copies up to `max` of the next elements in the iteration into `buf`, starting at index
+     * `off`, in the order {@link #next()} would have returned them.
+     *
+     * <p>Fewer than `max` elements are copied only if the iteration runs out of elements, so a
+     * return value of 0 (for a positive `max`) means the iteration is finished.
+     *
+     * @param buf The buffer to copy elements into.
+     * @param off The index in `buf` of the first element copied.
+     * @param max The maximum number of elements to copy.
+     * @return The number of elements copied.
+     */
+    int nextBatch(Object[] buf, int off, int max);
+
+    /**
+     * Copies up to `max` of the next elements of any iterator into `buf`, using {@link
+     * #nextBatch} if the iterator supports it and falling back to {@link #next()} otherwise.
+     *
+     * @param it The iterator to take elements from.
+     * @param buf The buffer to copy elements into.
+     * @param off The index in `buf` of the first element copied.
+     * @param max The maximum number of elements to copy.
+     * @return The number of elements copied.
+     */
+    static int fill(Iterator<?> it, Object[] buf, int off, int max) {
+        if (it instanceof BatchIterator) {
+            return ((BatchIterator<?>) it).nextBatch(buf, off, max);
+        }
+        int n = 0;
+        while (n < max && it.hasNext()) {
+            buf[off + n++] = it.next();
+        }
+        return n;
+    }
+}
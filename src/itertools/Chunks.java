@@ -0,0 +1,125 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A Chunks iterator over consecutive, non-overlapping runs of a fixed number of elements of
+ * another iterator. The last chunk holds whatever elements are left, and may be shorter.
+ *
+ * <p>Each chunk is pulled as one batch (see {@link BatchIterator}) into a reused buffer, and every
+ * chunk is returned through the same read-only list view, which only shows the current chunk until
+ * the iterator is advanced, so no step allocates.
+ *
+ * <p>Chunks can be taken from the back if the underlying iterator is double ended and knows its
+ * exact size (see {@link SizedIterator}), which is needed to know how short the last chunk is.
+ *
+ * @param <T> The type of elements in the chunks.
+ */
+public class Chunks<T> implements DoubleEndedIterator<List<T>>, SizedIterator<List<T>> {
+    // The given iterator
+    private final Iterator<T> it;
+    // The number of elements in each chunk
+    private final int size;
+    // Buffers holding the latest chunk from each end
+    private final Object[] front;
+    private final Object[] back;
+    private final RingView<T> frontView;
+    private final RingView<T> backView;
+
+    /**
+     * Constructs a Chunks iterator over the chunks of the given size.
+     *
+     * @param it   the underlying iterator
+     * @param size the number of elements in each chunk
+     */
+    public Chunks(Iterator<T> it, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.it = it;
+        this.size = size;
+        this.front = new Object[size];
+        this.back = new Object[size];
+        this.frontView = new RingView<T>(front);
+        this.backView = new RingView<T>(back);
+    }
+
+    /**
+     * Returns true if there are more chunks.
+     *
+     * @return true if there are more chunks
+     */
+    @Override
+    public boolean hasNext() {
+        return it.hasNext();
+    }
+
+    /**
+     * Returns the next chunk from the front.
+     *
+     * @return a view of the next chunk, valid until this iterator is next advanced
+     * @throws NoSuchElementException if there are no more chunks
+     */
+    @Override
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return frontView.show(0, BatchIterator.fill(it, front, 0, size));
+    }
+
+    /**
+     * Returns the next chunk from the back. The first chunk from the back holds the elements left
+     * over after dividing the remaining elements into full chunks, if there are any.
+     *
+     * @return a view of the next chunk from the back, valid until this iterator is next advanced
+     * @throws NoSuchElementException if there are no more chunks
+     * @throws UnsupportedOperationException if the underlying iterator is not double ended or does
+     *     not know its size
+     */
+    @Override
+    public List<T> reverseNext() {
+        long remaining = SizedIterator.exactSizeOf(it);
+        if (remaining < 0 || !(it instanceof DoubleEndedIterator)) {
+            throw new UnsupportedOperationException(
+                    "chunks from the back require a double ended iterator of known size");
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int n = remaining % size == 0 ? size : (int) (remaining % size);
+        n = DoubleEndedBatchIterator.reverseFill((DoubleEndedIterator<?>) it, back, 0, n);
+        // Elements come from the back last first, so put them back in order.
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            Object swap = back[i];
+            back[i] = back[j];
+            back[j] = swap;
+        }
+        return backView.show(0, n);
+    }
+
+    /**
+     * Returns the number of chunks the size estimate of the underlying iterator divides into.
+     *
+     * @return an upper bound on the number of chunks remaining
+     */
+    @Override
+    public long estimateSize() {
+        long remaining = SizedIterator.estimateSizeOf(it);
+        return remaining == Long.MAX_VALUE ? remaining : (remaining + size - 1) / size;
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(it) >= 0;
+    }
+}
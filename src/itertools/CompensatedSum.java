@@ -0,0 +1,84 @@
+//23832333 DharunSomalingam
+package itertools;
+
+/**
+ * An accumulator of the sum of doubles by Neumaier's variant of Kahan summation.
+ *
+ * <p>The low-order bits lost by each addition are kept in a separate compensation term, so the
+ * error of the sum does not grow with the number of values as a naive running sum's does.
+ */
+public class CompensatedSum implements DoubleReduction<CompensatedSum> {
+    private double sum = 0;
+    private double compensation = 0;
+    private long count = 0;
+
+    /**
+     * Constructs an empty accumulator.
+     */
+    public CompensatedSum() {}
+
+    /**
+     * Adds a value to the sum.
+     *
+     * @param value the value to add
+     */
+    @Override
+    public void add(double value) {
+        addTerm(value);
+        count++;
+    }
+
+    /**
+     * Adds the sum of another accumulator to this one.
+     *
+     * @param other the accumulator to merge in, which is left unchanged
+     * @return this accumulator
+     */
+    @Override
+    public CompensatedSum merge(CompensatedSum other) {
+        addTerm(other.sum);
+        addTerm(other.compensation);
+        count += other.count;
+        return this;
+    }
+
+    /**
+     * Returns the sum of the values.
+     *
+     * @return the compensated sum
+     */
+    public double getSum() {
+        return sum + compensation;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the values.
+     *
+     * @return the mean, or NaN if no values have been added
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : getSum() / count;
+    }
+
+    /**
+     * Adds a term to the running sum, keeping what is lost to rounding in the compensation.
+     */
+    private void addTerm(double value) {
+        double next = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - next) + value;
+        } else {
+            compensation += (value - next) + sum;
+        }
+        sum = next;
+    }
+}
@@ -0,0 +1,219 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * A ConcurrentMapping iterator that applies a function to the elements of an underlying iterator
+ * on other threads, with up to a fixed number of calls in flight at once.
+ *
+ * <p>Elements are pulled from the underlying iterator on the consumer's thread as room frees up.
+ * Results are returned either in the order of the underlying iterator, waiting for the oldest call
+ * if need be, or in the order the calls finish.
+ *
+ * <p>A call that fails has its exception rethrown from {@code next}, and the remaining calls are
+ * abandoned. In order, that happens at the failed element's position, once the results before it
+ * have been returned; out of order, it happens as soon as the failure is seen, since results are
+ * returned as they finish. Closing the iterator abandons the calls still in flight.
+ *
+ * @param <T> the type of input elements
+ * @param <R> the type of output elements
+ */
+public class ConcurrentMapping<T, R> implements Iterator<R>, AutoCloseable {
+    // Shared by every ConcurrentMapping not given its own executor; threads are made as needed,
+    // are daemons so they never keep the program alive, and die after a minute idle.
+    private static final ExecutorService POOL =
+            Executors.newCachedThreadPool(
+                    task -> {
+                        Thread thread = new Thread(task, "itertools-map-concurrent");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    private final Iterator<T> iterator;
+    private final Function<T, R> function;
+    private final int maxInFlight;
+    private final boolean ordered;
+    private final Executor executor;
+    // Calls in flight, oldest first
+    private final ArrayDeque<CompletableFuture<R>> pending = new ArrayDeque<>();
+    // Calls that have finished but not been returned, in the order they finished (unordered only)
+    private final Queue<CompletableFuture<R>> finished = new ConcurrentLinkedQueue<>();
+    // Released once for every call that finishes
+    private final Semaphore completions = new Semaphore(0);
+    // The first exception thrown by a call, if any (unordered only)
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private int inFlight;
+    private boolean closed;
+
+    /**
+     * Constructs a ConcurrentMapping iterator which runs the function on a shared pool of daemon
+     * threads.
+     *
+     * @param iterator    the underlying iterator
+     * @param function    the function to apply to each element
+     * @param maxInFlight the largest number of calls to run at once
+     * @param ordered     whether to return results in the order of the underlying iterator
+     */
+    public ConcurrentMapping(
+            Iterator<T> iterator, Function<T, R> function, int maxInFlight, boolean ordered) {
+        this(iterator, function, maxInFlight, ordered, POOL);
+    }
+
+    /**
+     * Constructs a ConcurrentMapping iterator which runs the function with the given executor.
+     *
+     * @param iterator    the underlying iterator
+     * @param function    the function to apply to each element
+     * @param maxInFlight the largest number of calls to run at once
+     * @param ordered     whether to return results in the order of the underlying iterator
+     * @param executor    the executor to run the calls with
+     */
+    public ConcurrentMapping(
+            Iterator<T> iterator,
+            Function<T, R> function,
+            int maxInFlight,
+            boolean ordered,
+            Executor executor) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.iterator = iterator;
+        this.function = function;
+        this.maxInFlight = maxInFlight;
+        this.ordered = ordered;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns true if there are more results, starting calls on the next elements if there is
+     * room.
+     *
+     * @return true if there are more results
+     */
+    @Override
+    public boolean hasNext() {
+        fill();
+        return inFlight > 0;
+    }
+
+    /**
+     * Returns the next result, waiting for it if need be.
+     *
+     * @return the next result
+     * @throws NoSuchElementException if there are no more results
+     */
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (ordered) {
+            CompletableFuture<R> result = pending.peekFirst();
+            while (!result.isDone()) {
+                completions.acquireUninterruptibly();
+            }
+            // The loop above checks isDone before waiting, so wake-ups left over from calls that
+            // finished out of order are not needed.
+            completions.drainPermits();
+            pending.pollFirst();
+            inFlight--;
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                close();
+                throw rethrow(e);
+            }
+        }
+        CompletableFuture<R> result = null;
+        while (result == null) {
+            rethrowFailure();
+            completions.acquireUninterruptibly();
+            result = finished.poll();
+        }
+        rethrowFailure();
+        pending.remove(result);
+        inFlight--;
+        return result.join();
+    }
+
+    /**
+     * Abandons the calls in flight and stops pulling from the underlying iterator.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (CompletableFuture<R> call : pending) {
+            call.cancel(false);
+        }
+        pending.clear();
+        finished.clear();
+        inFlight = 0;
+    }
+
+    /**
+     * Starts calls on elements of the underlying iterator until there are `maxInFlight` in flight
+     * or it runs out.
+     */
+    private void fill() {
+        while (!closed && inFlight < maxInFlight && iterator.hasNext()) {
+            T element = iterator.next();
+            CompletableFuture<R> call =
+                    CompletableFuture.supplyAsync(() -> function.apply(element), executor);
+            pending.addLast(call);
+            inFlight++;
+            call.whenComplete(
+                    (result, thrown) -> {
+                        // In order, a failure is found when its call reaches the head of pending.
+                        if (!ordered) {
+                            if (thrown != null) {
+                                failure.compareAndSet(null, thrown);
+                            } else {
+                                finished.add(call);
+                            }
+                        }
+                        completions.release();
+                    });
+        }
+    }
+
+    /**
+     * If a call has failed, abandons the rest and rethrows its exception unchanged.
+     */
+    private void rethrowFailure() {
+        Throwable thrown = failure.get();
+        if (thrown != null) {
+            close();
+            throw rethrow(thrown);
+        }
+    }
+
+    /**
+     * Throws the exception thrown by a call unchanged, unwrapping it from the future.
+     *
+     * @param thrown the exception, possibly wrapped in a {@link CompletionException}
+     * @return never returns; declared so callers can write {@code throw rethrow(e)}
+     */
+    private static RuntimeException rethrow(Throwable thrown) {
+        if (thrown instanceof CompletionException && thrown.getCause() != null) {
+            thrown = thrown.getCause();
+        }
+        if (thrown instanceof Error) {
+            throw (Error) thrown;
+        }
+        throw (RuntimeException) thrown;
+    }
+}
@@ -0,0 +1,45 @@
+package itertools;
+
+/**
+ * A double ended iterator that can hand out many elements per call from either end.
+ *
+ * @param <T> The type of elements returned by the iterator.
+ * @see BatchIterator
+ */
+public interface DoubleEndedBatchIterator<T> extends BatchIterator<T>, DoubleEndedIterator<T> {
+    /**
+     * Copies up to `max` of the next elements from the back of the iteration into `buf`, starting
+     * at index `off`, in the order {@link #reverseNext()} would have returned them. Will not copy
+     * an element that has already been returned from the front.
+     *
+     * <p>Fewer than `max` elements are copied only if the iteration runs out of elements.
+     *
+     * @param buf The buffer to copy elements into.
+     * @param off The index in `buf` of the first element copied.
+     * @param max The maximum number of elements to copy.
+     * @return The number of elements copied.
+     */
+    int reverseNextBatch(Object[] buf, int off, int max);
+
+    /**
+     * Copies up to `max` of the next elements from the back of any double ended iterator into
+     * `buf`, using {@link #reverseNextBatch} if the iterator supports it and falling back to {@link
+     * #reverseNext()} otherwise.
+     *
+     * @param it The iterator to take elements from.
+     * @param buf The buffer to copy elements into.
+     * @param off The index in `buf` of the first element copied.
+     * @param max The maximum number of elements to copy.
+     * @return The number of elements copied.
+     */
+    static int reverseFill(DoubleEndedIterator<?> it, Object[] buf, int off, int max) {
+        if (it instanceof DoubleEndedBatchIterator) {
+            return ((DoubleEndedBatchIterator<?>) it).reverseNextBatch(buf, off, max);
+        }
+        int n = 0;
+        while (n < max && it.hasNext()) {
+            buf[off + n++] = it.reverseNext();
+        }
+        return n;
+    }
+}
@@ -1,6 +1,5 @@
 package itertools;
 
-import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
@@ -9,7 +8,7 @@ import java.util.NoSuchElementException;
  *
  * @param <T> The type of elements returned by the double ended iterator.
  */
-public interface DoubleEndedIterator<T> extends Iterator<T> {
+public interface DoubleEndedIterator<T> extends AdvancingIterator<T> {
     /**
      * Returns the next element from the back in the iteration. Will not return an element that has
      * already been returned by {@link #next()}.
@@ -18,4 +17,22 @@ public interface DoubleEndedIterator<T> extends Iterator<T> {
      * @throws NoSuchElementException If the iteration has no more elements.
      */
     T reverseNext() throws NoSuchElementException;
+
+    /**
+     * Skips over the next `n` elements from the back of the iteration, or as many as remain if
+     * fewer. Will not skip an element that has already been returned by {@link #next()}.
+     *
+     * <p>The default implementation calls {@link #reverseNext()} once per skipped element.
+     *
+     * @param n The number of elements to skip.
+     * @return The number of elements actually skipped.
+     */
+    default int advanceBackBy(int n) {
+        int skipped = 0;
+        while (skipped < n && hasNext()) {
+            reverseNext();
+            skipped++;
+        }
+        return skipped;
+    }
 }
@@ -0,0 +1,206 @@
+//23832333 DharunSomalingam
+package itertools;
+
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A DoubleFilter iterator that filters the elements of a DoubleEndedIterator based on a predicate,
+ * searching for the next matching element from whichever end is asked for.
+ *
+ * @param <T> the type of elements returned by this iterator
+ */
+public class DoubleFilter<T> implements DoubleEndedIterator<T>, SizedIterator<T>, Predicate<T> {
+    private final DoubleEndedIterator<T> it;
+    private final Predicate<T> predicate;
+    private T frontPredictor; // Next matching element from the front, if found
+    private boolean frontPredicted;
+    private T backPredictor; // Next matching element from the back, if found
+    private boolean backPredicted;
+    // Where calls are recorded when instrumentation is enabled (see Instrumentation)
+    private final StageMetrics metrics =
+            Instrumentation.ENABLED ? Instrumentation.scoped("DoubleFilter") : null;
+
+    /**
+     * Constructs a DoubleFilter iterator that wraps a DoubleEndedIterator and filters elements
+     * based on a predicate.
+     *
+     * @param it        the underlying DoubleEndedIterator
+     * @param predicate the predicate to filter elements
+     */
+    public DoubleFilter(DoubleEndedIterator<T> it, Predicate<T> predicate) {
+        this.it = it;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Tests if the given element satisfies the predicate.
+     *
+     * @param t the element to be tested
+     * @return true if the element satisfies the predicate, otherwise false
+     */
+    @Override
+    public boolean test(T t) {
+        return predicate.test(t);
+    }
+
+    /**
+     * Returns true if the iteration has more elements satisfying the predicate.
+     *
+     * @return true if the iteration has more elements satisfying the predicate
+     */
+    @Override
+    public boolean hasNext() {
+        if (Instrumentation.ENABLED) {
+            long start = System.nanoTime();
+            boolean more = ready();
+            metrics.recordHasNext(start);
+            return more;
+        }
+        return ready();
+    }
+
+    /**
+     * Returns the next element from the front that satisfies the predicate.
+     *
+     * @return the next element from the front that satisfies the predicate
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public T next() {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (!frontPredicted) {
+            predictFront();
+        }
+        T result;
+        if (frontPredicted) {
+            result = frontPredictor;
+            frontPredicted = false;
+            frontPredictor = null;
+        } else {
+            // The only match left was already found searching from the back.
+            result = takeBack();
+        }
+        if (Instrumentation.ENABLED) {
+            metrics.recordNext(start);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the next element from the back that satisfies the predicate.
+     *
+     * @return the next element from the back that satisfies the predicate
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public T reverseNext() {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (!backPredicted) {
+            predictBack();
+        }
+        T result;
+        if (backPredicted) {
+            result = takeBack();
+        } else if (frontPredicted) {
+            // The only match left was already found searching from the front.
+            result = frontPredictor;
+            frontPredicted = false;
+            frontPredictor = null;
+        } else {
+            throw new NoSuchElementException();
+        }
+        if (Instrumentation.ENABLED) {
+            metrics.recordNext(start);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the size estimate of the underlying iterator plus any elements already found, since
+     * at most every one of its elements satisfies the predicate.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        long remaining = SizedIterator.estimateSizeOf(it);
+        if (remaining == Long.MAX_VALUE) {
+            return remaining;
+        }
+        return remaining + (frontPredicted ? 1 : 0) + (backPredicted ? 1 : 0);
+    }
+
+    /**
+     * Returns false, since how many elements satisfy the predicate is not known in advance.
+     *
+     * @return false
+     */
+    @Override
+    public boolean hasExactSize() {
+        return false;
+    }
+
+    /**
+     * Searches forwards for an element that satisfies the predicate, unless one has already been
+     * found from either end.
+     *
+     * @return true if there is such an element
+     */
+    private boolean ready() {
+        if (!frontPredicted && !backPredicted) {
+            predictFront();
+        }
+        return frontPredicted || backPredicted;
+    }
+
+    /**
+     * Returns the element found searching from the back.
+     *
+     * @return the element found searching from the back
+     * @throws NoSuchElementException if no element has been found from the back
+     */
+    private T takeBack() {
+        if (!backPredicted) {
+            throw new NoSuchElementException();
+        }
+        T result = backPredictor;
+        backPredicted = false;
+        backPredictor = null;
+        return result;
+    }
+
+    /**
+     * Searches forwards for the next element that satisfies the predicate.
+     */
+    private void predictFront() {
+        while (it.hasNext()) {
+            T nextElement = it.next();
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+            }
+            if (test(nextElement)) {
+                frontPredictor = nextElement;
+                frontPredicted = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Searches backwards for the next element that satisfies the predicate.
+     */
+    private void predictBack() {
+        while (it.hasNext()) {
+            T nextElement = it.reverseNext();
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+            }
+            if (test(nextElement)) {
+                backPredictor = nextElement;
+                backPredicted = true;
+                return;
+            }
+        }
+    }
+}
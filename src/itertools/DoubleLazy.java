@@ -0,0 +1,164 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A DoubleLazy iterator that iterates over a specified number of elements from the front of a
+ * DoubleEndedIterator, from either end.
+ *
+ * <p>To know where the back of the taken elements is, the underlying iterator must know its exact
+ * size (see {@link SizedIterator}), which is checked when the DoubleLazy is constructed. The first
+ * call from the back skips the elements beyond the taken ones with
+ * {@link DoubleEndedIterator#advanceBackBy}.
+ *
+ * @param <T> The type of elements in the iterator.
+ */
+public class DoubleLazy<T> implements DoubleEndedIterator<T>, SizedIterator<T> {
+    // The given iterator
+    private final DoubleEndedIterator<T> it;
+    // The number of taken elements not yet returned from either end
+    private int remaining;
+    // Where calls are recorded when instrumentation is enabled (see Instrumentation)
+    private final StageMetrics metrics =
+            Instrumentation.ENABLED ? Instrumentation.scoped("DoubleLazy") : null;
+
+    /**
+     * Constructs a DoubleLazy iterator that limits the number of elements to iterate.
+     *
+     * @param it    the underlying DoubleEndedIterator
+     * @param count the maximum number of elements to iterate
+     * @throws IllegalArgumentException if the underlying iterator does not know its exact size
+     */
+    public DoubleLazy(DoubleEndedIterator<T> it, int count) {
+        if (SizedIterator.exactSizeOf(it) < 0) {
+            throw new IllegalArgumentException(
+                    "taking from the back requires an iterator of known size");
+        }
+        this.it = it;
+        this.remaining = Math.max(count, 0);
+    }
+
+    /**
+     * Returns true if the iteration has more elements.
+     *
+     * @return true if the iteration has more elements
+     */
+    @Override
+    public boolean hasNext() {
+        if (Instrumentation.ENABLED) {
+            long start = System.nanoTime();
+            boolean more = remaining > 0 && it.hasNext();
+            metrics.recordHasNext(start);
+            return more;
+        }
+        return remaining > 0 && it.hasNext();
+    }
+
+    /**
+     * Returns the next element in the iteration.
+     *
+     * @return the next element in the iteration
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public T next() {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (remaining > 0 && it.hasNext()) {
+            remaining--;
+            T next = it.next();
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+                metrics.recordNext(start);
+            }
+            return next;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the last of the taken elements not yet returned.
+     *
+     * @return the next element from the back of the iteration
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public T reverseNext() {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (remaining > 0 && it.hasNext()) {
+            trimBack();
+            remaining--;
+            T next = it.reverseNext();
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+                metrics.recordNext(start);
+            }
+            return next;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Skips over up to `n` of the taken elements from the front.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBy(int n) {
+        int skipped = it.advanceBy(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    /**
+     * Skips over up to `n` of the taken elements from the back.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBackBy(int n) {
+        if (remaining <= 0 || !it.hasNext()) {
+            return 0;
+        }
+        trimBack();
+        int skipped = it.advanceBackBy(Math.min(n, remaining));
+        remaining -= skipped;
+        return skipped;
+    }
+
+    /**
+     * Returns the smaller of the number of elements left to take and the size estimate of the
+     * underlying iterator.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return Math.min(remaining, SizedIterator.estimateSizeOf(it));
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(it) >= 0;
+    }
+
+    /**
+     * Skips the elements of the underlying iterator that lie behind the taken elements.
+     */
+    private void trimBack() {
+        long size = SizedIterator.exactSizeOf(it);
+        if (size > remaining) {
+            it.advanceBackBy((int) (size - remaining));
+        }
+    }
+}
@@ -12,9 +12,13 @@ import java.util.function.Function;
  * @param <T> the type of input elements
  * @param <R> the type of output elements
  */
-public class DoubleMapping<T, R> implements DoubleEndedIterator<R>, Function<T, R> {
+public class DoubleMapping<T, R> implements DoubleEndedBatchIterator<R>, SizedIterator<R>, Function<T, R> {
     private final DoubleEndedIterator<T> iterator;
     private final Function<T, R> function;
+    private Object[] scratch; // Reused buffer for batches pulled from the underlying iterator
+    // Where calls are recorded when instrumentation is enabled (see Instrumentation)
+    private final StageMetrics metrics =
+            Instrumentation.ENABLED ? Instrumentation.scoped("DoubleMapping") : null;
 
     /**
      * Constructs a DoubleMapping iterator that applies a function to each element of another DoubleEndedIterator.
@@ -34,6 +38,12 @@ public class DoubleMapping<T, R> implements DoubleEndedIterator<R>, Function<T,
      */
     @Override
     public boolean hasNext() {
+        if (Instrumentation.ENABLED) {
+            long start = System.nanoTime();
+            boolean more = iterator.hasNext();
+            metrics.recordHasNext(start);
+            return more;
+        }
         return iterator.hasNext();
     }
 
@@ -45,14 +55,48 @@ public class DoubleMapping<T, R> implements DoubleEndedIterator<R>, Function<T,
      */
     @Override
     public R next() {
-        if (hasNext()) {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (iterator.hasNext()) {
             T element = iterator.next();
-            return function.apply(element);
+            R result = function.apply(element);
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+                metrics.recordNext(start);
+            }
+            return result;
         } else {
             throw new NoSuchElementException();
         }
     }
 
+    /**
+     * Copies up to `max` mapped elements from the front into the buffer, pulling them from the
+     * underlying iterator as a single batch.
+     *
+     * @param buf the buffer to copy elements into
+     * @param off the index in `buf` of the first element copied
+     * @param max the maximum number of elements to copy
+     * @return the number of elements copied
+     */
+    @Override
+    public int nextBatch(Object[] buf, int off, int max) {
+        return mapBatch(BatchIterator.fill(iterator, scratch(max), 0, max), buf, off);
+    }
+
+    /**
+     * Copies up to `max` mapped elements from the back into the buffer, pulling them from the
+     * underlying iterator as a single batch.
+     *
+     * @param buf the buffer to copy elements into
+     * @param off the index in `buf` of the first element copied
+     * @param max the maximum number of elements to copy
+     * @return the number of elements copied
+     */
+    @Override
+    public int reverseNextBatch(Object[] buf, int off, int max) {
+        return mapBatch(DoubleEndedBatchIterator.reverseFill(iterator, scratch(max), 0, max), buf, off);
+    }
+
     /**
      * Applies the function to the given element.
      *
@@ -72,11 +116,97 @@ public class DoubleMapping<T, R> implements DoubleEndedIterator<R>, Function<T,
      */
     @Override
     public R reverseNext() {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
         if (iterator.hasNext()) {
             T element = iterator.reverseNext();
-            return function.apply(element);
+            R result = function.apply(element);
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+                metrics.recordNext(start);
+            }
+            return result;
         } else {
             throw new NoSuchElementException();
         }
     }
+
+    /**
+     * Returns the size estimate of the underlying iterator, since mapping produces exactly one element for each of its
+     * elements.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return SizedIterator.estimateSizeOf(iterator);
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(iterator) >= 0;
+    }
+
+    /**
+     * Skips over the next `n` elements of the underlying iterator without applying the function
+     * to them.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBy(int n) {
+        return iterator.advanceBy(n);
+    }
+
+    /**
+     * Skips over the next `n` elements from the back of the underlying iterator without applying
+     * the function to them.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBackBy(int n) {
+        return iterator.advanceBackBy(n);
+    }
+
+    /**
+     * Returns the scratch buffer, growing it to hold at least `max` elements.
+     *
+     * @param max the number of elements the buffer must hold
+     * @return the scratch buffer
+     */
+    private Object[] scratch(int max) {
+        if (scratch == null || scratch.length < max) {
+            scratch = new Object[max];
+        }
+        return scratch;
+    }
+
+    /**
+     * Applies the function to the first `n` elements of the scratch buffer, copying the results
+     * into `buf`.
+     *
+     * @param n the number of elements in the scratch buffer
+     * @param buf the buffer to copy results into
+     * @param off the index in `buf` of the first result
+     * @return `n`
+     */
+    @SuppressWarnings("unchecked")
+    private int mapBatch(int n, Object[] buf, int off) {
+        for (int i = 0; i < n; i++) {
+            buf[off + i] = apply((T) scratch[i]);
+            scratch[i] = null;
+        }
+        if (Instrumentation.ENABLED) {
+            metrics.recordPulled(n);
+            metrics.recordEmitted(n);
+        }
+        return n;
+    }
 }
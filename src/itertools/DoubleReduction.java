@@ -0,0 +1,26 @@
+//23832333 DharunSomalingam
+package itertools;
+
+/**
+ * A mutable accumulator that doubles can be added to one at a time without boxing, as consumed by
+ * {@link Itertools#reduce(java.util.PrimitiveIterator.OfDouble, DoubleReduction)}.
+ *
+ * @param <A> the type of the accumulator itself
+ * @see IntReduction
+ */
+public interface DoubleReduction<A extends DoubleReduction<A>> {
+    /**
+     * Adds a value to the accumulator.
+     *
+     * @param value the value to add
+     */
+    void add(double value);
+
+    /**
+     * Adds every value added to another accumulator to this one.
+     *
+     * @param other the accumulator to merge in, which is left unchanged
+     * @return this accumulator
+     */
+    A merge(A other);
+}
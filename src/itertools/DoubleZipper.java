@@ -0,0 +1,183 @@
+package itertools;
+
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+
+/**
+ * A DoubleZipper iterator that iterates over two DoubleEndedIterators simultaneously, from either
+ * end, and applies a function to their elements.
+ *
+ * <p>Both iterators must know their exact sizes (see {@link SizedIterator}), which is checked when
+ * the DoubleZipper is constructed, so that the longer one can be cut down to the length of the
+ * shorter before elements are taken from the back.
+ *
+ * @param <T> the type of elements in the first iterator
+ * @param <U> the type of elements in the second iterator
+ * @param <R> the type of result elements
+ */
+public class DoubleZipper<T, U, R>
+        implements DoubleEndedIterator<R>, SizedIterator<R>, BiFunction<T, U, R> {
+    private final DoubleEndedIterator<T> iteratorT; // Iterator for the first collection
+    private final DoubleEndedIterator<U> iteratorU; // Iterator for the second collection
+    private final BiFunction<T, U, R> function; // Function to apply to elements
+    // Where calls are recorded when instrumentation is enabled (see Instrumentation)
+    private final StageMetrics metrics =
+            Instrumentation.ENABLED ? Instrumentation.scoped("DoubleZipper") : null;
+
+    /**
+     * Constructs a DoubleZipper iterator that iterates over two DoubleEndedIterators and applies a
+     * function to their elements.
+     *
+     * @param iteratorT the iterator for the first collection
+     * @param iteratorU the iterator for the second collection
+     * @param function  the function to apply to elements from both collections
+     * @throws IllegalArgumentException if either iterator does not know its exact size
+     */
+    public DoubleZipper(
+            DoubleEndedIterator<T> iteratorT,
+            DoubleEndedIterator<U> iteratorU,
+            BiFunction<T, U, R> function) {
+        if (SizedIterator.exactSizeOf(iteratorT) < 0 || SizedIterator.exactSizeOf(iteratorU) < 0) {
+            throw new IllegalArgumentException(
+                    "zipping from the back requires iterators of known size");
+        }
+        this.iteratorT = iteratorT;
+        this.iteratorU = iteratorU;
+        this.function = function;
+    }
+
+    /**
+     * Applies the function to the given elements from both collections.
+     *
+     * @param t the element from the first collection
+     * @param u the element from the second collection
+     * @return the result of applying the function to the elements
+     */
+    @Override
+    public R apply(T t, U u) {
+        return function.apply(t, u);
+    }
+
+    /**
+     * Returns true if both iterators have more elements.
+     *
+     * @return true if both iterators have more elements
+     */
+    @Override
+    public boolean hasNext() {
+        if (Instrumentation.ENABLED) {
+            long start = System.nanoTime();
+            boolean more = iteratorT.hasNext() && iteratorU.hasNext();
+            metrics.recordHasNext(start);
+            return more;
+        }
+        return iteratorT.hasNext() && iteratorU.hasNext();
+    }
+
+    /**
+     * Returns the result of applying the function to the next elements from both collections.
+     *
+     * @return the result of applying the function to the next elements
+     * @throws NoSuchElementException if either iterator has no more elements
+     */
+    @Override
+    public R next() {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (iteratorT.hasNext() && iteratorU.hasNext()) {
+            T nextT = iteratorT.next();
+            U nextU = iteratorU.next();
+            R result = apply(nextT, nextU);
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+                metrics.recordNext(start);
+            }
+            return result;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the result of applying the function to the last elements the two iterators have in
+     * common position.
+     *
+     * @return the result of applying the function to the next elements from the back
+     * @throws NoSuchElementException if either iterator has no more elements
+     */
+    @Override
+    public R reverseNext() {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (iteratorT.hasNext() && iteratorU.hasNext()) {
+            trimBack();
+            T nextT = iteratorT.reverseNext();
+            U nextU = iteratorU.reverseNext();
+            R result = apply(nextT, nextU);
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+                metrics.recordNext(start);
+            }
+            return result;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Skips over the next `n` pairs of elements from the front without applying the function.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBy(int n) {
+        return iteratorU.advanceBy(iteratorT.advanceBy(n));
+    }
+
+    /**
+     * Skips over the next `n` pairs of elements from the back without applying the function.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBackBy(int n) {
+        if (!iteratorT.hasNext() || !iteratorU.hasNext()) {
+            return 0;
+        }
+        trimBack();
+        return iteratorU.advanceBackBy(iteratorT.advanceBackBy(n));
+    }
+
+    /**
+     * Returns the smaller of the size estimates of the two iterators.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return Math.min(SizedIterator.estimateSizeOf(iteratorT), SizedIterator.estimateSizeOf(iteratorU));
+    }
+
+    /**
+     * Returns true if both iterators know their exact sizes.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(iteratorT) >= 0 && SizedIterator.exactSizeOf(iteratorU) >= 0;
+    }
+
+    /**
+     * Skips the elements at the back of the longer iterator that have no partner in the shorter.
+     */
+    private void trimBack() {
+        long sizeT = SizedIterator.exactSizeOf(iteratorT);
+        long sizeU = SizedIterator.exactSizeOf(iteratorU);
+        if (sizeT > sizeU) {
+            iteratorT.advanceBackBy((int) (sizeT - sizeU));
+        } else if (sizeU > sizeT) {
+            iteratorU.advanceBackBy((int) (sizeU - sizeT));
+        }
+    }
+}
@@ -10,11 +10,14 @@ import java.util.function.Predicate;
  *
  * @param <T> the type of elements returned by this iterator
  */
-public class Filter<T> implements Iterator<T>, Predicate<T> {
+public class Filter<T> implements BatchIterator<T>, SizedIterator<T>, Predicate<T> {
     private final Iterator<T> it;
     private final Predicate<T> predicate;
     private T predictor;
     private boolean predicted;
+    // Where calls are recorded when instrumentation is enabled (see Instrumentation)
+    private final StageMetrics metrics =
+            Instrumentation.ENABLED ? Instrumentation.scoped("Filter") : null;
 
     /**
      * Constructs a Predict iterator that wraps another iterator and filters elements based on a predicate.
@@ -47,11 +50,13 @@ public class Filter<T> implements Iterator<T>, Predicate<T> {
      */
     @Override
     public boolean hasNext() {
-        if (!predicted) {
-            predict();
-            predicted = true;
+        if (Instrumentation.ENABLED) {
+            long start = System.nanoTime();
+            boolean more = ready();
+            metrics.recordHasNext(start);
+            return more;
         }
-        return predictor != null;
+        return ready();
     }
 
     /**
@@ -62,22 +67,109 @@ public class Filter<T> implements Iterator<T>, Predicate<T> {
      */
     @Override
     public T next() {
-        if (hasNext()) {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (ready()) {
             T result = predictor;
             predicted = false;
             predictor = null;
+            if (Instrumentation.ENABLED) {
+                metrics.recordNext(start);
+            }
             return result;
         } else {
             throw new NoSuchElementException();
         }
     }
 
+    /**
+     * Copies up to `max` elements satisfying the predicate into the buffer. Elements are pulled
+     * from the underlying iterator in batches straight into `buf` and compacted in place.
+     *
+     * @param buf the buffer to copy elements into
+     * @param off the index in `buf` of the first element copied
+     * @param max the maximum number of elements to copy
+     * @return the number of elements copied
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int nextBatch(Object[] buf, int off, int max) {
+        int n = 0;
+        if (predicted && predictor != null && max > 0) {
+            buf[off + n++] = predictor;
+            predictor = null;
+            predicted = false;
+        }
+        while (n < max) {
+            int pulled = BatchIterator.fill(it, buf, off + n, max - n);
+            if (pulled == 0) {
+                break;
+            }
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(pulled);
+            }
+            int end = off + n + pulled;
+            for (int i = off + n; i < end; i++) {
+                if (test((T) buf[i])) {
+                    buf[off + n++] = buf[i];
+                }
+            }
+            for (int i = off + n; i < end; i++) {
+                buf[i] = null;
+            }
+        }
+        if (Instrumentation.ENABLED) {
+            metrics.recordEmitted(n);
+        }
+        return n;
+    }
+
+    /**
+     * Returns the size estimate of the underlying iterator (plus any element already predicted),
+     * since at most every one of its elements satisfies the predicate.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        long remaining = SizedIterator.estimateSizeOf(it);
+        if (predicted && predictor != null && remaining < Long.MAX_VALUE) {
+            remaining++;
+        }
+        return remaining;
+    }
+
+    /**
+     * Returns false, since how many elements satisfy the predicate is not known in advance.
+     *
+     * @return false
+     */
+    @Override
+    public boolean hasExactSize() {
+        return false;
+    }
+
+    /**
+     * Predicts the next element that satisfies the predicate, unless that has already been done.
+     *
+     * @return true if there is such an element
+     */
+    private boolean ready() {
+        if (!predicted) {
+            predict();
+            predicted = true;
+        }
+        return predictor != null;
+    }
+
     /**
      * Predicts the next element that satisfies the predicate.
      */
     private void predict() {
         while (it.hasNext()) {
             T nextElement = it.next();
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+            }
             if (test(nextElement)) {
                 this.predictor = nextElement;
                 return;
@@ -0,0 +1,252 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A Fused iterator that runs every map, filter and take stage of a {@link Pipeline} in a single
+ * loop over the source iterator.
+ *
+ * <p>Each stage is linked into a chain of {@link Sink}s when the iterator is created, so every
+ * stage calls its own function and then hands the result straight to the next stage through a
+ * final field. Nothing is interpreted per element: there is no switch over stage kinds and no
+ * shared array of functions, so each call site only ever sees the stage that owns it.
+ *
+ * <p>Elements are consumed from the source only as needed, exactly as they would be by the
+ * equivalent nesting of {@link Mapping}, {@link Filter} and {@link Lazy}.
+ *
+ * @param <T> the type of elements returned by this iterator
+ */
+class Fused<T> implements Iterator<T> {
+    static final int MAP = 0;
+    static final int FILTER = 1;
+    static final int TAKE = 2;
+
+    /** A single map, filter or take stage of a pipeline. */
+    static class Stage {
+        final int kind;
+        final Function<?, ?> function;
+        final Predicate<?> predicate;
+        final int limit;
+
+        private Stage(int kind, Function<?, ?> function, Predicate<?> predicate, int limit) {
+            this.kind = kind;
+            this.function = function;
+            this.predicate = predicate;
+            this.limit = limit;
+        }
+
+        static Stage map(Function<?, ?> function) {
+            return new Stage(MAP, function, null, 0);
+        }
+
+        static Stage filter(Predicate<?> predicate) {
+            return new Stage(FILTER, null, predicate, 0);
+        }
+
+        static Stage take(int limit) {
+            return new Stage(TAKE, null, null, limit);
+        }
+
+        /**
+         * Returns a sink running this stage and passing what it lets through on to the given sink.
+         *
+         * @param next the sink for the elements this stage lets through
+         * @return the sink for this stage
+         */
+        @SuppressWarnings("unchecked")
+        Sink link(Sink next) {
+            switch (kind) {
+                case MAP:
+                    return new MapSink((Function<Object, Object>) function, next);
+                case FILTER:
+                    return new FilterSink((Predicate<Object>) predicate, next);
+                default:
+                    return new TakeSink(limit, next);
+            }
+        }
+    }
+
+    /** One link in the chain of stages an element is pushed through. */
+    abstract static class Sink {
+        /**
+         * Runs this stage, and every stage after it, on the given element.
+         *
+         * @param value the element
+         * @return false if no further element can make it through the chain
+         */
+        abstract boolean accept(Object value);
+    }
+
+    private static final class MapSink extends Sink {
+        private final Function<Object, Object> function;
+        private final Sink next;
+
+        MapSink(Function<Object, Object> function, Sink next) {
+            this.function = function;
+            this.next = next;
+        }
+
+        @Override
+        boolean accept(Object value) {
+            return next.accept(function.apply(value));
+        }
+    }
+
+    private static final class FilterSink extends Sink {
+        private final Predicate<Object> predicate;
+        private final Sink next;
+
+        FilterSink(Predicate<Object> predicate, Sink next) {
+            this.predicate = predicate;
+            this.next = next;
+        }
+
+        @Override
+        boolean accept(Object value) {
+            return !predicate.test(value) || next.accept(value);
+        }
+    }
+
+    private static final class TakeSink extends Sink {
+        private final Sink next;
+        private int remaining;
+
+        TakeSink(int limit, Sink next) {
+            this.remaining = limit;
+            this.next = next;
+        }
+
+        @Override
+        boolean accept(Object value) {
+            boolean more = next.accept(value);
+            // Nothing after this element can pass a take stage that is now exhausted.
+            return --remaining > 0 && more;
+        }
+    }
+
+    /** The end of the chain for an iterator: hands the element over as the prediction. */
+    private final class Output extends Sink {
+        @Override
+        boolean accept(Object value) {
+            predictor = value;
+            predicted = true;
+            return true;
+        }
+    }
+
+    /** The end of the chain for a reduction: folds each element into the result. */
+    private static final class Reduction<T, R> extends Sink {
+        private final BiFunction<R, T, R> f;
+        private R result;
+
+        Reduction(R init, BiFunction<R, T, R> f) {
+            this.result = init;
+            this.f = f;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        boolean accept(Object value) {
+            result = f.apply(result, (T) value);
+            return true;
+        }
+    }
+
+    private final Iterator<?> source;
+    private final Sink head;
+    // Set once a take stage has let through its last element
+    private boolean done;
+    private Object predictor;
+    private boolean predicted;
+
+    /**
+     * Constructs a Fused iterator running the given stages, in order, over the source.
+     *
+     * @param source the iterator supplying the elements
+     * @param stages the stages to run on each element
+     */
+    Fused(Iterator<?> source, List<Stage> stages) {
+        this.source = source;
+        this.head = chain(stages, new Output());
+        this.done = exhausted(stages);
+    }
+
+    /**
+     * Returns true if the pipeline produces more elements.
+     *
+     * @return true if the pipeline produces more elements
+     */
+    @Override
+    public boolean hasNext() {
+        while (!predicted && !done && source.hasNext()) {
+            done = !head.accept(source.next());
+        }
+        return predicted;
+    }
+
+    /**
+     * Returns the next element produced by the pipeline.
+     *
+     * @return the next element produced by the pipeline
+     * @throws NoSuchElementException if the pipeline has no more elements
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (hasNext()) {
+            T result = (T) predictor;
+            predicted = false;
+            predictor = null;
+            return result;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Combines all the elements produced by running the given stages over the source using the
+     * given function, pushing each element straight into the reduction.
+     *
+     * @param <T> the type of elements produced by the stages
+     * @param <R> the type of the result
+     * @param source the iterator supplying the elements
+     * @param stages the stages to run on each element
+     * @param init the initial value
+     * @param f the function to use to combine each element into the reduction value
+     * @return the value after all elements have been combined
+     */
+    static <T, R> R reduce(Iterator<?> source, List<Stage> stages, R init,
+            BiFunction<R, T, R> f) {
+        Reduction<T, R> reduction = new Reduction<T, R>(init, f);
+        Sink head = chain(stages, reduction);
+        boolean more = !exhausted(stages);
+        while (more && source.hasNext()) {
+            more = head.accept(source.next());
+        }
+        return reduction.result;
+    }
+
+    private static Sink chain(List<Stage> stages, Sink end) {
+        Sink sink = end;
+        for (int i = stages.size() - 1; i >= 0; i--) {
+            sink = stages.get(i).link(sink);
+        }
+        return sink;
+    }
+
+    private static boolean exhausted(List<Stage> stages) {
+        for (Stage stage : stages) {
+            if (stage.kind == TAKE && stage.limit <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,188 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * A table of per-group aggregates, built by {@link Itertools#groupAggregate}.
+ *
+ * <p>Keys and aggregates are held in two parallel arrays with open addressing and linear probing,
+ * so there is no entry object per group, and the table is never more than three quarters full.
+ * Tables built from different parts of the data can be combined with {@link #merge}.
+ *
+ * @param <K> the type of the group keys
+ * @param <R> the type of the aggregates
+ */
+public class GroupTable<K, R> {
+    // Stands in for a null key, so that null can mark an empty slot
+    private static final Object NULL_KEY = new Object();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Constructs an empty table.
+     */
+    public GroupTable() {}
+
+    /**
+     * Folds an element into the aggregate of its group, starting the group from `init` if it is
+     * new.
+     *
+     * @param key     the key of the element's group
+     * @param element the element
+     * @param init    supplies the starting aggregate of a new group
+     * @param reducer folds an element into an aggregate
+     * @param <T>     the type of the element
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void add(K key, T element, Supplier<R> init, BiFunction<R, T, R> reducer) {
+        int slot = slot(key);
+        if (keys[slot] == null) {
+            keys[slot] = key == null ? NULL_KEY : key;
+            values[slot] = reducer.apply(init.get(), element);
+            grown();
+        } else {
+            values[slot] = reducer.apply((R) values[slot], element);
+        }
+    }
+
+    /**
+     * Returns the aggregate of the given group, or null if there is no such group.
+     *
+     * @param key the key of the group
+     * @return the aggregate of the group, or null
+     */
+    @SuppressWarnings("unchecked")
+    public R get(K key) {
+        return (R) values[slot(key)];
+    }
+
+    /**
+     * Returns true if there is a group with the given key.
+     *
+     * @param key the key of the group
+     * @return true if there is such a group
+     */
+    public boolean containsKey(K key) {
+        return keys[slot(key)] != null;
+    }
+
+    /**
+     * Returns the number of groups.
+     *
+     * @return the number of groups
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Calls the given action with the key and aggregate of every group, in no particular order.
+     *
+     * @param action the action to call
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super R> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept(keys[i] == NULL_KEY ? null : (K) keys[i], (R) values[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds every group of another table into this one, combining the aggregates of groups found
+     * in both.
+     *
+     * @param other    the table to merge in, which is left unchanged
+     * @param combiner combines this table's aggregate of a group with the other's
+     * @return this table
+     */
+    @SuppressWarnings("unchecked")
+    public GroupTable<K, R> merge(GroupTable<K, R> other, BinaryOperator<R> combiner) {
+        for (int i = 0; i < other.keys.length; i++) {
+            Object key = other.keys[i];
+            if (key == null) {
+                continue;
+            }
+            int slot = slot(key == NULL_KEY ? null : (K) key);
+            if (keys[slot] == null) {
+                keys[slot] = key;
+                values[slot] = other.values[i];
+                grown();
+            } else {
+                values[slot] = combiner.apply((R) values[slot], (R) other.values[i]);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the groups as a {@link HashMap}.
+     *
+     * @return a new map from each key to its aggregate
+     */
+    public Map<K, R> toMap() {
+        Map<K, R> map = new HashMap<>(size * 2);
+        forEach(map::put);
+        return map;
+    }
+
+    /**
+     * Returns the slot holding the given key, or the empty slot where it would go.
+     */
+    private int slot(Object key) {
+        Object stored = key == null ? NULL_KEY : key;
+        int mask = keys.length - 1;
+        int slot = mix(stored.hashCode()) & mask;
+        while (keys[slot] != null && !keys[slot].equals(stored)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Counts a new group, doubling the arrays once they are three quarters full.
+     */
+    private void grown() {
+        if (++size <= keys.length - (keys.length >> 2)) {
+            return;
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new Object[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = mix(oldKeys[i].hashCode()) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of a hash code, so that keys with similar hash codes (such as consecutive
+     * integers) do not land in runs of neighbouring slots.
+     *
+     * @param hash the hash code
+     * @return the mixed hash code
+     */
+    static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,172 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * The registry of pipeline stage metrics.
+ *
+ * <p>Stages are instrumented explicitly with {@link Itertools#instrument}. Setting the system
+ * property {@code itertools.instrument=true} at startup also makes every {@link Filter}, {@link
+ * Mapping}, {@link Lazy}, {@link Zipper} and {@link Reduced}, and their double-ended
+ * counterparts, record into a stage named after its class (calls from the back count as calls to
+ * {@code next}). The property is read into a static final field, so when it is not set the JIT
+ * removes the recording code entirely.
+ *
+ * <p>Stages created while a {@link #pipeline} scope is open on the same thread, whether built-in
+ * adapters or {@link Itertools#instrument}, record into stages named within the pipeline, such as
+ * {@code "enrolments/Filter"}, so that separate pipelines keep separate totals:
+ *
+ * <pre>{@code
+ * try (Instrumentation.Scope scope = Instrumentation.pipeline("enrolments")) {
+ *     students = Itertools.filter(students, new GetUnitStudent(unit));
+ * }
+ * }</pre>
+ *
+ * <p>Totals can be read with {@link #snapshot}, or over JMX through {@link InstrumentationMBean}.
+ */
+public final class Instrumentation implements InstrumentationMBean {
+    /** Whether the built-in adapters record metrics. */
+    public static final boolean ENABLED = Boolean.getBoolean("itertools.instrument");
+
+    private static final ConcurrentMap<String, StageMetrics> STAGES = new ConcurrentHashMap<>();
+    // The name of the innermost pipeline scope open on each thread, or null if there is none
+    private static final ThreadLocal<String> PIPELINE = new ThreadLocal<>();
+    private static final Instrumentation INSTANCE = new Instrumentation();
+    private static volatile boolean registered;
+
+    private Instrumentation() {}
+
+    /**
+     * A pipeline scope opened by {@link #pipeline}, which closes by restoring the scope that was
+     * open before it.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        /**
+         * Closes this scope, so adapters constructed afterwards on this thread record into the
+         * stages of the enclosing scope again.
+         */
+        @Override
+        public void close() {
+            if (previous == null) {
+                PIPELINE.remove();
+            } else {
+                PIPELINE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Opens a pipeline scope on the current thread. Until it is closed, stages created on this
+     * thread record into stages named {@code name + "/" + stage}. A scope opened inside another
+     * is nested in its name, as in {@code "outer/inner/Filter"}.
+     *
+     * @param name the name of the pipeline
+     * @return the scope, to be closed once the pipeline has been constructed
+     */
+    public static Scope pipeline(String name) {
+        String previous = PIPELINE.get();
+        PIPELINE.set(previous == null ? name : previous + "/" + name);
+        return new Scope(previous);
+    }
+
+    /**
+     * Returns the metrics of the named stage, creating them if need be. Every iterator recording
+     * into the same name adds to the same totals.
+     *
+     * @param name the name of the stage
+     * @return the metrics of the stage
+     */
+    public static StageMetrics stage(String name) {
+        StageMetrics metrics = STAGES.get(name);
+        if (metrics == null) {
+            metrics = STAGES.computeIfAbsent(name, StageMetrics::new);
+            register();
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the metrics of the named stage within the pipeline scope open on the current thread,
+     * if any, creating them if need be.
+     *
+     * @param name the name of the stage within its pipeline
+     * @return the metrics of the stage
+     */
+    static StageMetrics scoped(String name) {
+        String pipeline = PIPELINE.get();
+        return stage(pipeline == null ? name : pipeline + "/" + name);
+    }
+
+    /**
+     * Returns a snapshot of every stage, by name.
+     *
+     * @return snapshots of the stages, sorted by name
+     */
+    public static Map<String, StageSnapshot> snapshot() {
+        Map<String, StageSnapshot> snapshots = new TreeMap<>();
+        for (StageMetrics metrics : STAGES.values()) {
+            snapshots.put(metrics.getName(), metrics.snapshot());
+        }
+        return snapshots;
+    }
+
+    /**
+     * Sets the totals of every stage back to zero.
+     */
+    public static void resetAll() {
+        for (StageMetrics metrics : STAGES.values()) {
+            metrics.reset();
+        }
+    }
+
+    @Override
+    public String[] getStages() {
+        return snapshot().keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public String describe(String stage) {
+        StageMetrics metrics = STAGES.get(stage);
+        return metrics == null ? null : metrics.snapshot().toString();
+    }
+
+    @Override
+    public void reset() {
+        resetAll();
+    }
+
+    /**
+     * Registers the MBean with the platform MBean server, once.
+     */
+    private static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        registered = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(INSTANCE, new ObjectName("itertools:type=Instrumentation"));
+        } catch (JMException e) {
+            // Another copy of the library already registered one; snapshot() still works.
+        }
+    }
+}
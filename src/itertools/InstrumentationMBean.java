@@ -0,0 +1,37 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+/**
+ * The management interface of {@link Instrumentation}, registered with the platform MBean server
+ * as {@code itertools:type=Instrumentation} once the first stage is instrumented.
+ */
+public interface InstrumentationMBean {
+    /**
+     * Returns the names of every instrumented stage.
+     *
+     * @return the names of the stages
+     */
+    String[] getStages();
+
+    /**
+     * Returns whether the built-in adapters record metrics, as set by the {@code
+     * itertools.instrument} system property at startup.
+     *
+     * @return true if the built-in adapters record metrics
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns a one-line summary of the named stage's totals.
+     *
+     * @param stage the name of the stage
+     * @return a summary of the stage, or null if there is no such stage
+     */
+    String describe(String stage);
+
+    /**
+     * Sets the totals of every stage back to zero.
+     */
+    void reset();
+}
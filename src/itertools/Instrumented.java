@@ -0,0 +1,77 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An Instrumented iterator over the same elements as another iterator, which records its calls
+ * into a named stage of {@link Instrumentation}.
+ *
+ * @param <T> the type of elements returned by this iterator
+ */
+public class Instrumented<T> implements SizedIterator<T> {
+    private final Iterator<T> it;
+    private final StageMetrics metrics;
+
+    /**
+     * Constructs an Instrumented iterator recording into the named stage, within the pipeline
+     * scope open on the current thread (see {@link Instrumentation#pipeline}).
+     *
+     * @param it    the underlying iterator
+     * @param stage the name of the stage to record into
+     */
+    public Instrumented(Iterator<T> it, String stage) {
+        this.it = it;
+        this.metrics = Instrumentation.scoped(stage);
+    }
+
+    /**
+     * Returns true if the underlying iterator has more elements, timing the call.
+     *
+     * @return true if there are more elements
+     */
+    @Override
+    public boolean hasNext() {
+        long start = System.nanoTime();
+        boolean more = it.hasNext();
+        metrics.recordHasNext(start);
+        return more;
+    }
+
+    /**
+     * Returns the next element of the underlying iterator, timing the call.
+     *
+     * @return the next element
+     * @throws NoSuchElementException if there are no more elements
+     */
+    @Override
+    public T next() {
+        long start = System.nanoTime();
+        T next = it.next();
+        metrics.recordPulled(1);
+        metrics.recordNext(start);
+        return next;
+    }
+
+    /**
+     * Returns the size estimate of the underlying iterator.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return SizedIterator.estimateSizeOf(it);
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(it) >= 0;
+    }
+}
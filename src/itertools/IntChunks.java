@@ -0,0 +1,118 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An IntChunks iterator over consecutive, non-overlapping runs of a fixed number of values of a
+ * primitive int iterator, without boxing. The last chunk holds whatever values are left, and may
+ * be shorter.
+ *
+ * <p>This works exactly as {@link Chunks} does, returning every chunk through the same reused
+ * {@link IntView}.
+ */
+public class IntChunks implements DoubleEndedIterator<IntView>, SizedIterator<IntView> {
+    // The given iterator
+    private final IntDoubleEndedIterator it;
+    // The number of values in each chunk
+    private final int size;
+    // Buffers holding the latest chunk from each end
+    private final int[] front;
+    private final int[] back;
+    private final IntView frontView;
+    private final IntView backView;
+
+    /**
+     * Constructs an IntChunks iterator over the chunks of the given size.
+     *
+     * @param it   the underlying int iterator
+     * @param size the number of values in each chunk
+     */
+    public IntChunks(IntDoubleEndedIterator it, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.it = it;
+        this.size = size;
+        this.front = new int[size];
+        this.back = new int[size];
+        this.frontView = new IntView(front);
+        this.backView = new IntView(back);
+    }
+
+    /**
+     * Returns true if there are more chunks.
+     *
+     * @return true if there are more chunks
+     */
+    @Override
+    public boolean hasNext() {
+        return it.hasNext();
+    }
+
+    /**
+     * Returns the next chunk from the front.
+     *
+     * @return a view of the next chunk, valid until this iterator is next advanced
+     * @throws NoSuchElementException if there are no more chunks
+     */
+    @Override
+    public IntView next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int n = 0;
+        while (n < size && it.hasNext()) {
+            front[n++] = it.nextInt();
+        }
+        return frontView.show(0, n);
+    }
+
+    /**
+     * Returns the next chunk from the back. The first chunk from the back holds the values left
+     * over after dividing the remaining values into full chunks, if there are any.
+     *
+     * @return a view of the next chunk from the back, valid until this iterator is next advanced
+     * @throws NoSuchElementException if there are no more chunks
+     * @throws UnsupportedOperationException if the underlying iterator does not know its size
+     */
+    @Override
+    public IntView reverseNext() {
+        long remaining = SizedIterator.exactSizeOf(it);
+        if (remaining < 0) {
+            throw new UnsupportedOperationException(
+                    "chunks from the back require an iterator of known size");
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int n = remaining % size == 0 ? size : (int) (remaining % size);
+        // Values come from the back last first, so fill the buffer from its end.
+        for (int i = n - 1; i >= 0; i--) {
+            back[i] = it.reverseNextInt();
+        }
+        return backView.show(0, n);
+    }
+
+    /**
+     * Returns the number of chunks the size estimate of the underlying iterator divides into.
+     *
+     * @return an upper bound on the number of chunks remaining
+     */
+    @Override
+    public long estimateSize() {
+        long remaining = SizedIterator.estimateSizeOf(it);
+        return remaining == Long.MAX_VALUE ? remaining : (remaining + size - 1) / size;
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(it) >= 0;
+    }
+}
@@ -0,0 +1,55 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A double ended iterator over primitive `int` values. Can be used to iterate over the elements of
+ * a collection from either end without boxing each element into an {@link Integer}.
+ *
+ * <p>The boxed {@link #next()} and {@link #reverseNext()} methods are provided so that an
+ * IntDoubleEndedIterator can still be passed anywhere a {@link DoubleEndedIterator} of Integer is
+ * expected.
+ */
+public interface IntDoubleEndedIterator extends DoubleEndedIterator<Integer>, PrimitiveIterator.OfInt {
+    /**
+     * Returns the next element from the back in the iteration. Will not return an element that has
+     * already been returned by {@link #nextInt()}.
+     *
+     * @return The next element from the back in the iteration.
+     * @throws NoSuchElementException If the iteration has no more elements.
+     */
+    int reverseNextInt() throws NoSuchElementException;
+
+    @Override
+    default Integer next() {
+        return nextInt();
+    }
+
+    @Override
+    default Integer reverseNext() {
+        return reverseNextInt();
+    }
+
+    @Override
+    default int advanceBy(int n) {
+        int skipped = 0;
+        while (skipped < n && hasNext()) {
+            nextInt();
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    default int advanceBackBy(int n) {
+        int skipped = 0;
+        while (skipped < n && hasNext()) {
+            reverseNextInt();
+            skipped++;
+        }
+        return skipped;
+    }
+}
@@ -0,0 +1,102 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An IntDoubleLazy iterator that iterates over a specified number of elements from the front of an
+ * IntDoubleEndedIterator, from either end and without boxing.
+ *
+ * <p>As with {@link DoubleLazy}, the underlying iterator must know its exact size for elements to
+ * be taken from the back, which is checked when the IntDoubleLazy is constructed.
+ */
+public class IntDoubleLazy implements IntDoubleEndedIterator, SizedIterator<Integer> {
+    // The given iterator
+    private final IntDoubleEndedIterator it;
+    // The number of taken elements not yet returned from either end
+    private int remaining;
+
+    /**
+     * Constructs an IntDoubleLazy iterator that limits the number of elements to iterate.
+     *
+     * @param it    the underlying IntDoubleEndedIterator
+     * @param count the maximum number of elements to iterate
+     * @throws IllegalArgumentException if the underlying iterator does not know its exact size
+     */
+    public IntDoubleLazy(IntDoubleEndedIterator it, int count) {
+        if (SizedIterator.exactSizeOf(it) < 0) {
+            throw new IllegalArgumentException(
+                    "taking from the back requires an iterator of known size");
+        }
+        this.it = it;
+        this.remaining = Math.max(count, 0);
+    }
+
+    /**
+     * Returns true if the iteration has more elements.
+     *
+     * @return true if the iteration has more elements
+     */
+    @Override
+    public boolean hasNext() {
+        return remaining > 0 && it.hasNext();
+    }
+
+    /**
+     * Returns the next element in the iteration.
+     *
+     * @return the next element in the iteration
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public int nextInt() {
+        if (hasNext()) {
+            remaining--;
+            return it.nextInt();
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the last of the taken elements not yet returned.
+     *
+     * @return the next element from the back of the iteration
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public int reverseNextInt() {
+        if (hasNext()) {
+            long size = SizedIterator.exactSizeOf(it);
+            if (size > remaining) {
+                it.advanceBackBy((int) (size - remaining));
+            }
+            remaining--;
+            return it.reverseNextInt();
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the smaller of the number of elements left to take and the size estimate of the
+     * underlying iterator.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return Math.min(remaining, SizedIterator.estimateSizeOf(it));
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(it) >= 0;
+    }
+}
@@ -0,0 +1,124 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.NoSuchElementException;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * An IntDoubleMapping iterator that applies a function to each element of an
+ * IntDoubleEndedIterator, without boxing.
+ */
+public class IntDoubleMapping
+        implements IntDoubleEndedIterator, SizedIterator<Integer>, IntUnaryOperator {
+    private final IntDoubleEndedIterator iterator;
+    private final IntUnaryOperator function;
+
+    /**
+     * Constructs an IntDoubleMapping iterator that applies a function to each element of another
+     * IntDoubleEndedIterator.
+     *
+     * @param iterator the underlying IntDoubleEndedIterator
+     * @param function the function to apply to each element
+     */
+    public IntDoubleMapping(IntDoubleEndedIterator iterator, IntUnaryOperator function) {
+        this.iterator = iterator;
+        this.function = function;
+    }
+
+    /**
+     * Returns true if the iteration has more elements.
+     *
+     * @return true if the iteration has more elements
+     */
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    /**
+     * Returns the next element in the iteration after applying the function.
+     *
+     * @return the next element in the iteration after applying the function
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public int nextInt() {
+        if (hasNext()) {
+            return applyAsInt(iterator.nextInt());
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the next element from the back of the iteration after applying the function.
+     *
+     * @return the next element from the back of the iteration after applying the function
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public int reverseNextInt() {
+        if (hasNext()) {
+            return applyAsInt(iterator.reverseNextInt());
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Skips over the next `n` elements of the underlying iterator without applying the function
+     * to them.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBy(int n) {
+        return iterator.advanceBy(n);
+    }
+
+    /**
+     * Skips over the next `n` elements from the back of the underlying iterator without applying
+     * the function to them.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBackBy(int n) {
+        return iterator.advanceBackBy(n);
+    }
+
+    /**
+     * Returns the size estimate of the underlying iterator, since mapping produces exactly one
+     * element for each of its elements.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return SizedIterator.estimateSizeOf(iterator);
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(iterator) >= 0;
+    }
+
+    /**
+     * Applies the function to the given element.
+     *
+     * @param t the element to apply the function to
+     * @return the result of applying the function to the element
+     */
+    @Override
+    public int applyAsInt(int t) {
+        return function.applyAsInt(t);
+    }
+}
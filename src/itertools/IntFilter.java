@@ -0,0 +1,89 @@
+//23832333 DharunSomalingam
+package itertools;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntPredicate;
+
+/**
+ * An IntFilter iterator that filters the elements of a primitive int iterator based on a
+ * predicate, without boxing.
+ */
+public class IntFilter implements PrimitiveIterator.OfInt, IntPredicate {
+    private final PrimitiveIterator.OfInt it;
+    private final IntPredicate predicate;
+    private int predictor;
+    private boolean found;
+    private boolean predicted;
+
+    /**
+     * Constructs an IntFilter iterator that wraps another int iterator and filters elements based
+     * on a predicate.
+     *
+     * @param it        the underlying int iterator
+     * @param predicate the predicate to filter elements
+     */
+    public IntFilter(PrimitiveIterator.OfInt it, IntPredicate predicate) {
+        this.it = it;
+        this.predicate = predicate;
+        this.found = false;
+        this.predicted = false;
+    }
+
+    /**
+     * Tests if the given element satisfies the predicate.
+     *
+     * @param t the element to be tested
+     * @return true if the element satisfies the predicate, otherwise false
+     */
+    @Override
+    public boolean test(int t) {
+        return predicate.test(t);
+    }
+
+    /**
+     * Returns true if the iteration has more elements satisfying the predicate.
+     *
+     * @return true if the iteration has more elements satisfying the predicate
+     */
+    @Override
+    public boolean hasNext() {
+        if (!predicted) {
+            predict();
+            predicted = true;
+        }
+        return found;
+    }
+
+    /**
+     * Returns the next element in the iteration that satisfies the predicate.
+     *
+     * @return the next element in the iteration that satisfies the predicate
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public int nextInt() {
+        if (hasNext()) {
+            predicted = false;
+            found = false;
+            return predictor;
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Predicts the next element that satisfies the predicate.
+     */
+    private void predict() {
+        while (it.hasNext()) {
+            int nextElement = it.nextInt();
+            if (test(nextElement)) {
+                this.predictor = nextElement;
+                this.found = true;
+                return;
+            }
+        }
+        this.found = false;
+    }
+}
@@ -0,0 +1,56 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * An IntLazy iterator that iterates over a specified number of elements from another primitive int
+ * iterator, without boxing.
+ */
+public class IntLazy implements PrimitiveIterator.OfInt {
+    // The given iterator
+    private final PrimitiveIterator.OfInt it;
+    // The maximum number of elements to iterate
+    private final int count;
+    // The current count in the iteration
+    private int current;
+
+    /**
+     * Constructs an IntLazy iterator that limits the number of elements to iterate.
+     *
+     * @param it    the underlying int iterator
+     * @param count the maximum number of elements to iterate
+     */
+    public IntLazy(PrimitiveIterator.OfInt it, int count) {
+        this.it = it;
+        this.count = count;
+    }
+
+    /**
+     * Returns true if the iteration has more elements.
+     *
+     * @return true if the iteration has more elements
+     */
+    @Override
+    public boolean hasNext() {
+        return current < count && it.hasNext();
+    }
+
+    /**
+     * Returns the next element in the iteration.
+     *
+     * @return the next element in the iteration
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public int nextInt() {
+        if (hasNext()) {
+            current++;
+            return it.nextInt();
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * An IntMapping iterator that applies a function to each element of an underlying primitive int
+ * iterator, without boxing.
+ */
+public class IntMapping
+        implements PrimitiveIterator.OfInt, SizedIterator<Integer>, IntUnaryOperator {
+    private final PrimitiveIterator.OfInt iterator;
+    private final IntUnaryOperator function;
+
+    /**
+     * Constructs an IntMapping iterator that applies a function to each element of another int
+     * iterator.
+     *
+     * @param iterator the underlying int iterator
+     * @param function the function to apply to each element
+     */
+    public IntMapping(PrimitiveIterator.OfInt iterator, IntUnaryOperator function) {
+        this.iterator = iterator;
+        this.function = function;
+    }
+
+    /**
+     * Returns true if the iteration has more elements.
+     *
+     * @return true if the iteration has more elements
+     */
+    @Override
+    public boolean hasNext() {
+        return iterator.hasNext();
+    }
+
+    /**
+     * Returns the next element in the iteration after applying the function.
+     *
+     * @return the next element in the iteration after applying the function
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public int nextInt() {
+        if (hasNext()) {
+            return applyAsInt(iterator.nextInt());
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Returns the size estimate of the underlying iterator, since mapping produces exactly one
+     * element for each of its elements.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return SizedIterator.estimateSizeOf(iterator);
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(iterator) >= 0;
+    }
+
+    /**
+     * Applies the function to the given element.
+     *
+     * @param t the element to apply the function to
+     * @return the result of applying the function to the element
+     */
+    @Override
+    public int applyAsInt(int t) {
+        return function.applyAsInt(t);
+    }
+}
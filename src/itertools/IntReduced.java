@@ -0,0 +1,55 @@
+//23832333 DharunSomalingam
+package itertools;
+
+import java.util.PrimitiveIterator;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * An IntReduced iterator that iteratively applies a binary function to the elements of a primitive
+ * int iterator, reducing them to a single int without boxing.
+ */
+public class IntReduced implements IntBinaryOperator {
+    private final PrimitiveIterator.OfInt iterator;
+    private final IntBinaryOperator function;
+    private final int initialResult;
+
+    /**
+     * Constructs an IntReduced that applies a binary function to the elements of an int iterator,
+     * reducing them to a single value.
+     *
+     * @param iterator       the iterator containing the elements
+     * @param initialResult  the initial value of the result
+     * @param function       the binary function to apply
+     */
+    public IntReduced(PrimitiveIterator.OfInt iterator, int initialResult, IntBinaryOperator function) {
+        this.iterator = iterator;
+        this.initialResult = initialResult;
+        this.function = function;
+    }
+
+    /**
+     * Applies the binary function to the given result and element.
+     *
+     * @param result the current result
+     * @param t      the next element
+     * @return the updated result after applying the function
+     */
+    @Override
+    public int applyAsInt(int result, int t) {
+        return function.applyAsInt(result, t);
+    }
+
+    /**
+     * Returns the reduced result after applying the function iteratively to all remaining
+     * elements, or the initial value if there are none.
+     *
+     * @return the reduced result
+     */
+    public int reduce() {
+        int result = initialResult;
+        while (iterator.hasNext()) {
+            result = applyAsInt(result, iterator.nextInt());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+//23832333 DharunSomalingam
+package itertools;
+
+/**
+ * A mutable accumulator that ints can be added to one at a time without boxing, as consumed by
+ * {@link Itertools#reduce(java.util.PrimitiveIterator.OfInt, IntReduction)}.
+ *
+ * <p>Accumulators can be merged, so that separate parts of the input can be reduced on their own,
+ * whether in parallel or on separate shards, and then combined into one.
+ *
+ * @param <A> the type of the accumulator itself
+ */
+public interface IntReduction<A extends IntReduction<A>> {
+    /**
+     * Adds a value to the accumulator.
+     *
+     * @param value the value to add
+     */
+    void add(int value);
+
+    /**
+     * Adds every value added to another accumulator to this one.
+     *
+     * @param other the accumulator to merge in, which is left unchanged
+     * @return this accumulator
+     */
+    A merge(A other);
+}
@@ -0,0 +1,72 @@
+package itertools;
+
+/**
+ * A read-only view over a run of primitive int values in a ring buffer, used by {@link
+ * IntWindows} and {@link IntChunks} to hand out each window or chunk without copying or boxing it.
+ *
+ * <p>The view is reused for every step, so it only shows the current window or chunk until the
+ * iterator that returned it is advanced.
+ */
+public class IntView {
+    private final int[] ring;
+    private int start;
+    private int length;
+
+    /**
+     * Constructs a view over the given ring buffer, initially empty.
+     *
+     * @param ring the ring buffer
+     */
+    IntView(int[] ring) {
+        this.ring = ring;
+    }
+
+    /**
+     * Moves the view to show the given run of the ring buffer.
+     *
+     * @param start  the index in the ring of the first value shown
+     * @param length the number of values shown
+     * @return this view
+     */
+    IntView show(int start, int length) {
+        this.start = start;
+        this.length = length;
+        return this;
+    }
+
+    /**
+     * Returns the value at the given position in the view.
+     *
+     * @param index the position in the view
+     * @return the value at that position
+     * @throws IndexOutOfBoundsException if the position is outside the view
+     */
+    public int get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return ring[(start + index) % ring.length];
+    }
+
+    /**
+     * Returns the number of values in the view.
+     *
+     * @return the number of values in the view
+     */
+    public int size() {
+        return length;
+    }
+
+    /**
+     * Returns the sum of the values in the view.
+     *
+     * @return the sum of the values in the view
+     */
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += ring[(start + i) % ring.length];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,176 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An IntWindows iterator over every sliding window of a fixed number of consecutive values of a
+ * primitive int iterator, without boxing.
+ *
+ * <p>This works exactly as {@link Windows} does, holding the values in int rings and returning
+ * every window through the same reused {@link IntView}.
+ */
+public class IntWindows implements DoubleEndedIterator<IntView>, SizedIterator<IntView> {
+    // The given iterator
+    private final IntDoubleEndedIterator it;
+    // The number of values in each window
+    private final int size;
+    // The number of values in the given iterator, or -1 if it is not known
+    private final long length;
+    // Rings holding the values of the latest window from each end, by position modulo size
+    private final int[] front;
+    private final int[] back;
+    private final IntView frontView;
+    private final IntView backView;
+    // The number of windows returned from each end
+    private long frontCount;
+    private long backCount;
+    // Whether the front ring holds the first size - 1 values, and whether there were that many
+    private boolean primed;
+    private boolean tooShort;
+
+    /**
+     * Constructs an IntWindows iterator over the windows of the given size.
+     *
+     * @param it   the underlying int iterator
+     * @param size the number of values in each window
+     */
+    public IntWindows(IntDoubleEndedIterator it, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.it = it;
+        this.size = size;
+        this.length = SizedIterator.exactSizeOf(it);
+        this.front = new int[size];
+        this.back = new int[size];
+        this.frontView = new IntView(front);
+        this.backView = new IntView(back);
+    }
+
+    /**
+     * Returns true if there are more windows.
+     *
+     * @return true if there are more windows
+     */
+    @Override
+    public boolean hasNext() {
+        if (length >= 0) {
+            return frontCount + backCount < length - size + 1;
+        }
+        if (!primed) {
+            primeFront();
+        }
+        return !tooShort && it.hasNext();
+    }
+
+    /**
+     * Returns the next window from the front.
+     *
+     * @return a view of the next window, valid until this iterator is next advanced
+     * @throws NoSuchElementException if there are no more windows
+     */
+    @Override
+    public IntView next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (!primed) {
+            primeFront();
+        }
+        long position = frontCount + size - 1;
+        front[(int) (position % size)] = frontValue(position);
+        int start = (int) (frontCount % size);
+        frontCount++;
+        return frontView.show(start, size);
+    }
+
+    /**
+     * Returns the next window from the back.
+     *
+     * @return a view of the next window from the back, valid until this iterator is next advanced
+     * @throws NoSuchElementException if there are no more windows
+     * @throws UnsupportedOperationException if the underlying iterator does not know its size
+     */
+    @Override
+    public IntView reverseNext() {
+        if (length < 0) {
+            throw new UnsupportedOperationException(
+                    "windows from the back require an iterator of known size");
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        long end = length - 1 - backCount;
+        if (backCount == 0) {
+            for (long position = end; position > end - size + 1; position--) {
+                back[(int) (position % size)] = backValue(position);
+            }
+        }
+        long position = end - size + 1;
+        back[(int) (position % size)] = backValue(position);
+        backCount++;
+        return backView.show((int) (position % size), size);
+    }
+
+    /**
+     * Returns the number of windows left if the underlying iterator knows its size, otherwise its
+     * size estimate.
+     *
+     * @return an upper bound on the number of windows remaining
+     */
+    @Override
+    public long estimateSize() {
+        if (length >= 0) {
+            return Math.max(0, length - size + 1 - frontCount - backCount);
+        }
+        return SizedIterator.estimateSizeOf(it);
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return length >= 0;
+    }
+
+    /**
+     * Loads all but the last value of the first window into the front ring.
+     */
+    private void primeFront() {
+        primed = true;
+        for (long position = 0; position < size - 1; position++) {
+            if (length < 0 && !it.hasNext()) {
+                tooShort = true;
+                return;
+            }
+            front[(int) (position % size)] = frontValue(position);
+        }
+    }
+
+    /**
+     * Returns the value at the given position for the front ring, from the underlying iterator or,
+     * once that is used up, from the back ring.
+     *
+     * @param position the position of the value
+     * @return the value
+     */
+    private int frontValue(long position) {
+        return it.hasNext() ? it.nextInt() : back[(int) (position % size)];
+    }
+
+    /**
+     * Returns the value at the given position for the back ring, from the back of the underlying
+     * iterator or, once that is used up, from the front ring.
+     *
+     * @param position the position of the value
+     * @return the value
+     */
+    private int backValue(long position) {
+        return it.hasNext() ? it.reverseNextInt() : front[(int) (position % size)];
+    }
+}
@@ -0,0 +1,68 @@
+package itertools;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * An IntZipper iterator that iterates over two primitive int iterators simultaneously and applies
+ * a function to their elements, without boxing.
+ */
+public class IntZipper implements PrimitiveIterator.OfInt, IntBinaryOperator {
+    private final PrimitiveIterator.OfInt left; // Iterator for the first sequence
+    private final PrimitiveIterator.OfInt right; // Iterator for the second sequence
+    private final IntBinaryOperator function; // Function to apply to elements
+
+    /**
+     * Constructs an IntZipper iterator that iterates over two int iterators and applies a function
+     * to their elements.
+     *
+     * @param left     the iterator for the first sequence
+     * @param right    the iterator for the second sequence
+     * @param function the function to apply to elements from both sequences
+     */
+    public IntZipper(PrimitiveIterator.OfInt left, PrimitiveIterator.OfInt right, IntBinaryOperator function) {
+        this.left = left;
+        this.right = right;
+        this.function = function;
+    }
+
+    /**
+     * Applies the function to the given elements from both sequences.
+     *
+     * @param t the element from the first sequence
+     * @param u the element from the second sequence
+     * @return the result of applying the function to the elements
+     */
+    @Override
+    public int applyAsInt(int t, int u) {
+        return function.applyAsInt(t, u);
+    }
+
+    /**
+     * Returns true if both iterators have more elements.
+     *
+     * @return true if both iterators have more elements
+     */
+    @Override
+    public boolean hasNext() {
+        return left.hasNext() && right.hasNext();
+    }
+
+    /**
+     * Returns the result of applying the function to the next elements from both sequences.
+     *
+     * @return the result of applying the function to the next elements
+     * @throws NoSuchElementException if either iterator has no more elements
+     */
+    @Override
+    public int nextInt() {
+        if (hasNext()) {
+            int nextLeft = left.nextInt();
+            int nextRight = right.nextInt();
+            return applyAsInt(nextLeft, nextRight);
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An IteratorPublisher, which publishes the elements of an iterator to a single subscriber as it
+ * requests them.
+ *
+ * <p>The iterator is only advanced while the subscriber has outstanding demand, so nothing is
+ * pulled (and, for a {@code StudentListIterator}, no page is fetched) before it is needed, and
+ * nothing is buffered. Elements are delivered either on the thread that calls {@code request}, or
+ * with a given executor. Either way only one thread delivers at a time, and a {@code request} made
+ * from inside {@code onNext} adds to the demand rather than recursing.
+ *
+ * <p>An exception thrown by the iterator is passed to {@code onError}, after which nothing more is
+ * delivered; so is a {@link NullPointerException} if the iterator returns null, since a publisher
+ * may not signal null elements. If {@code onNext} throws, the subscription is cancelled and the
+ * exception is rethrown once the delivering thread has let go of the subscription. Since an
+ * iterator can only be used once, a second subscriber is refused with an
+ * {@link IllegalStateException}.
+ *
+ * @param <T> The type of elements published.
+ */
+public class IteratorPublisher<T> implements Flow.Publisher<T> {
+    private final Iterator<T> it;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * Constructs an IteratorPublisher which delivers on the thread that requests elements.
+     *
+     * @param it the iterator to publish
+     */
+    public IteratorPublisher(Iterator<T> it) {
+        this(it, Runnable::run);
+    }
+
+    /**
+     * Constructs an IteratorPublisher which delivers with the given executor.
+     *
+     * @param it       the iterator to publish
+     * @param executor the executor to deliver elements with
+     */
+    public IteratorPublisher(Iterator<T> it, Executor executor) {
+        this.it = it;
+        this.executor = executor;
+    }
+
+    /**
+     * Subscribes the given subscriber, which is refused if there has already been one.
+     *
+     * @param subscriber the subscriber
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(
+                    new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {}
+
+                        @Override
+                        public void cancel() {}
+                    });
+            subscriber.onError(new IllegalStateException("an iterator can only be published once"));
+            return;
+        }
+        subscriber.onSubscribe(new Subscription(subscriber));
+    }
+
+    /**
+     * The subscription of the one subscriber, which delivers elements as they are requested.
+     */
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        // Elements requested but not yet delivered, capped at Long.MAX_VALUE
+        private final AtomicLong demand = new AtomicLong();
+        // Nonzero while a drain is scheduled or running; counts the calls that asked for one
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean done;
+        private volatile Throwable invalidRequest;
+
+        private Subscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Adds to the demand, delivering elements if none are being delivered already.
+         *
+         * @param n the number of further elements wanted
+         */
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request must be positive, was " + n);
+            } else {
+                demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            }
+            schedule();
+        }
+
+        /**
+         * Stops delivering elements.
+         */
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        /**
+         * Runs a drain unless one is already scheduled or running, in which case it will see the
+         * new state before it stops.
+         */
+        private void schedule() {
+            if (work.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Delivers elements while there is demand, until no further requests arrive.
+         *
+         * @throws RuntimeException the exception thrown by {@code onNext}, if it threw
+         */
+        private void drain() {
+            Throwable broken = null;
+            int missed = 1;
+            do {
+                while (!done) {
+                    if (invalidRequest != null) {
+                        done = true;
+                        subscriber.onError(invalidRequest);
+                        break;
+                    }
+                    if (demand.get() == 0) {
+                        break;
+                    }
+                    T next;
+                    try {
+                        if (!it.hasNext()) {
+                            done = true;
+                            subscriber.onComplete();
+                            break;
+                        }
+                        next = it.next();
+                    } catch (RuntimeException | Error e) {
+                        done = true;
+                        subscriber.onError(e);
+                        break;
+                    }
+                    if (next == null) {
+                        done = true;
+                        subscriber.onError(
+                                new NullPointerException("the iterator returned a null element"));
+                        break;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                    try {
+                        subscriber.onNext(next);
+                    } catch (RuntimeException | Error e) {
+                        // onNext must return normally, so the subscriber is treated as cancelled.
+                        done = true;
+                        broken = e;
+                    }
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+            if (broken instanceof Error) {
+                throw (Error) broken;
+            } else if (broken != null) {
+                throw (RuntimeException) broken;
+            }
+        }
+    }
+}
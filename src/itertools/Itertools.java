@@ -3,10 +3,26 @@
 package itertools;
 
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * A collection of useful methods for working with iterators.
@@ -32,6 +48,79 @@ public class Itertools {
         return new Lazy<T>( it, count);
     }
 
+    /**
+     * A primitive int version of {@link #take}. Elements are never boxed.
+     *
+     * @param it The iterator from which to take elements.
+     * @param count The maximum number of elements to take.
+     * @return An iterator over the first `count` elements of `it`.
+     */
+    public static PrimitiveIterator.OfInt takeInt(PrimitiveIterator.OfInt it, int count) {
+        return new IntLazy(it, count);
+    }
+
+    /**
+     * A double-ended version of {@link #take}, for iterators that know their exact size (see
+     * {@link SizedIterator}), which is needed to know where the taken elements end. The elements
+     * beyond them are skipped with {@link DoubleEndedIterator#advanceBackBy} rather than visited.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator from which to take elements.
+     * @param count The maximum number of elements to take.
+     * @return A double-ended iterator over the first `count` elements of `it`.
+     * @throws IllegalArgumentException if `it` does not know its exact size.
+     */
+    public static <T> DoubleEndedIterator<T> takeDoubleEnded(DoubleEndedIterator<T> it, int count) {
+        return new DoubleLazy<T>(it, count);
+    }
+
+    /**
+     * A primitive int, double-ended version of {@link #take}. Elements are never boxed.
+     *
+     * @param it The iterator from which to take elements.
+     * @param count The maximum number of elements to take.
+     * @return A double-ended iterator over the first `count` elements of `it`.
+     * @throws IllegalArgumentException if `it` does not know its exact size.
+     */
+    public static IntDoubleEndedIterator takeInt(IntDoubleEndedIterator it, int count) {
+        return new IntDoubleLazy(it, count);
+    }
+
+    /**
+     * Given an iterator and a number of elements, returns an iterator over the elements after
+     * that number of elements (or no elements, if it contains fewer than that number).
+     *
+     * <p>The skipped elements are dropped only once the first element is asked for. Sources and
+     * adapters that implement {@link AdvancingIterator} skip them without producing them, so for
+     * example skipping a mapped {@link RangeIterator} neither visits the skipped values nor
+     * applies the function to them.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator from which to skip elements.
+     * @param count The number of elements to skip.
+     * @return An iterator over the elements of `it` after the first `count`.
+     */
+    public static <T> Iterator<T> skip(Iterator<T> it, int count) {
+        return new Skip<T>(it, count);
+    }
+
+    /**
+     * Returns the element at the given (zero-based) position in the iterator, skipping the
+     * elements before it using {@link AdvancingIterator#advance}.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator.
+     * @param n The number of elements to skip before the one returned.
+     * @return The element of `it` after the first `n`.
+     * @throws NoSuchElementException If the iterator has no more than `n` elements.
+     */
+    public static <T> T nth(Iterator<T> it, int n) {
+        if (AdvancingIterator.advance(it, n) < n || !it.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return it.next();
+    }
+
     /**
      * Returns a (double ended) iterator in the reverse order of the one given.
      *
@@ -67,6 +156,33 @@ public class Itertools {
         return new Filter<T>(it,pred);
         }
 
+    /**
+     * A primitive int version of {@link #filter}. Elements are never boxed.
+     *
+     * @param it The iterator to filter.
+     * @param pred The predicate to use to determine whether to keep or drop an element.
+     * @return An iterator over the elements of `it` with elements not satisfying `pred` removed.
+     */
+    public static PrimitiveIterator.OfInt filterInt(PrimitiveIterator.OfInt it, IntPredicate pred) {
+        return new IntFilter(it, pred);
+    }
+
+    /**
+     * A double-ended version of {@link #filter}. Elements are searched for from whichever end the
+     * next element is asked for, so taking elements from the back never consumes elements from the
+     * front.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to filter.
+     * @param pred The predicate to use to determine whether to keep or drop an element.
+     * @return A double-ended iterator over the elements of `it` with elements not satisfying
+     *     `pred` removed.
+     */
+    public static <T> DoubleEndedIterator<T> filterDoubleEnded(
+            DoubleEndedIterator<T> it, Predicate<T> pred) {
+        return new DoubleFilter<T>(it, pred);
+    }
+
 
     /**
      * Returns an iterator over the elements of a given iterator with a given function applied to
@@ -105,6 +221,28 @@ public class Itertools {
         return new DoubleMapping<T,R>(it,f);
     }
 
+    /**
+     * A primitive int version of {@link #map}. Elements are never boxed.
+     *
+     * @param it The iterator to map over.
+     * @param f The function to apply to each element.
+     * @return An iterator over the results of applying `f` to each element in `it`.
+     */
+    public static PrimitiveIterator.OfInt mapInt(PrimitiveIterator.OfInt it, IntUnaryOperator f) {
+        return new IntMapping(it, f);
+    }
+
+    /**
+     * A primitive int, double-ended version of {@link #map}. Elements are never boxed.
+     *
+     * @param it The iterator to map over.
+     * @param f The function to apply to each element.
+     * @return An iterator over the results of applying `f` to each element in `it`.
+     */
+    public static IntDoubleEndedIterator mapInt(IntDoubleEndedIterator it, IntUnaryOperator f) {
+        return new IntDoubleMapping(it, f);
+    }
+
     /**
      * Returns an iterator over the results of combining each pair of elements from a pair of given
      * iterators using a given function.
@@ -133,6 +271,39 @@ public class Itertools {
         return new Zipper<T,U,R>(lit,rit,f);
     }
 
+    /**
+     * A double-ended version of {@link #zip}, for iterators that both know their exact sizes (see
+     * {@link SizedIterator}), so that the back of the longer one can first be skipped to line up
+     * with the back of the shorter.
+     *
+     * @param <T> The type of elements in the "left-hand" iterator.
+     * @param <U> The type of elements in the "right-hand" iterator.
+     * @param <R> The type of elements in the result iterator.
+     * @param lit The "left-hand" iterator.
+     * @param rit The "right-hand" iterator.
+     * @param f A function to use to combine elements from `lit` and `rit`.
+     * @return A double-ended iterator over the result of combining elements from `lit` and `rit`
+     *     using `f`.
+     * @throws IllegalArgumentException if either iterator does not know its exact size.
+     */
+    public static <T, U, R> DoubleEndedIterator<R> zipDoubleEnded(
+            DoubleEndedIterator<T> lit, DoubleEndedIterator<U> rit, BiFunction<T, U, R> f) {
+        return new DoubleZipper<T, U, R>(lit, rit, f);
+    }
+
+    /**
+     * A primitive int version of {@link #zip}. Elements are never boxed.
+     *
+     * @param lit The "left-hand" iterator.
+     * @param rit The "right-hand" iterator.
+     * @param f A function to use to combine elements from `lit` and `rit`.
+     * @return An iterator over the result of combining elements from `lit` and `rit` using `f`.
+     */
+    public static PrimitiveIterator.OfInt zipInt(
+            PrimitiveIterator.OfInt lit, PrimitiveIterator.OfInt rit, IntBinaryOperator f) {
+        return new IntZipper(lit, rit, f);
+    }
+
     /**
      * Returns the result of combining all the elements from the given iterator using the given
      * function.
@@ -157,4 +328,616 @@ public class Itertools {
         Reduced<T, R> Reduction = new Reduced<T, R>(it,init,f);
         return Reduction.next();
     }
+
+    /**
+     * Returns the result of combining all the elements from the given iterator using the given
+     * function, pulling them from the iterator a batch at a time.
+     *
+     * <p>This is only worth it for sources that already hold their elements, such as a page of
+     * students; for sources that create each element on demand {@link #reduce(Iterator, Object,
+     * BiFunction)} is faster.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param <R> The type of the result.
+     * @param it The iterator to reduce.
+     * @param init The initial value.
+     * @param f The function to use to combine each element into the reduction value.
+     * @return The value after all elements have been combined.
+     */
+    public static <T, R> R reduceBatches(BatchIterator<T> it, R init, BiFunction<R, T, R> f) {
+        return new Reduced<T, R>(it, init, f, true).next();
+    }
+
+    /**
+     * Returns the result of combining all the elements from the given iterator, splitting the
+     * iterator and reducing the parts in parallel on the common {@link ForkJoinPool}.
+     *
+     * <p>Each part is reduced with `accumulator` starting from `identity`, and the results of
+     * adjacent parts are combined with `combiner`, keeping the order of the elements. As with
+     * {@link java.util.stream.Stream#reduce(Object, BiFunction, BinaryOperator)}, `identity` must
+     * be an identity for `combiner` and must not be modified, and `combiner` must be associative
+     * and compatible with `accumulator`.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param <R> The type of the result.
+     * @param source The iterator to reduce.
+     * @param identity The initial value of each part's reduction.
+     * @param accumulator The function to use to combine each element into a part's reduction.
+     * @param combiner The function to use to combine the reductions of two parts.
+     * @return The value after all elements have been combined.
+     */
+    public static <T, R> R parallelReduce(
+            SplittableIterator<T> source,
+            R identity,
+            BiFunction<R, T, R> accumulator,
+            BinaryOperator<R> combiner) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        // Split into about four parts per thread, so that uneven parts still balance out.
+        int depth = 32 - Integer.numberOfLeadingZeros(pool.getParallelism() - 1) + 2;
+        return pool.invoke(new ParallelReduced<T, R>(source, identity, accumulator, combiner, depth));
+    }
+
+    /**
+     * A primitive int overload of {@link #reduce}. Elements are never boxed.
+     *
+     * @param it The iterator to reduce.
+     * @param init The initial value.
+     * @param f The function to use to combine each element into the reduction value.
+     * @return The value after all elements have been combined, or `init` if there are none.
+     */
+    public static int reduce(PrimitiveIterator.OfInt it, int init, IntBinaryOperator f) {
+        return new IntReduced(it, init, f).reduce();
+    }
+
+    /**
+     * A primitive int overload of {@link #reduce} into a mutable accumulator. Elements are never
+     * boxed and nothing is allocated per element.
+     *
+     * @param <A> The type of the accumulator.
+     * @param it The iterator to reduce.
+     * @param accumulator The accumulator to add each element to.
+     * @return `accumulator`, after all elements have been added.
+     */
+    public static <A extends IntReduction<A>> A reduce(PrimitiveIterator.OfInt it, A accumulator) {
+        while (it.hasNext()) {
+            accumulator.add(it.nextInt());
+        }
+        return accumulator;
+    }
+
+    /**
+     * A primitive double overload of {@link #reduce} into a mutable accumulator. Elements are
+     * never boxed and nothing is allocated per element.
+     *
+     * @param <A> The type of the accumulator.
+     * @param it The iterator to reduce.
+     * @param accumulator The accumulator to add each element to.
+     * @return `accumulator`, after all elements have been added.
+     */
+    public static <A extends DoubleReduction<A>> A reduce(
+            PrimitiveIterator.OfDouble it, A accumulator) {
+        while (it.hasNext()) {
+            accumulator.add(it.nextDouble());
+        }
+        return accumulator;
+    }
+
+    /**
+     * Returns a {@link Pipeline} over the given iterator, to which map, filter and take stages can
+     * be added fluently.
+     *
+     * <p>Unlike nesting calls to {@link #map}, {@link #filter} and {@link #take}, the stages of a
+     * pipeline run fused together in a single loop, so each element costs one call on the source
+     * and no intermediate adapters.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The source iterator.
+     * @return A pipeline with no stages over `it`.
+     */
+    public static <T> Pipeline<T> pipeline(Iterator<T> it) {
+        return new Pipeline<T>(it);
+    }
+
+    /**
+     * Returns the number of elements remaining in the given iterator.
+     *
+     * <p>If the iterator knows its exact size (see {@link SizedIterator}) the count is returned
+     * without visiting the elements. Otherwise the iterator is drained. Either way, the iterator
+     * should not be used afterwards.
+     *
+     * @param it The iterator to count.
+     * @return The number of elements remaining in `it`.
+     */
+    public static long count(Iterator<?> it) {
+        long exact = SizedIterator.exactSizeOf(it);
+        if (exact >= 0) {
+            return exact;
+        }
+        long count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the last element of the given iterator, draining it.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator.
+     * @return The last element of `it`.
+     * @throws NoSuchElementException If the iterator has no elements.
+     */
+    public static <T> T last(Iterator<T> it) {
+        T last = it.next();
+        while (it.hasNext()) {
+            last = it.next();
+        }
+        return last;
+    }
+
+    /**
+     * A double-ended overload of {@link #last}, which takes the last element straight from the
+     * back of the iterator without visiting any other element. The iterator should not be used
+     * afterwards.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator.
+     * @return The last element of `it`.
+     * @throws NoSuchElementException If the iterator has no elements.
+     */
+    public static <T> T last(DoubleEndedIterator<T> it) {
+        return it.reverseNext();
+    }
+
+    /**
+     * Returns a list of the elements remaining in the given iterator, in order.
+     *
+     * <p>If the iterator knows its exact size (see {@link SizedIterator}) the list is allocated at
+     * that size up front, rather than being grown as elements are added.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to collect.
+     * @return A list of the elements remaining in `it`.
+     */
+    public static <T> List<T> toList(Iterator<T> it) {
+        long exact = SizedIterator.exactSizeOf(it);
+        List<T> list = exact >= 0 && exact < Integer.MAX_VALUE
+                ? new ArrayList<T>((int) exact)
+                : new ArrayList<T>();
+        while (it.hasNext()) {
+            list.add(it.next());
+        }
+        return list;
+    }
+
+    /**
+     * Returns the given number of independent iterators, each over all the elements of the given
+     * iterator, which is itself consumed only once.
+     *
+     * <p>Elements are buffered only until every returned iterator has passed them. The buffer holds
+     * at most `capacity` elements; if one iterator gets that far ahead of the slowest, asking it for
+     * a further element throws {@link TeeOverflowException}. The returned iterators should all be
+     * used from the same thread.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to split.
+     * @param n The number of iterators to return.
+     * @param capacity The maximum number of elements buffered at once.
+     * @return `n` iterators over the elements of `it`.
+     */
+    public static <T> List<Iterator<T>> tee(Iterator<T> it, int n, int capacity) {
+        return new Tee<T>(it, n, capacity).branches();
+    }
+
+    /**
+     * Returns the given number of independent iterators, each over all the elements of the given
+     * iterator, buffering at most 65536 elements. See {@link #tee(Iterator, int, int)}.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to split.
+     * @param n The number of iterators to return.
+     * @return `n` iterators over the elements of `it`.
+     */
+    public static <T> List<Iterator<T>> tee(Iterator<T> it, int n) {
+        return tee(it, n, 1 << 16);
+    }
+
+    /**
+     * Returns an iterator over every run of `size` consecutive elements of the given iterator.
+     *
+     * <p>That is, given the elements `a, b, c, d` and a size of 2, returns an iterator over the
+     * windows `[a, b], [b, c], [c, d]`. Each step pulls only one new element, and every window is
+     * returned through the same read-only list, which shows the current window only until the
+     * iterator is advanced. Copy it if it needs to be kept.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to take windows of.
+     * @param size The number of elements in each window.
+     * @return An iterator over the windows of `it`.
+     */
+    public static <T> Iterator<List<T>> windows(Iterator<T> it, int size) {
+        return new Windows<T>(it, size);
+    }
+
+    /**
+     * A double-ended version of {@link #windows}, for iterators that know their exact size (see
+     * {@link SizedIterator}), which is needed to find the windows at the back.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to take windows of.
+     * @param size The number of elements in each window.
+     * @return A double-ended iterator over the windows of `it`.
+     * @throws IllegalArgumentException if `it` does not know its exact size.
+     */
+    public static <T> DoubleEndedIterator<List<T>> windowsDoubleEnded(
+            DoubleEndedIterator<T> it, int size) {
+        requireExactSize(it, "windows from the back require an iterator of known size");
+        return new Windows<T>(it, size);
+    }
+
+    /**
+     * A primitive int, double-ended version of {@link #windows}. Values are never boxed, and every
+     * window is returned through the same {@link IntView}.
+     *
+     * @param it The iterator to take windows of.
+     * @param size The number of values in each window.
+     * @return A double-ended iterator over the windows of `it`.
+     * @throws IllegalArgumentException if `it` does not know its exact size.
+     */
+    public static DoubleEndedIterator<IntView> windowsInt(IntDoubleEndedIterator it, int size) {
+        requireExactSize(it, "windows from the back require an iterator of known size");
+        return new IntWindows(it, size);
+    }
+
+    /**
+     * Returns an iterator over consecutive, non-overlapping runs of `size` elements of the given
+     * iterator. The last chunk holds the elements left over, and may be shorter.
+     *
+     * <p>That is, given the elements `a, b, c, d, e` and a size of 2, returns an iterator over the
+     * chunks `[a, b], [c, d], [e]`. Every chunk is returned through the same read-only list, which
+     * shows the current chunk only until the iterator is advanced. Copy it if it needs to be kept.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to take chunks of.
+     * @param size The number of elements in each chunk.
+     * @return An iterator over the chunks of `it`.
+     */
+    public static <T> Iterator<List<T>> chunks(Iterator<T> it, int size) {
+        return new Chunks<T>(it, size);
+    }
+
+    /**
+     * A double-ended version of {@link #chunks}, for iterators that know their exact size (see
+     * {@link SizedIterator}), which is needed to find where the last chunk starts.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to take chunks of.
+     * @param size The number of elements in each chunk.
+     * @return A double-ended iterator over the chunks of `it`.
+     * @throws IllegalArgumentException if `it` does not know its exact size.
+     */
+    public static <T> DoubleEndedIterator<List<T>> chunksDoubleEnded(
+            DoubleEndedIterator<T> it, int size) {
+        requireExactSize(it, "chunks from the back require an iterator of known size");
+        return new Chunks<T>(it, size);
+    }
+
+    /**
+     * A primitive int, double-ended version of {@link #chunks}. Values are never boxed, and every
+     * chunk is returned through the same {@link IntView}.
+     *
+     * @param it The iterator to take chunks of.
+     * @param size The number of values in each chunk.
+     * @return A double-ended iterator over the chunks of `it`.
+     * @throws IllegalArgumentException if `it` does not know its exact size.
+     */
+    public static DoubleEndedIterator<IntView> chunksInt(IntDoubleEndedIterator it, int size) {
+        requireExactSize(it, "chunks from the back require an iterator of known size");
+        return new IntChunks(it, size);
+    }
+
+    private static void requireExactSize(Iterator<?> it, String message) {
+        if (SizedIterator.exactSizeOf(it) < 0) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * Returns an iterator over the same elements as the given iterator, which is drained up to
+     * `depth` elements ahead of the consumer on a background daemon thread.
+     *
+     * <p>This lets slow calls on `it`, such as fetching the next page of a remote list, overlap
+     * with work on the elements already fetched. An exception thrown by `it` is rethrown from the
+     * matching call on the returned iterator, once the elements before it have been consumed.
+     * Closing the returned iterator stops the background thread; so does dropping it, once it is
+     * garbage collected.
+     *
+     * <p>`it` must not be used by anything else once passed in.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to prefetch from.
+     * @param depth The number of elements that may be fetched ahead.
+     * @return An iterator over the elements of `it`, fetched ahead of time.
+     */
+    public static <T> Prefetch<T> prefetch(Iterator<T> it, int depth) {
+        return new Prefetch<T>(it, depth);
+    }
+
+    /**
+     * An overload of {@link #prefetch(Iterator, int)} that runs the background task with the given
+     * executor rather than on a new thread.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to prefetch from.
+     * @param depth The number of elements that may be fetched ahead.
+     * @param executor The executor to run the background task with.
+     * @return An iterator over the elements of `it`, fetched ahead of time.
+     */
+    public static <T> Prefetch<T> prefetch(Iterator<T> it, int depth, Executor executor) {
+        return new Prefetch<T>(it, depth, executor);
+    }
+
+    /**
+     * Returns an iterator over the results of applying a function to each element of the given
+     * iterator, with up to `maxInFlight` calls running at once on a shared pool of daemon threads.
+     *
+     * <p>This suits slow or blocking functions, such as ones that call a remote service. Results
+     * are returned in the order of `it`. The first call to throw has its exception rethrown from
+     * `next`, and the calls still running are abandoned, as they are when the returned iterator is
+     * closed. To run the calls with a particular executor, construct a {@link ConcurrentMapping}
+     * directly.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param <R> The type of elements in the returned iterator.
+     * @param it The iterator to map over.
+     * @param f The function to apply, which may be called from several threads at once.
+     * @param maxInFlight The largest number of calls to run at once.
+     * @return An iterator over the results, in order.
+     */
+    public static <T, R> ConcurrentMapping<T, R> mapConcurrent(
+            Iterator<T> it, Function<T, R> f, int maxInFlight) {
+        return new ConcurrentMapping<T, R>(it, f, maxInFlight, true);
+    }
+
+    /**
+     * An unordered version of {@link #mapConcurrent}, which returns each result as soon as its call
+     * finishes, so one slow call never holds up the others.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param <R> The type of elements in the returned iterator.
+     * @param it The iterator to map over.
+     * @param f The function to apply, which may be called from several threads at once.
+     * @param maxInFlight The largest number of calls to run at once.
+     * @return An iterator over the results, in the order their calls finish.
+     */
+    public static <T, R> ConcurrentMapping<T, R> mapConcurrentUnordered(
+            Iterator<T> it, Function<T, R> f, int maxInFlight) {
+        return new ConcurrentMapping<T, R>(it, f, maxInFlight, false);
+    }
+
+    /**
+     * Returns a publisher of the elements of the given iterator, which pulls each element only
+     * once the subscriber has requested it, on the thread that requested it.
+     *
+     * <p>The publisher accepts a single subscriber. An exception thrown by `it` is passed to the
+     * subscriber's `onError`.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to publish.
+     * @return A publisher of the elements of `it`.
+     */
+    public static <T> Flow.Publisher<T> publisher(Iterator<T> it) {
+        return new IteratorPublisher<T>(it);
+    }
+
+    /**
+     * An overload of {@link #publisher(Iterator)} which pulls and delivers elements with the given
+     * executor rather than on the thread that requested them.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to publish.
+     * @param executor The executor to deliver elements with.
+     * @return A publisher of the elements of `it`.
+     */
+    public static <T> Flow.Publisher<T> publisher(Iterator<T> it, Executor executor) {
+        return new IteratorPublisher<T>(it, executor);
+    }
+
+    /**
+     * Subscribes to the given publisher and returns a blocking iterator over what it sends,
+     * requesting no more elements than fit in a buffer of the given size.
+     *
+     * <p>An error from the publisher is rethrown from `hasNext` once the elements before it have
+     * been consumed. Closing the returned iterator cancels the subscription.
+     *
+     * @param <T> The type of elements published.
+     * @param publisher The publisher to subscribe to.
+     * @param capacity The largest number of elements to buffer.
+     * @return An iterator over the elements sent by `publisher`.
+     */
+    public static <T> SubscriberIterator<T> fromPublisher(
+            Flow.Publisher<T> publisher, int capacity) {
+        SubscriberIterator<T> it = new SubscriberIterator<T>(capacity);
+        publisher.subscribe(it);
+        return it;
+    }
+
+    /**
+     * Returns an iterator over the same elements as the given iterator, which records its calls to
+     * `hasNext` and `next`, the elements passing through, and the time each `next` takes into the
+     * named stage of {@link Instrumentation}.
+     *
+     * <p>Wrapping each stage of a pipeline shows where the time goes, since each stage's times
+     * include those of the stages upstream of it. Iterators given the same name add to the same
+     * totals; while a {@link Instrumentation#pipeline} scope is open, the name is taken within
+     * that pipeline.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to instrument.
+     * @param stageName The name of the stage to record into.
+     * @return An iterator over the elements of `it`.
+     */
+    public static <T> Iterator<T> instrument(Iterator<T> it, String stageName) {
+        return new Instrumented<T>(it, stageName);
+    }
+
+    /**
+     * Returns an iterator over the elements of the given sorted iterators, in sorted order.
+     *
+     * <p>That is, given iterators over `1, 4, 6` and `2, 4, 5`, returns an iterator over `1, 2, 4,
+     * 4, 5, 6`. Each element costs O(log k) comparisons for k iterators, and equal elements come
+     * out in the order the iterators were given.
+     *
+     * @param <T> The type of elements in the iterators.
+     * @param comparator The order every iterator is sorted in.
+     * @param its The iterators to merge.
+     * @return An iterator over the elements of `its`, in sorted order.
+     */
+    @SafeVarargs
+    public static <T> Iterator<T> mergeSorted(Comparator<? super T> comparator, Iterator<T>... its) {
+        // Copied element by element: handing on the array itself, even a clone, is an unsafe
+        // use of a generic varargs parameter.
+        List<Iterator<T>> list = new ArrayList<Iterator<T>>(its.length);
+        for (Iterator<T> it : its) {
+            list.add(it);
+        }
+        return new MergeSorted<T>(comparator, false, list);
+    }
+
+    /**
+     * A double-ended overload of {@link #mergeSorted}. Every iterator must know its exact size (see
+     * {@link SizedIterator}), so that elements can be taken from the back.
+     *
+     * @param <T> The type of elements in the iterators.
+     * @param comparator The order every iterator is sorted in.
+     * @param its The iterators to merge.
+     * @return A double-ended iterator over the elements of `its`, in sorted order.
+     * @throws IllegalArgumentException if any of `its` does not know its exact size.
+     */
+    @SafeVarargs
+    public static <T> DoubleEndedIterator<T> mergeSorted(
+            Comparator<? super T> comparator, DoubleEndedIterator<T>... its) {
+        List<Iterator<T>> list = new ArrayList<Iterator<T>>(its.length);
+        for (DoubleEndedIterator<T> it : its) {
+            requireExactSize(it, "merging from the back requires iterators of known size");
+            list.add(it);
+        }
+        return new MergeSorted<T>(comparator, false, list);
+    }
+
+    /**
+     * A version of {@link #mergeSorted} that returns only the first of each run of equal elements,
+     * such as an ID that appears in more than one iterator.
+     *
+     * @param <T> The type of elements in the iterators.
+     * @param comparator The order every iterator is sorted in.
+     * @param its The iterators to merge.
+     * @return An iterator over the distinct elements of `its`, in sorted order.
+     */
+    @SafeVarargs
+    public static <T> Iterator<T> mergeSortedDistinct(
+            Comparator<? super T> comparator, Iterator<T>... its) {
+        List<Iterator<T>> list = new ArrayList<Iterator<T>>(its.length);
+        for (Iterator<T> it : its) {
+            list.add(it);
+        }
+        return new MergeSorted<T>(comparator, true, list);
+    }
+
+    /**
+     * A double-ended overload of {@link #mergeSortedDistinct}. Every iterator must know its exact
+     * size (see {@link SizedIterator}), so that elements can be taken from the back.
+     *
+     * @param <T> The type of elements in the iterators.
+     * @param comparator The order every iterator is sorted in.
+     * @param its The iterators to merge.
+     * @return A double-ended iterator over the distinct elements of `its`, in sorted order.
+     * @throws IllegalArgumentException if any of `its` does not know its exact size.
+     */
+    @SafeVarargs
+    public static <T> DoubleEndedIterator<T> mergeSortedDistinct(
+            Comparator<? super T> comparator, DoubleEndedIterator<T>... its) {
+        List<Iterator<T>> list = new ArrayList<Iterator<T>>(its.length);
+        for (DoubleEndedIterator<T> it : its) {
+            requireExactSize(it, "merging from the back requires iterators of known size");
+            list.add(it);
+        }
+        return new MergeSorted<T>(comparator, true, list);
+    }
+
+    /**
+     * Groups the elements of the given iterator by key and reduces each group separately.
+     *
+     * <p>Each group starts from a fresh value from `init`, so mutable aggregates are never shared
+     * between groups. Tables built from separate parts of the data can be combined with
+     * {@link GroupTable#merge}.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param <K> The type of the group keys.
+     * @param <R> The type of each group's aggregate.
+     * @param it The iterator to group.
+     * @param keyFn The function giving each element's key.
+     * @param init Supplies the initial value of each group's aggregate.
+     * @param reducer The function to use to combine each element into its group's aggregate.
+     * @return A table from each key to its group's aggregate.
+     */
+    public static <T, K, R> GroupTable<K, R> groupAggregate(
+            Iterator<T> it, Function<T, K> keyFn, Supplier<R> init, BiFunction<R, T, R> reducer) {
+        GroupTable<K, R> table = new GroupTable<K, R>();
+        while (it.hasNext()) {
+            T element = it.next();
+            table.add(keyFn.apply(element), element, init, reducer);
+        }
+        return table;
+    }
+
+    /**
+     * A primitive overload of {@link #groupAggregate} for int keys and long aggregates. Keys and
+     * aggregates are never boxed. Each group's aggregate starts as the value of its first element.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to group.
+     * @param keyFn The function giving each element's key.
+     * @param valueFn The function giving each element's value.
+     * @param reducer The function to use to combine each value into its group's aggregate.
+     * @return A table from each key to its group's aggregate.
+     */
+    public static <T> IntGroupTable groupAggregateInt(
+            Iterator<T> it,
+            ToIntFunction<T> keyFn,
+            ToLongFunction<T> valueFn,
+            LongBinaryOperator reducer) {
+        IntGroupTable table = new IntGroupTable();
+        while (it.hasNext()) {
+            T element = it.next();
+            table.add(keyFn.applyAsInt(element), valueFn.applyAsLong(element), reducer);
+        }
+        return table;
+    }
+
+    /**
+     * A primitive overload of {@link #groupAggregate} for long keys and long aggregates. Keys and
+     * aggregates are never boxed. Each group's aggregate starts as the value of its first element.
+     *
+     * @param <T> The type of elements in the iterator.
+     * @param it The iterator to group.
+     * @param keyFn The function giving each element's key.
+     * @param valueFn The function giving each element's value.
+     * @param reducer The function to use to combine each value into its group's aggregate.
+     * @return A table from each key to its group's aggregate.
+     */
+    public static <T> LongGroupTable groupAggregateLong(
+            Iterator<T> it,
+            ToLongFunction<T> keyFn,
+            ToLongFunction<T> valueFn,
+            LongBinaryOperator reducer) {
+        LongGroupTable table = new LongGroupTable();
+        while (it.hasNext()) {
+            T element = it.next();
+            table.add(keyFn.applyAsLong(element), valueFn.applyAsLong(element), reducer);
+        }
+        return table;
+    }
 }
@@ -10,13 +10,16 @@ import java.util.NoSuchElementException;
  *
  * @param <T> The type of elements in the iterator.
  */
-public class Lazy<T> implements Iterator<T> {
+public class Lazy<T> implements BatchIterator<T>, SizedIterator<T>, AdvancingIterator<T> {
     // The given iterator
     private final Iterator<T> it;
     // The maximum number of elements to iterate
     private final int count;
     // The current count in the iteration
     private int current;
+    // Where calls are recorded when instrumentation is enabled (see Instrumentation)
+    private final StageMetrics metrics =
+            Instrumentation.ENABLED ? Instrumentation.scoped("Lazy") : null;
 
     /**
      * Constructs a Lazy iterator that limits the number of elements to iterate.
@@ -36,6 +39,12 @@ public class Lazy<T> implements Iterator<T> {
      */
     @Override
     public boolean hasNext() {
+        if (Instrumentation.ENABLED) {
+            long start = System.nanoTime();
+            boolean more = current < count && it.hasNext();
+            metrics.recordHasNext(start);
+            return more;
+        }
         return current < count && it.hasNext();
     }
 
@@ -47,11 +56,71 @@ public class Lazy<T> implements Iterator<T> {
      */
     @Override
     public T next() {
-        if (hasNext()) {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (current < count && it.hasNext()) {
             current++;
-            return it.next();
+            T next = it.next();
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+                metrics.recordNext(start);
+            }
+            return next;
         } else {
             throw new NoSuchElementException();
         }
     }
+
+    /**
+     * Copies up to `max` elements into the buffer, never more than remain to be taken.
+     *
+     * @param buf the buffer to copy elements into
+     * @param off the index in `buf` of the first element copied
+     * @param max the maximum number of elements to copy
+     * @return the number of elements copied
+     */
+    @Override
+    public int nextBatch(Object[] buf, int off, int max) {
+        int n = BatchIterator.fill(it, buf, off, Math.min(max, count - current));
+        current += n;
+        if (Instrumentation.ENABLED) {
+            metrics.recordPulled(n);
+            metrics.recordEmitted(n);
+        }
+        return n;
+    }
+
+    /**
+     * Returns the smaller of the number of elements left to take and the size estimate of the
+     * underlying iterator.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return Math.max(0, Math.min(count - current, SizedIterator.estimateSizeOf(it)));
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(it) >= 0;
+    }
+
+    /**
+     * Skips over up to `n` of the elements left to take, skipping them in the underlying
+     * iterator.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBy(int n) {
+        int skipped = AdvancingIterator.advance(it, Math.min(n, count - current));
+        current += skipped;
+        return skipped;
+    }
 }
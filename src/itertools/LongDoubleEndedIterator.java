@@ -0,0 +1,55 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A double ended iterator over primitive `long` values. Can be used to iterate over the elements
+ * of a collection from either end without boxing each element into a {@link Long}.
+ *
+ * <p>The boxed {@link #next()} and {@link #reverseNext()} methods are provided so that a
+ * LongDoubleEndedIterator can still be passed anywhere a {@link DoubleEndedIterator} of Long is
+ * expected.
+ */
+public interface LongDoubleEndedIterator extends DoubleEndedIterator<Long>, PrimitiveIterator.OfLong {
+    /**
+     * Returns the next element from the back in the iteration. Will not return an element that has
+     * already been returned by {@link #nextLong()}.
+     *
+     * @return The next element from the back in the iteration.
+     * @throws NoSuchElementException If the iteration has no more elements.
+     */
+    long reverseNextLong() throws NoSuchElementException;
+
+    @Override
+    default Long next() {
+        return nextLong();
+    }
+
+    @Override
+    default Long reverseNext() {
+        return reverseNextLong();
+    }
+
+    @Override
+    default int advanceBy(int n) {
+        int skipped = 0;
+        while (skipped < n && hasNext()) {
+            nextLong();
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    default int advanceBackBy(int n) {
+        int skipped = 0;
+        while (skipped < n && hasNext()) {
+            reverseNextLong();
+            skipped++;
+        }
+        return skipped;
+    }
+}
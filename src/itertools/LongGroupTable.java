@@ -0,0 +1,163 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A table of long aggregates grouped by long keys, built by {@link Itertools#groupAggregateLong}.
+ *
+ * <p>This works as {@link GroupTable} does, but keys and aggregates are held unboxed in two long
+ * arrays, so each group costs 16 bytes per slot and the table is never more than three
+ * quarters full. The key 0 marks an empty slot, so a group with key 0 is held on the side.
+ */
+public class LongGroupTable {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private int size;
+    private boolean hasZero;
+    private long zeroValue;
+
+    /**
+     * An action taking the key and aggregate of a group.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        /**
+         * Performs the action on a group.
+         *
+         * @param key   the key of the group
+         * @param value the aggregate of the group
+         */
+        void accept(long key, long value);
+    }
+
+    /**
+     * Constructs an empty table.
+     */
+    public LongGroupTable() {}
+
+    /**
+     * Folds a value into the aggregate of its group, which starts as the value itself if the
+     * group is new.
+     *
+     * @param key     the key of the group
+     * @param value   the value
+     * @param reducer combines an aggregate with a value
+     */
+    public void add(long key, long value, LongBinaryOperator reducer) {
+        if (key == 0) {
+            zeroValue = hasZero ? reducer.applyAsLong(zeroValue, value) : value;
+            if (!hasZero) {
+                hasZero = true;
+                size++;
+            }
+            return;
+        }
+        int slot = slot(key);
+        if (keys[slot] == 0) {
+            keys[slot] = key;
+            values[slot] = value;
+            grown();
+        } else {
+            values[slot] = reducer.applyAsLong(values[slot], value);
+        }
+    }
+
+    /**
+     * Returns the aggregate of the given group, or `absent` if there is no such group.
+     *
+     * @param key    the key of the group
+     * @param absent the value to return if there is no such group
+     * @return the aggregate of the group, or `absent`
+     */
+    public long get(long key, long absent) {
+        if (key == 0) {
+            return hasZero ? zeroValue : absent;
+        }
+        int slot = slot(key);
+        return keys[slot] == 0 ? absent : values[slot];
+    }
+
+    /**
+     * Returns true if there is a group with the given key.
+     *
+     * @param key the key of the group
+     * @return true if there is such a group
+     */
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZero : keys[slot(key)] != 0;
+    }
+
+    /**
+     * Returns the number of groups.
+     *
+     * @return the number of groups
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Calls the given action with the key and aggregate of every group, in no particular order.
+     *
+     * @param action the action to call
+     */
+    public void forEach(EntryConsumer action) {
+        if (hasZero) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds every group of another table into this one, combining the aggregates of groups found
+     * in both.
+     *
+     * @param other    the table to merge in, which is left unchanged
+     * @param combiner combines this table's aggregate of a group with the other's
+     * @return this table
+     */
+    public LongGroupTable merge(LongGroupTable other, LongBinaryOperator combiner) {
+        other.forEach((key, value) -> add(key, value, combiner));
+        return this;
+    }
+
+    /**
+     * Returns the slot holding the given nonzero key, or the empty slot where it would go.
+     */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = GroupTable.mix(Long.hashCode(key)) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Counts a new group, doubling the arrays once they are three quarters full.
+     */
+    private void grown() {
+        if (++size <= keys.length - (keys.length >> 2)) {
+            return;
+        }
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
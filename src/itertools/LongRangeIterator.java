@@ -0,0 +1,100 @@
+package itertools;
+
+import java.util.NoSuchElementException;
+
+/** An iterator over a sequence of evenly spaced longs in a particular range. */
+public class LongRangeIterator implements LongDoubleEndedIterator, SizedIterator<Long> {
+    /** The difference between each element in the sequence and the next. */
+    private long step;
+
+    /** The frontmost element in the range that has not yet been returned. */
+    private long front;
+
+    /** The backmost element in the range that has not yet been returned. */
+    private long back;
+
+    /**
+     * Constructs an iterator over a range with the given spacing between elements.
+     *
+     * @param lower The lower bound of the range (inclusive), and the first value in the sequence.
+     * @param upper The upper bound of the range (exclusive).
+     * @param step The difference between each element in the sequence and the next.
+     */
+    public LongRangeIterator(long lower, long upper, long step) {
+        this.step = step;
+        front = lower;
+        back = lower + step * ((upper - lower - 1) / step);
+    }
+
+    /**
+     * Constructs an iterator over a contiguous range of longs between the given bounds.
+     *
+     * @param lower The lower bound of the range (inclusive), and the first value in the sequence.
+     * @param upper The upper bound of the range (exclusive).
+     */
+    public LongRangeIterator(long lower, long upper) {
+        this(lower, upper, 1);
+    }
+
+    /**
+     * Constructs an iterator over a contiguous range of longs starting at 0 and less than the given
+     * bound.
+     *
+     * @param upper The upper bound of the range (exclusive).
+     */
+    public LongRangeIterator(long upper) {
+        this(0, upper);
+    }
+
+    @Override
+    public boolean hasNext() {
+        // There remain elements to return so long as the backmost is not before the frontmost.
+        return front <= back;
+    }
+
+    @Override
+    public long nextLong() {
+        if (!hasNext()) throw new NoSuchElementException();
+        // Increment front and return the old value.
+        long result = front;
+        front += step;
+        return result;
+    }
+
+    @Override
+    public long reverseNextLong() {
+        if (!hasNext()) throw new NoSuchElementException();
+        // Decrement back and return the old value.
+        long result = back;
+        back -= step;
+        return result;
+    }
+
+    @Override
+    public int advanceBy(int n) {
+        int skipped = (int) Math.min(Math.max(n, 0), estimateSize());
+        front += step * skipped;
+        return skipped;
+    }
+
+    @Override
+    public int advanceBackBy(int n) {
+        int skipped = (int) Math.min(Math.max(n, 0), estimateSize());
+        back -= step * skipped;
+        return skipped;
+    }
+
+    @Override
+    public long estimateSize() {
+        if (front > back) return 0;
+        // Ranges wider than Long.MAX_VALUE elements report the largest size representable.
+        long span = back - front;
+        return span < 0 ? Long.MAX_VALUE : span / step + 1;
+    }
+
+    @Override
+    public boolean hasExactSize() {
+        // Exact unless the span overflowed in estimateSize.
+        return front > back || back - front >= 0;
+    }
+}
@@ -12,9 +12,13 @@ import java.util.NoSuchElementException;
  * @param <T> the type of input elements
  * @param <R> the type of output elements
  */
-public class Mapping<T, R> implements Iterator<R>, Function<T, R> {
+public class Mapping<T, R> implements BatchIterator<R>, SizedIterator<R>, AdvancingIterator<R>, Function<T, R> {
     private final Iterator<T> iterator;
     private final Function<T, R> function;
+    private Object[] scratch; // Reused buffer for batches pulled from the underlying iterator
+    // Where calls are recorded when instrumentation is enabled (see Instrumentation)
+    private final StageMetrics metrics =
+            Instrumentation.ENABLED ? Instrumentation.scoped("Mapping") : null;
 
     /**
      * Constructs a Mapping iterator that applies a function to each element of another iterator.
@@ -34,6 +38,12 @@ public class Mapping<T, R> implements Iterator<R>, Function<T, R> {
      */
     @Override
     public boolean hasNext() {
+        if (Instrumentation.ENABLED) {
+            long start = System.nanoTime();
+            boolean more = iterator.hasNext();
+            metrics.recordHasNext(start);
+            return more;
+        }
         return iterator.hasNext();
     }
 
@@ -44,14 +54,47 @@ public class Mapping<T, R> implements Iterator<R>, Function<T, R> {
      */
     @Override
     public R next() {
-        if (hasNext()) {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (iterator.hasNext()) {
             T element = iterator.next();
-            return apply(element);
+            R result = apply(element);
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+                metrics.recordNext(start);
+            }
+            return result;
         } else {
             throw new NoSuchElementException();
         }
     }
 
+    /**
+     * Copies up to `max` mapped elements into the buffer, pulling them from the underlying
+     * iterator as a single batch.
+     *
+     * @param buf the buffer to copy elements into
+     * @param off the index in `buf` of the first element copied
+     * @param max the maximum number of elements to copy
+     * @return the number of elements copied
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int nextBatch(Object[] buf, int off, int max) {
+        if (scratch == null || scratch.length < max) {
+            scratch = new Object[max];
+        }
+        int n = BatchIterator.fill(iterator, scratch, 0, max);
+        for (int i = 0; i < n; i++) {
+            buf[off + i] = apply((T) scratch[i]);
+            scratch[i] = null;
+        }
+        if (Instrumentation.ENABLED) {
+            metrics.recordPulled(n);
+            metrics.recordEmitted(n);
+        }
+        return n;
+    }
+
     /**
      * Applies the function to the given element.
      *
@@ -62,4 +105,37 @@ public class Mapping<T, R> implements Iterator<R>, Function<T, R> {
     public R apply(T t) {
         return function.apply(t);
     }
+
+    /**
+     * Returns the size estimate of the underlying iterator, since mapping produces exactly one element for each of its
+     * elements.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return SizedIterator.estimateSizeOf(iterator);
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(iterator) >= 0;
+    }
+
+    /**
+     * Skips over the next `n` elements of the underlying iterator without applying the function
+     * to them.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBy(int n) {
+        return AdvancingIterator.advance(iterator, n);
+    }
 }
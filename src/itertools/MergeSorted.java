@@ -0,0 +1,322 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A MergeSorted iterator over the elements of several sorted iterators, in sorted order.
+ *
+ * <p>The smallest head of all the iterators is found with a loser tree: a tournament tree whose
+ * inner nodes remember the loser of the match played there, so that once the winner is replaced
+ * by the next element of its iterator, only the matches on its path back up to the root are
+ * replayed. Each element therefore costs at most ceil(log2 k) comparisons for k iterators, and
+ * nothing is allocated per element. Equal elements come out in the order of the iterators given.
+ *
+ * <p>Optionally, elements equal to the one returned before them are skipped, so that an element
+ * appearing in more than one iterator (or more than once in one) is returned only once.
+ *
+ * <p>Elements can be taken from the back if every iterator is double ended and knows its exact
+ * size (see {@link SizedIterator}), using a second loser tree over their last elements. The
+ * sizes are needed to know when the front and back of an iterator meet.
+ *
+ * @param <T> the type of elements returned by this iterator
+ */
+public class MergeSorted<T> implements DoubleEndedIterator<T>, SizedIterator<T> {
+    private final List<Iterator<T>> its;
+    private final Comparator<? super T> comparator;
+    private final boolean distinct;
+    // The number of elements of each iterator not yet returned from either end, if all are sized
+    private final long[] left;
+    private final Tree front;
+    private Tree back;
+
+    /**
+     * Constructs a MergeSorted iterator over the given iterators.
+     *
+     * @param comparator the order every iterator is sorted in
+     * @param distinct   whether to skip elements equal to one already returned
+     * @param its        the iterators to merge, each sorted by `comparator`
+     */
+    public MergeSorted(
+            Comparator<? super T> comparator, boolean distinct, List<? extends Iterator<T>> its) {
+        this.its = new ArrayList<Iterator<T>>(its);
+        this.comparator = comparator;
+        this.distinct = distinct;
+        long[] sizes = new long[its.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = SizedIterator.exactSizeOf(its.get(i));
+            if (sizes[i] < 0) {
+                sizes = null;
+                break;
+            }
+        }
+        this.left = sizes;
+        this.front = new Tree(false);
+    }
+
+    /**
+     * Returns true if there are more elements.
+     *
+     * @return true if there are more elements
+     */
+    @Override
+    public boolean hasNext() {
+        return front.prepare();
+    }
+
+    /**
+     * Returns the smallest element remaining.
+     *
+     * @return the smallest element remaining
+     * @throws NoSuchElementException if there are no more elements
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return front.take();
+    }
+
+    /**
+     * Returns the largest element remaining.
+     *
+     * @return the largest element remaining
+     * @throws NoSuchElementException if there are no more elements
+     * @throws UnsupportedOperationException if any iterator is not double ended or does not know
+     *     its size
+     */
+    @Override
+    public T reverseNext() {
+        if (back == null) {
+            if (left == null) {
+                throw new UnsupportedOperationException(
+                        "merging from the back requires iterators of known size");
+            }
+            for (Iterator<T> it : its) {
+                if (!(it instanceof DoubleEndedIterator)) {
+                    throw new UnsupportedOperationException(
+                            "merging from the back requires double ended iterators");
+                }
+            }
+            back = new Tree(true);
+        }
+        if (!back.prepare()) {
+            throw new NoSuchElementException();
+        }
+        return back.take();
+    }
+
+    /**
+     * Returns the number of elements remaining if every iterator knows its size, which is exact
+     * unless duplicates are being skipped.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        if (left == null) {
+            return Long.MAX_VALUE;
+        }
+        long sum = 0;
+        for (long n : left) {
+            sum += n;
+        }
+        return sum;
+    }
+
+    /**
+     * Returns true if every iterator knows its size and duplicates are not being skipped.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return left != null && !distinct;
+    }
+
+    /**
+     * A loser tree over the heads of the iterators at one end.
+     */
+    private final class Tree {
+        private final boolean reverse;
+        private final int k = its.size();
+        // The head of each iterator at this end, and whether it has one
+        private final Object[] heads = new Object[k];
+        private final boolean[] present = new boolean[k];
+        // nodes[0] holds the winner, nodes[1..k-1] the loser of the match at that node
+        private final int[] nodes = new int[Math.max(1, k)];
+        private boolean built;
+        // The last element returned from this end, for skipping duplicates
+        private Object last;
+        private boolean returned;
+        // Whether the element at the root is known not to be a duplicate
+        private boolean checked;
+
+        private Tree(boolean reverse) {
+            this.reverse = reverse;
+        }
+
+        /**
+         * Builds the tree if need be and skips duplicates, leaving the next element to return at
+         * the root.
+         *
+         * @return true if there is an element to return
+         */
+        private boolean prepare() {
+            if (!built) {
+                built = true;
+                for (int i = 0; i < k; i++) {
+                    refill(i);
+                }
+                rebuild();
+            }
+            if (k == 0 || !present[nodes[0]]) {
+                return false;
+            }
+            if (distinct && !checked) {
+                while (present[nodes[0]] && isDuplicate(head(nodes[0]))) {
+                    advance();
+                }
+                checked = true;
+            }
+            return present[nodes[0]];
+        }
+
+        /**
+         * Returns the element at the root and replaces it with the next from its iterator.
+         *
+         * @return the element at the root
+         */
+        private T take() {
+            T result = head(nodes[0]);
+            last = result;
+            returned = true;
+            advance();
+            // What the other end holds may now be a duplicate of this.
+            Tree other = reverse ? front : back;
+            if (other != null) {
+                other.checked = false;
+            }
+            return result;
+        }
+
+        /**
+         * Drops the element at the root, pulling the next from its iterator and replaying its
+         * path.
+         */
+        private void advance() {
+            checked = false;
+            int i = nodes[0];
+            heads[i] = null;
+            present[i] = false;
+            if (left != null && --left[i] == 0) {
+                // The other end may be holding the same, last element of this iterator. A loser
+                // tree can only replay its winner, and that head may have won matches below
+                // where it is stored, so the other tree is rebuilt. This happens at most once per
+                // iterator.
+                Tree other = reverse ? front : back;
+                if (other != null && other.built && other.present[i]) {
+                    other.heads[i] = null;
+                    other.present[i] = false;
+                    other.checked = false;
+                    other.rebuild();
+                }
+            } else {
+                refill(i);
+            }
+            replay(i);
+        }
+
+        /**
+         * Pulls the next head of the given iterator at this end. Once the iterator itself is
+         * empty, its remaining element may be the one held as the head at the other end.
+         *
+         * @param i the index of the iterator
+         */
+        @SuppressWarnings("unchecked")
+        private void refill(int i) {
+            Iterator<T> it = its.get(i);
+            if (left != null && left[i] == 0) {
+                return;
+            }
+            if (it.hasNext()) {
+                heads[i] = reverse ? ((DoubleEndedIterator<T>) it).reverseNext() : it.next();
+                present[i] = true;
+                return;
+            }
+            Tree other = reverse ? front : back;
+            if (left != null && other != null && other.built && other.present[i]) {
+                heads[i] = other.heads[i];
+                present[i] = true;
+            }
+        }
+
+        /**
+         * Plays every match again from the current heads.
+         */
+        private void rebuild() {
+            // Every node starts holding a placeholder that beats everything, and each iterator's
+            // head then plays its way up from its leaf.
+            Arrays.fill(nodes, -1);
+            for (int i = k - 1; i >= 0; i--) {
+                replay(i);
+            }
+        }
+
+        /**
+         * Plays the head of the given iterator up from its leaf to the root, leaving the loser of
+         * each match at the node it was played at. Only valid for the winner, or while building.
+         *
+         * @param i the index of the iterator
+         */
+        private void replay(int i) {
+            int winner = i;
+            for (int node = (i + k) >> 1; node > 0; node >>= 1) {
+                if (nodes[node] == -1 || (winner != -1 && beats(nodes[node], winner))) {
+                    int loser = winner;
+                    winner = nodes[node];
+                    nodes[node] = loser;
+                }
+            }
+            nodes[0] = winner;
+        }
+
+        /**
+         * Returns true if the head of iterator `a` should come out before that of iterator `b`.
+         * An iterator without a head loses to every other; ties go to the earlier iterator.
+         */
+        private boolean beats(int a, int b) {
+            if (!present[a] || !present[b]) {
+                return present[a] || (!present[b] && a < b);
+            }
+            int c = comparator.compare(head(a), head(b));
+            if (reverse) {
+                c = -c;
+            }
+            return c < 0 || (c == 0 && a < b);
+        }
+
+        /**
+         * Returns true if the given element equals the last element returned from either end.
+         */
+        @SuppressWarnings("unchecked")
+        private boolean isDuplicate(T element) {
+            Tree other = reverse ? front : back;
+            return (returned && comparator.compare(element, (T) last) == 0)
+                    || (other != null && other.returned
+                            && comparator.compare(element, (T) other.last) == 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        private T head(int i) {
+            return (T) heads[i];
+        }
+    }
+}
@@ -0,0 +1,66 @@
+//23832333 DharunSomalingam
+package itertools;
+
+import java.util.NoSuchElementException;
+
+/**
+ * An accumulator of the smallest and largest of a number of ints.
+ */
+public class MinMax implements IntReduction<MinMax> {
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+    private boolean empty = true;
+
+    /**
+     * Constructs an empty accumulator.
+     */
+    public MinMax() {}
+
+    /**
+     * Adds a value, updating the minimum and maximum.
+     *
+     * @param value the value to add
+     */
+    @Override
+    public void add(int value) {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        empty = false;
+    }
+
+    /**
+     * Adds the minimum and maximum of another accumulator to this one.
+     *
+     * @param other the accumulator to merge in, which is left unchanged
+     * @return this accumulator
+     */
+    @Override
+    public MinMax merge(MinMax other) {
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        empty &= other.empty;
+        return this;
+    }
+
+    /**
+     * Returns the smallest value.
+     *
+     * @return the minimum
+     * @throws NoSuchElementException if no values have been added
+     */
+    public int getMin() {
+        if (empty) throw new NoSuchElementException();
+        return min;
+    }
+
+    /**
+     * Returns the largest value.
+     *
+     * @return the maximum
+     * @throws NoSuchElementException if no values have been added
+     */
+    public int getMax() {
+        if (empty) throw new NoSuchElementException();
+        return max;
+    }
+}
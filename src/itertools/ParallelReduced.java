@@ -0,0 +1,67 @@
+//23832333 DharunSomalingam
+package itertools;
+
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+
+/**
+ * A ParallelReduced task that reduces the elements of a {@link SplittableIterator} by recursively
+ * splitting it and reducing the parts in a fork-join pool.
+ *
+ * @param <T> the type of elements in the iterator
+ * @param <R> the type of the result
+ */
+class ParallelReduced<T, R> extends RecursiveTask<R> {
+    private final SplittableIterator<T> iterator;
+    private final R identity;
+    private final BiFunction<R, T, R> accumulator;
+    private final BinaryOperator<R> combiner;
+    // The number of further times this task may split its iterator
+    private final int depth;
+
+    /**
+     * Constructs a ParallelReduced task over the given iterator.
+     *
+     * @param iterator    the iterator containing the elements
+     * @param identity    the initial value of the result of each part
+     * @param accumulator the binary function combining an element into a part's result
+     * @param combiner    the binary function combining the results of two parts
+     * @param depth       the number of further times the iterator may be split
+     */
+    ParallelReduced(
+            SplittableIterator<T> iterator,
+            R identity,
+            BiFunction<R, T, R> accumulator,
+            BinaryOperator<R> combiner,
+            int depth) {
+        this.iterator = iterator;
+        this.identity = identity;
+        this.accumulator = accumulator;
+        this.combiner = combiner;
+        this.depth = depth;
+    }
+
+    /**
+     * Splits off the front of the iterator and reduces it in a forked task while reducing the
+     * rest in this one, or reduces the whole iterator sequentially once it can no longer split.
+     *
+     * @return the reduced result of this task's elements
+     */
+    @Override
+    protected R compute() {
+        SplittableIterator<T> prefix = depth > 0 ? iterator.trySplit() : null;
+        if (prefix == null) {
+            if (!iterator.hasNext()) {
+                return identity;
+            }
+            return new Reduced<T, R>(iterator, identity, accumulator).next();
+        }
+        ParallelReduced<T, R> front =
+                new ParallelReduced<T, R>(prefix, identity, accumulator, combiner, depth - 1);
+        front.fork();
+        R back = new ParallelReduced<T, R>(iterator, identity, accumulator, combiner, depth - 1)
+                .compute();
+        return combiner.apply(front.join(), back);
+    }
+}
@@ -0,0 +1,117 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A fluent builder for chains of {@link Itertools} combinators over a single source iterator.
+ *
+ * <p>Rather than wrapping the source in one adapter per stage (as nesting {@link Itertools#map},
+ * {@link Itertools#filter} and {@link Itertools#take} does), a Pipeline records its stages and
+ * runs them all in a single {@link Fused} loop. Each map and filter stage keeps its own function,
+ * rather than being composed with its neighbours, so that its call site only sees that function;
+ * consecutive takes are collapsed into the smallest count as they are added.
+ *
+ * <p>Each builder method returns a new Pipeline and leaves this one unchanged. The source is only
+ * consumed once {@link #iterator()} or {@link #reduce} is called, and then only as needed.
+ *
+ * @param <T> The type of elements produced by the pipeline.
+ */
+public class Pipeline<T> {
+    private final Iterator<?> source;
+    private final List<Fused.Stage> stages;
+
+    /**
+     * Constructs a pipeline with no stages over the given source.
+     *
+     * @param source the iterator supplying the elements
+     */
+    public Pipeline(Iterator<T> source) {
+        this(source, new ArrayList<Fused.Stage>());
+    }
+
+    private Pipeline(Iterator<?> source, List<Fused.Stage> stages) {
+        this.source = source;
+        this.stages = stages;
+    }
+
+    /**
+     * Returns a pipeline with a stage applying the given function to each element.
+     *
+     * @param <R> the type of elements after the function is applied
+     * @param f the function to apply to each element
+     * @return the extended pipeline
+     */
+    public <R> Pipeline<R> map(Function<T, R> f) {
+        return append(Fused.Stage.map(f));
+    }
+
+    /**
+     * Returns a pipeline with a stage dropping the elements that do not satisfy the given
+     * predicate.
+     *
+     * @param pred the predicate to use to determine whether to keep or drop an element
+     * @return the extended pipeline
+     */
+    public Pipeline<T> filter(Predicate<T> pred) {
+        return append(Fused.Stage.filter(pred));
+    }
+
+    /**
+     * Returns a pipeline with a stage letting through at most the given number of elements.
+     *
+     * @param count the maximum number of elements to take
+     * @return the extended pipeline
+     */
+    public Pipeline<T> take(int count) {
+        Fused.Stage last = last();
+        if (last != null && last.kind == Fused.TAKE) {
+            return replaceLast(Fused.Stage.take(Math.min(last.limit, count)));
+        }
+        return append(Fused.Stage.take(count));
+    }
+
+    /**
+     * Returns a single fused iterator over the results of the pipeline.
+     *
+     * @return an iterator over the elements produced by the pipeline
+     */
+    public Iterator<T> iterator() {
+        return new Fused<T>(source, stages);
+    }
+
+    /**
+     * Returns the result of combining all the elements produced by the pipeline using the given
+     * function, without creating an intermediate iterator per stage.
+     *
+     * @param <R> the type of the result
+     * @param init the initial value
+     * @param f the function to use to combine each element into the reduction value
+     * @return the value after all elements have been combined
+     */
+    public <R> R reduce(R init, BiFunction<R, T, R> f) {
+        return Fused.reduce(source, stages, init, f);
+    }
+
+    private Fused.Stage last() {
+        return stages.isEmpty() ? null : stages.get(stages.size() - 1);
+    }
+
+    private <R> Pipeline<R> append(Fused.Stage stage) {
+        List<Fused.Stage> extended = new ArrayList<Fused.Stage>(stages);
+        extended.add(stage);
+        return new Pipeline<R>(source, extended);
+    }
+
+    private <R> Pipeline<R> replaceLast(Fused.Stage stage) {
+        List<Fused.Stage> replaced = new ArrayList<Fused.Stage>(stages);
+        replaced.set(replaced.size() - 1, stage);
+        return new Pipeline<R>(source, replaced);
+    }
+}
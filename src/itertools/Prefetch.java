@@ -0,0 +1,259 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A Prefetch iterator over the same elements as another iterator, which is drained ahead of the
+ * consumer by a background task into a bounded buffer, so that slow calls on the underlying
+ * iterator (such as fetching the next page of a remote list) overlap with work on the elements
+ * already fetched.
+ *
+ * <p>The buffer is a single-producer single-consumer ring whose two ends are published through
+ * volatile positions, so neither side ever takes a lock. A side that finds the ring full or empty
+ * parks until the other side moves.
+ *
+ * <p>If a call to the underlying iterator throws, the exception is rethrown to the consumer from
+ * the same call ({@code hasNext} or {@code next}) at the same position, and nothing further is
+ * fetched. Closing the iterator, or dropping it unclosed so that it is garbage collected, stops
+ * the background task after at most one more element.
+ *
+ * @param <T> The type of elements in the iterator.
+ */
+public class Prefetch<T> implements Iterator<T>, AutoCloseable {
+    // Cleans up the background tasks of iterators that are dropped without being closed
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    // The state shared with the background task, which must not refer back to this iterator
+    private final State state;
+    private final Cleaner.Cleanable cleanable;
+
+    /**
+     * Constructs a Prefetch iterator which fetches up to `depth` elements ahead on a new daemon
+     * thread.
+     *
+     * @param it    the underlying iterator
+     * @param depth the number of elements that may be fetched ahead of the consumer
+     */
+    public Prefetch(Iterator<T> it, int depth) {
+        this(it, depth, Prefetch::startDaemon);
+    }
+
+    /**
+     * Constructs a Prefetch iterator which fetches up to `depth` elements ahead, running the
+     * background task with the given executor.
+     *
+     * @param it       the underlying iterator
+     * @param depth    the number of elements that may be fetched ahead of the consumer
+     * @param executor the executor to run the background task with
+     */
+    public Prefetch(Iterator<T> it, int depth, Executor executor) {
+        if (depth < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.state = new State(it, depth);
+        this.cleanable = CLEANER.register(this, state::close);
+        executor.execute(state::produce);
+    }
+
+    /**
+     * Returns true if the underlying iterator has more elements, waiting for the background task
+     * to find out if need be.
+     *
+     * @return true if there are more elements
+     */
+    @Override
+    public boolean hasNext() {
+        Object head = state.peek();
+        if (head instanceof Failure && ((Failure) head).inHasNext) {
+            ((Failure) head).rethrow();
+        }
+        return head != State.END;
+    }
+
+    /**
+     * Returns the next element, waiting for the background task to fetch it if need be.
+     *
+     * @return the next element
+     * @throws NoSuchElementException if there are no more elements
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object head = state.peek();
+        if (head instanceof Failure) {
+            ((Failure) head).rethrow();
+        }
+        state.take();
+        return (T) head;
+    }
+
+    /**
+     * Stops the background task. Elements already fetched are discarded.
+     */
+    @Override
+    public void close() {
+        cleanable.clean();
+    }
+
+    /**
+     * Runs the given task on a new daemon thread, so that an unfinished prefetch never keeps the
+     * program alive.
+     *
+     * @param task the task to run
+     */
+    private static void startDaemon(Runnable task) {
+        Thread thread = new Thread(task, "itertools-prefetch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * A call to the underlying iterator that threw, stored in the buffer in place of an element.
+     */
+    private static final class Failure {
+        private final Throwable cause;
+        private final boolean inHasNext;
+
+        private Failure(Throwable cause, boolean inHasNext) {
+            this.cause = cause;
+            this.inHasNext = inHasNext;
+        }
+
+        /**
+         * Rethrows the stored exception unchanged.
+         */
+        private void rethrow() {
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    /**
+     * The ring buffer and the background task that fills it.
+     */
+    private static final class State {
+        // Marks the end of the underlying iterator in the buffer
+        private static final Object END = new Object();
+
+        private final Iterator<?> it;
+        private final Object[] ring;
+        // Absolute positions of the next slot to take and the next slot to fill
+        private volatile long head;
+        private volatile long tail;
+        // The threads parked waiting for the ring to change, if any
+        private volatile Thread waitingConsumer;
+        private volatile Thread waitingProducer;
+        private volatile boolean closed;
+
+        private State(Iterator<?> it, int depth) {
+            this.it = it;
+            // One extra slot, so the end or a failure can always be stored behind a full ring.
+            this.ring = new Object[depth + 1];
+        }
+
+        /**
+         * Drains the underlying iterator into the ring until it ends, throws, or is closed.
+         */
+        private void produce() {
+            while (!closed) {
+                Object element;
+                boolean last = true;
+                try {
+                    element = END;
+                    if (it.hasNext()) {
+                        try {
+                            element = it.next();
+                            last = false;
+                        } catch (RuntimeException | Error e) {
+                            element = new Failure(e, false);
+                        }
+                    }
+                } catch (RuntimeException | Error e) {
+                    element = new Failure(e, true);
+                }
+                if (!put(element) || last) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Stores an element at the tail of the ring, waiting while the ring is full.
+         *
+         * @param element the element to store
+         * @return false if the iterator was closed while waiting
+         */
+        private boolean put(Object element) {
+            long position = tail;
+            // Elements leave one slot free; the end or a failure may take it.
+            long limit = element == END || element instanceof Failure ? ring.length : ring.length - 1;
+            while (position - head >= limit) {
+                waitingProducer = Thread.currentThread();
+                if (position - head >= limit && !closed) {
+                    LockSupport.park(this);
+                }
+                waitingProducer = null;
+                if (closed) {
+                    return false;
+                }
+            }
+            ring[(int) (position % ring.length)] = element;
+            tail = position + 1;
+            wake(waitingConsumer);
+            return true;
+        }
+
+        /**
+         * Returns the element at the head of the ring without taking it, waiting while the ring is
+         * empty.
+         *
+         * @return the element, {@link #END}, or a {@link Failure}
+         */
+        private Object peek() {
+            long position = head;
+            while (tail == position) {
+                waitingConsumer = Thread.currentThread();
+                if (tail == position) {
+                    LockSupport.park(this);
+                }
+                waitingConsumer = null;
+            }
+            return ring[(int) (position % ring.length)];
+        }
+
+        /**
+         * Frees the slot at the head of the ring.
+         */
+        private void take() {
+            long position = head;
+            ring[(int) (position % ring.length)] = null;
+            head = position + 1;
+            wake(waitingProducer);
+        }
+
+        /**
+         * Stops the background task, waking it if it is waiting for space.
+         */
+        private void close() {
+            closed = true;
+            wake(waitingProducer);
+        }
+
+        private static void wake(Thread thread) {
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+}
@@ -3,7 +3,12 @@ package itertools;
 import java.util.NoSuchElementException;
 
 /** An iterator over a sequence of evenly spaced integers in a particular range. */
-public class RangeIterator implements DoubleEndedIterator<Integer> {
+public class RangeIterator
+        implements IntDoubleEndedIterator,
+                DoubleEndedBatchIterator<Integer>,
+                SplittableIterator<Integer>,
+                SizedIterator<Integer>,
+                SeekableIterator<Integer, Integer> {
     /** The difference between each element in the sequence and the next. */
     private int step;
 
@@ -53,7 +58,7 @@ public class RangeIterator implements DoubleEndedIterator<Integer> {
     }
 
     @Override
-    public Integer next() {
+    public int nextInt() {
         if (!hasNext()) throw new NoSuchElementException();
         // Increment front and return the old value.
         int result = front;
@@ -62,11 +67,97 @@ public class RangeIterator implements DoubleEndedIterator<Integer> {
     }
 
     @Override
-    public Integer reverseNext() {
+    public int reverseNextInt() {
         if (!hasNext()) throw new NoSuchElementException();
         // Decrement back and return the old value.
         int result = back;
         back -= step;
         return result;
     }
+
+    @Override
+    public int advanceBy(int n) {
+        int skipped = (int) Math.min(Math.max(n, 0), estimateSize());
+        front += step * skipped;
+        return skipped;
+    }
+
+    @Override
+    public int advanceBackBy(int n) {
+        int skipped = (int) Math.min(Math.max(n, 0), estimateSize());
+        back -= step * skipped;
+        return skipped;
+    }
+
+    /**
+     * Skips forward to the first remaining element at or above the given value, in constant time.
+     *
+     * @param key The value to seek to.
+     */
+    @Override
+    public void seek(Integer key) {
+        if (key > front) {
+            // Round up to the first element that is not below the key.
+            advanceBy((int) Math.min(Integer.MAX_VALUE, ((long) key - front + step - 1) / step));
+        }
+    }
+
+    /**
+     * Skips backward to the last remaining element at or below the given value, in constant time.
+     *
+     * @param key The value to seek to.
+     */
+    @Override
+    public void seekBack(Integer key) {
+        if (key < back) {
+            advanceBackBy((int) Math.min(Integer.MAX_VALUE, ((long) back - key + step - 1) / step));
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return front <= back ? ((long) back - front) / step + 1 : 0;
+    }
+
+    @Override
+    public boolean hasExactSize() {
+        return true;
+    }
+
+    @Override
+    public int nextBatch(Object[] buf, int off, int max) {
+        int n = 0;
+        while (n < max && front <= back) {
+            buf[off + n++] = front;
+            front += step;
+        }
+        return n;
+    }
+
+    @Override
+    public int reverseNextBatch(Object[] buf, int off, int max) {
+        int n = 0;
+        while (n < max && front <= back) {
+            buf[off + n++] = back;
+            back -= step;
+        }
+        return n;
+    }
+
+    /**
+     * Splits off the front half of the remaining range in constant time.
+     *
+     * @return An iterator over the front half of the remaining range, or `null` if fewer than two
+     *     elements remain.
+     */
+    @Override
+    public RangeIterator trySplit() {
+        long remaining = estimateSize();
+        if (remaining < 2) return null;
+        // The prefix ends just before the element that becomes this iterator's new front.
+        int mid = front + step * (int) (remaining / 2);
+        RangeIterator prefix = new RangeIterator(front, mid, step);
+        front = mid;
+        return prefix;
+    }
 }
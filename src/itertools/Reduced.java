@@ -15,6 +15,13 @@ public class Reduced<T, R> implements Iterator<R>, BiFunction<R, T, R> {
     private final Iterator<T> iterator;
     private final BiFunction<R, T, R> function;
     private final R initialResult;
+    // Whether to pull the elements a batch at a time when the iterator supports it
+    private final boolean batched;
+    // Number of elements pulled per call when the iterator supports batches
+    private static final int BATCH_SIZE = 256;
+    // Where calls are recorded when instrumentation is enabled (see Instrumentation)
+    private final StageMetrics metrics =
+            Instrumentation.ENABLED ? Instrumentation.scoped("Reduced") : null;
 
     /**
      * Constructs a Reduced iterator that applies a binary function to the elements of an iterator, reducing them to a single value.
@@ -24,9 +31,29 @@ public class Reduced<T, R> implements Iterator<R>, BiFunction<R, T, R> {
      * @param function       the binary function to apply
      */
     public Reduced(Iterator<T> iterator, R initialResult, BiFunction<R, T, R> function) {
+        this(iterator, initialResult, function, false);
+    }
+
+    /**
+     * Constructs a Reduced iterator that applies a binary function to the elements of an iterator,
+     * optionally pulling them a batch at a time.
+     *
+     * <p>Batches only pay off for sources that already hold their elements as objects, such as
+     * page-shaped sources. A source that creates its elements on demand, such as a
+     * {@link RangeIterator}, has to box every element into the batch buffer, where the plain loop
+     * lets the JIT remove the boxing altogether.
+     *
+     * @param iterator       the iterator containing the elements
+     * @param initialResult  the initial value of the result
+     * @param function       the binary function to apply
+     * @param batched        true to use {@link BatchIterator#nextBatch} if the iterator has it
+     */
+    public Reduced(
+            Iterator<T> iterator, R initialResult, BiFunction<R, T, R> function, boolean batched) {
         this.iterator = iterator;
         this.initialResult = initialResult;
         this.function = function;
+        this.batched = batched;
     }
 
     /**
@@ -48,6 +75,12 @@ public class Reduced<T, R> implements Iterator<R>, BiFunction<R, T, R> {
      */
     @Override
     public boolean hasNext() {
+        if (Instrumentation.ENABLED) {
+            long start = System.nanoTime();
+            boolean more = iterator.hasNext();
+            metrics.recordHasNext(start);
+            return more;
+        }
         return iterator.hasNext();
     }
 
@@ -58,14 +91,50 @@ public class Reduced<T, R> implements Iterator<R>, BiFunction<R, T, R> {
      */
     @Override
     public R next() {
-        if (hasNext()) {
-            R result = initialResult;
-            while (iterator.hasNext()) {
-                T next = iterator.next();
-                result = apply(result, next);
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (iterator.hasNext()) {
+            R result;
+            if (batched && iterator instanceof BatchIterator) {
+                result = reduceBatches((BatchIterator<T>) iterator);
+            } else {
+                result = initialResult;
+                while (iterator.hasNext()) {
+                    T next = iterator.next();
+                    result = apply(result, next);
+                    if (Instrumentation.ENABLED) {
+                        metrics.recordPulled(1);
+                    }
+                }
+            }
+            if (Instrumentation.ENABLED) {
+                metrics.recordNext(start);
             }
             return result;
         }
             throw new NoSuchElementException();
     }
+
+    /**
+     * Returns the reduced result, pulling the elements from the iterator a batch at a time.
+     *
+     * @param batches the iterator to pull batches from
+     * @return the reduced result
+     */
+    @SuppressWarnings("unchecked")
+    private R reduceBatches(BatchIterator<T> batches) {
+        // Short iterators that know their size need not allocate a full batch buffer.
+        int size = (int) Math.max(1, Math.min(BATCH_SIZE, SizedIterator.estimateSizeOf(batches)));
+        Object[] buf = new Object[size];
+        R result = initialResult;
+        int n;
+        while ((n = batches.nextBatch(buf, 0, size)) > 0) {
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(n);
+            }
+            for (int i = 0; i < n; i++) {
+                result = apply(result, (T) buf[i]);
+            }
+        }
+        return result;
+    }
 }
@@ -2,7 +2,6 @@
 
 package itertools;
 
-import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
@@ -10,7 +9,7 @@ import java.util.NoSuchElementException;
  *
  * @param <T> the type of elements returned by this iterator
  */
-public class Reverse<T> implements Iterator<T> {
+public class Reverse<T> implements BatchIterator<T>, SizedIterator<T>, AdvancingIterator<T> {
     private final DoubleEndedIterator<T> it;
 
     /**
@@ -47,5 +46,50 @@ public class Reverse<T> implements Iterator<T> {
             throw new NoSuchElementException();
         }
     }
-}
 
+    /**
+     * Copies up to `max` elements into the buffer, taking them from the back of the underlying
+     * iterator.
+     *
+     * @param buf the buffer to copy elements into
+     * @param off the index in `buf` of the first element copied
+     * @param max the maximum number of elements to copy
+     * @return the number of elements copied
+     */
+    @Override
+    public int nextBatch(Object[] buf, int off, int max) {
+        return DoubleEndedBatchIterator.reverseFill(it, buf, off, max);
+    }
+
+    /**
+     * Returns the size estimate of the underlying iterator, since reversing returns exactly each of its elements once.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return SizedIterator.estimateSizeOf(it);
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(it) >= 0;
+    }
+
+    /**
+     * Skips over the next `n` elements in reverse order, by skipping them from the back of the
+     * underlying iterator.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBy(int n) {
+        return it.advanceBackBy(n);
+    }
+}
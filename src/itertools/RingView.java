@@ -0,0 +1,54 @@
+package itertools;
+
+import java.util.AbstractList;
+
+/**
+ * A read-only list view over a run of elements in a ring buffer, used by {@link Windows} and
+ * {@link Chunks} to hand out each window or chunk without copying it.
+ *
+ * <p>The view is reused for every step, so it only shows the current window or chunk until the
+ * iterator that returned it is advanced.
+ *
+ * @param <T> The type of elements in the view.
+ */
+class RingView<T> extends AbstractList<T> {
+    private final Object[] ring;
+    private int start;
+    private int length;
+
+    /**
+     * Constructs a view over the given ring buffer, initially empty.
+     *
+     * @param ring the ring buffer
+     */
+    RingView(Object[] ring) {
+        this.ring = ring;
+    }
+
+    /**
+     * Moves the view to show the given run of the ring buffer.
+     *
+     * @param start  the index in the ring of the first element shown
+     * @param length the number of elements shown
+     * @return this view
+     */
+    RingView<T> show(int start, int length) {
+        this.start = start;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException();
+        }
+        return (T) ring[(start + index) % ring.length];
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+}
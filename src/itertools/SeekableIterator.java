@@ -0,0 +1,31 @@
+package itertools;
+
+/**
+ * A double-ended iterator over elements sorted by a key, which can jump either end straight to a
+ * given key without returning the elements in between. Sources that can find a key without
+ * visiting every element (such as {@link RangeIterator}, arithmetically) make range scans and
+ * sorted joins skip large gaps cheaply.
+ *
+ * <p>Seeking never moves an end backwards: elements already returned stay returned, and a key
+ * behind an end leaves it where it is.
+ *
+ * @param <K> The type of the keys the elements are sorted by.
+ * @param <T> The type of elements returned by the iterator.
+ */
+public interface SeekableIterator<K, T> extends DoubleEndedIterator<T> {
+    /**
+     * Skips forward to the first remaining element whose key is at or after the given key, so
+     * that it is the next returned by {@link #next()}. If there is none, the iterator ends.
+     *
+     * @param key The key to seek to.
+     */
+    void seek(K key);
+
+    /**
+     * Skips backward to the last remaining element whose key is at or before the given key, so
+     * that it is the next returned by {@link #reverseNext()}. If there is none, the iterator ends.
+     *
+     * @param key The key to seek to.
+     */
+    void seekBack(K key);
+}
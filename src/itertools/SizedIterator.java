@@ -0,0 +1,56 @@
+package itertools;
+
+import java.util.Iterator;
+
+/**
+ * An iterator that can report how many elements it has left, either exactly or as an upper bound.
+ *
+ * <p>Adapters pass this information through from the iterators they wrap where they can, so that
+ * collectors can allocate exactly once and operations such as {@link Itertools#count} need not
+ * visit every element.
+ *
+ * @param <T> The type of elements returned by the iterator.
+ */
+public interface SizedIterator<T> extends Iterator<T> {
+    /**
+     * Returns an upper bound on the number of elements remaining in the iteration, or {@link
+     * Long#MAX_VALUE} if no bound is known.
+     *
+     * @return An upper bound on the number of elements remaining.
+     */
+    long estimateSize();
+
+    /**
+     * Returns true if {@link #estimateSize()} is the exact number of elements remaining.
+     *
+     * @return true if the size estimate is exact.
+     */
+    boolean hasExactSize();
+
+    /**
+     * Returns an upper bound on the number of elements remaining in any iterator, or {@link
+     * Long#MAX_VALUE} if the iterator does not know one.
+     *
+     * @param it The iterator.
+     * @return An upper bound on the number of elements remaining.
+     */
+    static long estimateSizeOf(Iterator<?> it) {
+        if (it instanceof SizedIterator) {
+            return ((SizedIterator<?>) it).estimateSize();
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the exact number of elements remaining in any iterator, or -1 if it is not known.
+     *
+     * @param it The iterator.
+     * @return The exact number of elements remaining, or -1.
+     */
+    static long exactSizeOf(Iterator<?> it) {
+        if (it instanceof SizedIterator && ((SizedIterator<?>) it).hasExactSize()) {
+            return ((SizedIterator<?>) it).estimateSize();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,116 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A Skip iterator that drops a specified number of elements from the front of another iterator
+ * before iterating over the rest.
+ *
+ * <p>The elements are only skipped once the first element is asked for, and are skipped using
+ * {@link AdvancingIterator#advance}, so sources that can skip in constant time do.
+ *
+ * @param <T> The type of elements in the iterator.
+ */
+public class Skip<T> implements BatchIterator<T>, SizedIterator<T>, AdvancingIterator<T> {
+    // The given iterator
+    private final Iterator<T> it;
+    // The number of elements still to be skipped
+    private int pending;
+
+    /**
+     * Constructs a Skip iterator that drops the first `count` elements of another iterator.
+     *
+     * @param it    the underlying iterator
+     * @param count the number of elements to skip
+     */
+    public Skip(Iterator<T> it, int count) {
+        this.it = it;
+        this.pending = Math.max(count, 0);
+    }
+
+    /**
+     * Returns true if the iteration has more elements after those skipped.
+     *
+     * @return true if the iteration has more elements
+     */
+    @Override
+    public boolean hasNext() {
+        skip();
+        return it.hasNext();
+    }
+
+    /**
+     * Returns the next element in the iteration after those skipped.
+     *
+     * @return the next element in the iteration
+     * @throws NoSuchElementException if the iteration has no more elements
+     */
+    @Override
+    public T next() {
+        if (hasNext()) {
+            return it.next();
+        } else {
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Copies up to `max` elements after those skipped into the buffer.
+     *
+     * @param buf the buffer to copy elements into
+     * @param off the index in `buf` of the first element copied
+     * @param max the maximum number of elements to copy
+     * @return the number of elements copied
+     */
+    @Override
+    public int nextBatch(Object[] buf, int off, int max) {
+        skip();
+        return BatchIterator.fill(it, buf, off, max);
+    }
+
+    /**
+     * Skips over a further `n` elements.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBy(int n) {
+        skip();
+        return AdvancingIterator.advance(it, n);
+    }
+
+    /**
+     * Returns the size estimate of the underlying iterator less the elements still to be skipped.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        long remaining = SizedIterator.estimateSizeOf(it);
+        return remaining == Long.MAX_VALUE ? remaining : Math.max(0, remaining - pending);
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(it) >= 0;
+    }
+
+    /**
+     * Skips the elements still to be skipped, if any.
+     */
+    private void skip() {
+        if (pending > 0) {
+            AdvancingIterator.advance(it, pending);
+            pending = 0;
+        }
+    }
+}
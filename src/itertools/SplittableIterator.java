@@ -0,0 +1,21 @@
+package itertools;
+
+/**
+ * A double ended iterator whose remaining elements can be divided between two iterators, so that
+ * each part can be consumed independently (for example, on different threads).
+ *
+ * @param <T> The type of elements returned by the iterator.
+ */
+public interface SplittableIterator<T> extends DoubleEndedIterator<T> {
+    /**
+     * Attempts to split off a front portion of the remaining elements.
+     *
+     * <p>If successful, returns a new iterator over a prefix of the remaining elements, and this
+     * iterator is left with only the elements after that prefix. Ideally each part holds about
+     * half of the elements.
+     *
+     * @return An iterator over a prefix of the remaining elements, or `null` if this iterator
+     *     cannot be split.
+     */
+    SplittableIterator<T> trySplit();
+}
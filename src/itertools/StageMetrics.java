@@ -0,0 +1,130 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one pipeline stage: how often its {@code hasNext} and {@code next} were
+ * called, how long each took, and how many elements it pulled from upstream and emitted
+ * downstream.
+ *
+ * <p>Every counter is a {@link LongAdder} and the latency histogram is an array of atomic
+ * counters, one per power of two of nanoseconds, so any number of threads can record at once
+ * without locking. Times are inclusive: a stage's {@code next} includes the time spent in the
+ * stages upstream of it. Time spent in {@code hasNext} is totalled separately, since stages such
+ * as {@link Filter} do their searching there and hand the element over in a cheap {@code next};
+ * the histogram covers {@code next} only.
+ *
+ * <p>Obtained from {@link Instrumentation#stage}.
+ */
+public class StageMetrics {
+    // Bucket i counts calls taking [2^(i-1), 2^i) nanoseconds; bucket 0 counts calls under 1ns.
+    static final int BUCKETS = 64;
+
+    private final String name;
+    private final LongAdder hasNextCalls = new LongAdder();
+    private final LongAdder nextCalls = new LongAdder();
+    private final LongAdder pulled = new LongAdder();
+    private final LongAdder emitted = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder hasNextNanos = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Constructs empty metrics for the named stage.
+     *
+     * @param name the name of the stage
+     */
+    StageMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the name of the stage.
+     *
+     * @return the name of the stage
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a call to {@code hasNext} that began at the given time.
+     *
+     * @param startNanos the value of {@link System#nanoTime} when the call began
+     */
+    public void recordHasNext(long startNanos) {
+        hasNextCalls.increment();
+        hasNextNanos.add(Math.max(0, System.nanoTime() - startNanos));
+    }
+
+    /**
+     * Records a call to {@code next} that emitted one element, and began at the given time.
+     *
+     * @param startNanos the value of {@link System#nanoTime} when the call began
+     */
+    public void recordNext(long startNanos) {
+        long nanos = Math.max(0, System.nanoTime() - startNanos);
+        nextCalls.increment();
+        emitted.increment();
+        totalNanos.add(nanos);
+        histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+    }
+
+    /**
+     * Records elements pulled from upstream.
+     *
+     * @param n the number of elements pulled
+     */
+    public void recordPulled(long n) {
+        pulled.add(n);
+    }
+
+    /**
+     * Records elements emitted downstream other than by {@code next}, such as in a batch.
+     *
+     * @param n the number of elements emitted
+     */
+    public void recordEmitted(long n) {
+        emitted.add(n);
+    }
+
+    /**
+     * Returns a copy of the totals so far. Totals recorded while the copy is taken may or may not
+     * be included.
+     *
+     * @return a snapshot of the totals
+     */
+    public StageSnapshot snapshot() {
+        long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = histogram.get(i);
+        }
+        return new StageSnapshot(
+                name,
+                hasNextCalls.sum(),
+                nextCalls.sum(),
+                pulled.sum(),
+                emitted.sum(),
+                totalNanos.sum(),
+                hasNextNanos.sum(),
+                buckets);
+    }
+
+    /**
+     * Sets every total back to zero.
+     */
+    public void reset() {
+        hasNextCalls.reset();
+        nextCalls.reset();
+        pulled.reset();
+        emitted.reset();
+        totalNanos.reset();
+        hasNextNanos.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+/**
+ * An immutable copy of the totals of a {@link StageMetrics} at some moment.
+ */
+public final class StageSnapshot {
+    private final String name;
+    private final long hasNextCalls;
+    private final long nextCalls;
+    private final long pulled;
+    private final long emitted;
+    private final long totalNanos;
+    private final long hasNextNanos;
+    private final long[] histogram;
+
+    StageSnapshot(
+            String name,
+            long hasNextCalls,
+            long nextCalls,
+            long pulled,
+            long emitted,
+            long totalNanos,
+            long hasNextNanos,
+            long[] histogram) {
+        this.name = name;
+        this.hasNextCalls = hasNextCalls;
+        this.nextCalls = nextCalls;
+        this.pulled = pulled;
+        this.emitted = emitted;
+        this.totalNanos = totalNanos;
+        this.hasNextNanos = hasNextNanos;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Returns the name of the stage.
+     *
+     * @return the name of the stage
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of calls to {@code hasNext}.
+     *
+     * @return the number of calls to {@code hasNext}
+     */
+    public long getHasNextCalls() {
+        return hasNextCalls;
+    }
+
+    /**
+     * Returns the number of calls to {@code next}.
+     *
+     * @return the number of calls to {@code next}
+     */
+    public long getNextCalls() {
+        return nextCalls;
+    }
+
+    /**
+     * Returns the number of elements pulled from upstream.
+     *
+     * @return the number of elements pulled
+     */
+    public long getPulled() {
+        return pulled;
+    }
+
+    /**
+     * Returns the number of elements emitted downstream.
+     *
+     * @return the number of elements emitted
+     */
+    public long getEmitted() {
+        return emitted;
+    }
+
+    /**
+     * Returns the number of elements pulled but never emitted, such as those a filter rejected or
+     * a reduction folded away.
+     *
+     * @return the number of elements pulled but not emitted
+     */
+    public long getDiscarded() {
+        return Math.max(0, pulled - emitted);
+    }
+
+    /**
+     * Returns the fraction of pulled elements that were emitted, or 1 if none were pulled.
+     *
+     * @return the selectivity of the stage
+     */
+    public double getSelectivity() {
+        return pulled == 0 ? 1 : (double) emitted / pulled;
+    }
+
+    /**
+     * Returns the total time spent in {@code next}, in nanoseconds.
+     *
+     * @return the total time spent in {@code next}
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the total time spent in {@code hasNext}, in nanoseconds.
+     *
+     * @return the total time spent in {@code hasNext}
+     */
+    public long getHasNextNanos() {
+        return hasNextNanos;
+    }
+
+    /**
+     * Returns the mean time spent in {@code hasNext} and {@code next} per element emitted, in
+     * nanoseconds. Unlike {@link #getMeanNanos}, this counts the work of stages that look ahead
+     * in {@code hasNext}.
+     *
+     * @return the mean time per element emitted, or 0 if none were
+     */
+    public double getNanosPerElement() {
+        return emitted == 0 ? 0 : (double) (totalNanos + hasNextNanos) / emitted;
+    }
+
+    /**
+     * Returns the mean time of a call to {@code next}, in nanoseconds.
+     *
+     * @return the mean time of a call to {@code next}, or 0 if there were none
+     */
+    public double getMeanNanos() {
+        return nextCalls == 0 ? 0 : (double) totalNanos / nextCalls;
+    }
+
+    /**
+     * Returns an upper bound on the given percentile of the time of a call to {@code next}, in
+     * nanoseconds. The bound is the top of the power-of-two histogram bucket the percentile falls
+     * in, so it is within a factor of two.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return an upper bound on that percentile, or 0 if there were no calls
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : (i >= 63 ? Long.MAX_VALUE : (1L << i) - 1);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a copy of the latency histogram. Entry `i` counts the calls to {@code next} taking
+     * from 2^(i-1) up to 2^i nanoseconds; entry 0 counts those under a nanosecond.
+     *
+     * @return the latency histogram
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s: hasNext=%d next=%d pulled=%d emitted=%d selectivity=%.3f"
+                        + " mean=%.0fns perElement=%.0fns p50<=%dns p99<=%dns",
+                name,
+                hasNextCalls,
+                nextCalls,
+                pulled,
+                emitted,
+                getSelectivity(),
+                getMeanNanos(),
+                getNanosPerElement(),
+                getPercentileNanos(50),
+                getPercentileNanos(99));
+    }
+}
@@ -0,0 +1,188 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+
+/**
+ * A SubscriberIterator, which subscribes to a publisher and presents what it receives as a
+ * blocking iterator.
+ *
+ * <p>It never requests more elements than fit in its fixed-size buffer: the buffer's worth is
+ * requested up front, and more are requested in batches of half the buffer as the consumer frees
+ * up room. A slow consumer therefore holds the publisher back rather than letting the buffer grow.
+ *
+ * <p>An error from the publisher is rethrown from {@code hasNext} once the elements before it have
+ * been consumed. Closing the iterator cancels the subscription.
+ *
+ * @param <T> The type of elements received.
+ */
+public class SubscriberIterator<T> implements Flow.Subscriber<T>, Iterator<T>, AutoCloseable {
+    // Marks the end of the elements in the buffer
+    private static final Object END = new Object();
+
+    private final int capacity;
+    private final int batch;
+    // Received elements, then END or a Failure holding the publisher's error
+    private final BlockingQueue<Object> buffer;
+    private volatile Flow.Subscription subscription;
+    // Elements taken since more were last requested
+    private int taken;
+    // The element or signal at the head of the buffer, taken but not yet consumed
+    private Object head;
+
+    /**
+     * Constructs a SubscriberIterator with the given buffer size, which must then be subscribed to
+     * a publisher.
+     *
+     * @param capacity the largest number of elements to buffer
+     */
+    public SubscriberIterator(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.capacity = capacity;
+        this.batch = Math.max(1, capacity / 2);
+        // One extra slot, so the end or an error always fits behind a full buffer.
+        this.buffer = new ArrayBlockingQueue<>(capacity + 1);
+    }
+
+    /**
+     * Stores the subscription and requests a buffer's worth of elements.
+     *
+     * @param subscription the subscription
+     */
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(capacity);
+    }
+
+    /**
+     * Buffers an element.
+     *
+     * <p>A null element breaks the publisher's side of the contract, so it is buffered as an
+     * error, the subscription is cancelled, and a {@link NullPointerException} is thrown back to
+     * the publisher.
+     *
+     * @param item the element
+     * @throws NullPointerException if the element is null
+     */
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            NullPointerException e = new NullPointerException("publisher sent a null element");
+            onError(e);
+            throw e;
+        }
+        if (!buffer.offer(item)) {
+            // Only possible if the publisher ignores the demand it was given.
+            onError(new IllegalStateException("publisher sent more elements than requested"));
+        }
+    }
+
+    /**
+     * Buffers the error, to be rethrown once the elements before it have been consumed.
+     *
+     * @param throwable the error
+     */
+    @Override
+    public void onError(Throwable throwable) {
+        subscription.cancel();
+        buffer.offer(new Failure(throwable));
+    }
+
+    /**
+     * Marks the end of the elements.
+     */
+    @Override
+    public void onComplete() {
+        buffer.offer(END);
+    }
+
+    /**
+     * Returns true if there are more elements, waiting for the publisher to send one if need be.
+     *
+     * @return true if there are more elements
+     * @throws RuntimeException the publisher's error, wrapped if it is a checked exception
+     */
+    @Override
+    public boolean hasNext() {
+        if (head == null) {
+            try {
+                head = buffer.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for the publisher", e);
+            }
+        }
+        if (head instanceof Failure) {
+            ((Failure) head).rethrow();
+        }
+        return head != END;
+    }
+
+    /**
+     * Returns the next element, waiting for the publisher to send it if need be.
+     *
+     * @return the next element
+     * @throws NoSuchElementException if there are no more elements
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T next = (T) head;
+        head = null;
+        if (++taken == batch) {
+            taken = 0;
+            subscription.request(batch);
+        }
+        return next;
+    }
+
+    /**
+     * Cancels the subscription. Elements already buffered can still be consumed.
+     */
+    @Override
+    public void close() {
+        if (subscription != null) {
+            subscription.cancel();
+        }
+    }
+
+    /**
+     * The publisher's error, as buffered behind the elements before it. It is wrapped so that an
+     * element which happens to be a {@link Throwable} is never mistaken for an error.
+     */
+    private static final class Failure {
+        private final Throwable cause;
+
+        private Failure(Throwable cause) {
+            this.cause = cause;
+        }
+
+        /**
+         * Rethrows the stored error, wrapped if it is a checked exception.
+         */
+        private void rethrow() {
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
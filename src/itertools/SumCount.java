@@ -0,0 +1,77 @@
+//23832333 DharunSomalingam
+package itertools;
+
+/**
+ * An accumulator of the sum and count of ints. Both are kept as longs, so the sum cannot
+ * overflow before 2^32 values have been added, and the count cannot overflow in practice.
+ */
+public class SumCount implements IntReduction<SumCount> {
+    private long sum = 0;
+    private long count = 0;
+
+    /**
+     * Constructs an empty accumulator.
+     */
+    public SumCount() {}
+
+    /**
+     * Adds a value to the sum.
+     *
+     * @param value the value to add
+     */
+    @Override
+    public void add(int value) {
+        sum += value;
+        count++;
+    }
+
+    /**
+     * Adds the sum and count of another accumulator to this one.
+     *
+     * @param other the accumulator to merge in, which is left unchanged
+     * @return this accumulator
+     */
+    @Override
+    public SumCount merge(SumCount other) {
+        sum += other.sum;
+        count += other.count;
+        return this;
+    }
+
+    /**
+     * Returns the sum of the values.
+     *
+     * @return the sum
+     */
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the average of the values by integer division, rounding towards zero.
+     *
+     * @return the sum divided by the count
+     * @throws ArithmeticException if no values have been added
+     */
+    public long getAverage() {
+        return sum / count;
+    }
+
+    /**
+     * Returns the mean of the values.
+     *
+     * @return the mean, or NaN if no values have been added
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : (double) sum / count;
+    }
+}
@@ -0,0 +1,141 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A Tee that splits one source iterator into several independent iterators over the same
+ * elements, consuming the source only once.
+ *
+ * <p>Elements pulled from the source are held in a shared ring buffer until the slowest of the
+ * branches has passed them, so memory use is proportional to how far apart the branches are, not
+ * to the length of the source. The buffer never holds more than the given capacity: a branch that
+ * would need to pull a new element while the buffer is full throws {@link TeeOverflowException}
+ * instead.
+ *
+ * <p>The branches are not thread safe and should all be consumed from one thread.
+ *
+ * @param <T> The type of elements in the iterator.
+ */
+public class Tee<T> {
+    private final Iterator<T> source;
+    private final int capacity;
+    private final List<Iterator<T>> branches;
+    // Absolute position of the next element each branch will return
+    private final long[] positions;
+    private Object[] buffer;
+    // Absolute position of the oldest element still held, and of the next to pull from the source
+    private long head;
+    private long tail;
+
+    /**
+     * Constructs a Tee splitting the source into the given number of branches.
+     *
+     * @param source   the iterator to split
+     * @param n        the number of branches
+     * @param capacity the maximum number of elements held at once
+     */
+    public Tee(Iterator<T> source, int n, int capacity) {
+        if (n < 0 || capacity < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.source = source;
+        this.capacity = capacity;
+        this.positions = new long[n];
+        this.buffer = new Object[16];
+        this.branches = new ArrayList<Iterator<T>>(n);
+        for (int i = 0; i < n; i++) {
+            branches.add(new Branch(i));
+        }
+    }
+
+    /**
+     * Returns the branches of the tee, each of which iterates over every element of the source.
+     *
+     * @return the branches
+     */
+    public List<Iterator<T>> branches() {
+        return branches;
+    }
+
+    /**
+     * Returns the element at the given absolute position, pulling it from the source if no branch
+     * has asked for it yet.
+     *
+     * @param position the position of the element
+     * @return the element
+     * @throws TeeOverflowException if the element must be pulled but the buffer is full
+     */
+    @SuppressWarnings("unchecked")
+    private T get(long position) {
+        if (position == tail) {
+            if (tail - head >= capacity) {
+                throw new TeeOverflowException(capacity, tail - head);
+            }
+            if (tail - head == buffer.length) {
+                grow();
+            }
+            buffer[(int) (tail & (buffer.length - 1))] = source.next();
+            tail++;
+        }
+        return (T) buffer[(int) (position & (buffer.length - 1))];
+    }
+
+    /**
+     * Doubles the size of the buffer, moving each element to its masked position in the new one.
+     */
+    private void grow() {
+        Object[] grown = new Object[buffer.length << 1];
+        for (long i = head; i < tail; i++) {
+            grown[(int) (i & (grown.length - 1))] = buffer[(int) (i & (buffer.length - 1))];
+        }
+        buffer = grown;
+    }
+
+    /**
+     * Releases the elements that every branch has now passed.
+     */
+    private void release() {
+        long slowest = tail;
+        for (long position : positions) {
+            slowest = Math.min(slowest, position);
+        }
+        while (head < slowest) {
+            buffer[(int) (head & (buffer.length - 1))] = null;
+            head++;
+        }
+    }
+
+    /** One of the independent iterators over the elements of the source. */
+    private class Branch implements Iterator<T> {
+        private final int index;
+
+        Branch(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return positions[index] < tail || source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long position = positions[index];
+            T result = get(position);
+            positions[index]++;
+            // Only moving the oldest position can free anything.
+            if (position == head) {
+                release();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package itertools;
+
+/**
+ * Exception indicating that one iterator returned by {@link Itertools#tee} ran so far ahead of the
+ * slowest of the others that holding the elements in between would exceed the tee's capacity.
+ */
+public class TeeOverflowException extends RuntimeException {
+    private final int capacity;
+    private final long lag;
+
+    /**
+     * Constructs a TeeOverflowException for a branch that is the given number of elements ahead
+     * of the slowest branch.
+     *
+     * @param capacity the maximum number of elements the tee holds at once
+     * @param lag      the number of elements the slowest branch has yet to catch up on
+     */
+    public TeeOverflowException(int capacity, long lag) {
+        super("tee branch is " + lag + " elements ahead of the slowest branch, and the tee holds"
+                + " at most " + capacity);
+        this.capacity = capacity;
+        this.lag = lag;
+    }
+
+    /**
+     * Returns the maximum number of elements the tee holds at once.
+     *
+     * @return the capacity of the tee
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns how many elements the slowest branch was behind the branch that overflowed.
+     *
+     * @return the lag of the slowest branch
+     */
+    public long getLag() {
+        return lag;
+    }
+}
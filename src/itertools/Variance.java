@@ -0,0 +1,107 @@
+//23832333 DharunSomalingam
+package itertools;
+
+/**
+ * An accumulator of the mean and variance of a number of values, by Welford's algorithm.
+ *
+ * <p>Rather than a sum of squares, which loses precision to cancellation when the variance is
+ * small next to the mean, this keeps the running mean and the sum of squared differences from
+ * it, and merges two accumulators with Chan et al.'s pairwise update.
+ */
+public class Variance implements IntReduction<Variance>, DoubleReduction<Variance> {
+    private long count = 0;
+    private double mean = 0;
+    private double squares = 0;  // Sum of squared differences from the mean
+
+    /**
+     * Constructs an empty accumulator.
+     */
+    public Variance() {}
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value to add
+     */
+    @Override
+    public void add(int value) {
+        add((double) value);
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value the value to add
+     */
+    @Override
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squares += delta * (value - mean);
+    }
+
+    /**
+     * Adds every value added to another accumulator to this one.
+     *
+     * @param other the accumulator to merge in, which is left unchanged
+     * @return this accumulator
+     */
+    @Override
+    public Variance merge(Variance other) {
+        if (other.count == 0) {
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        squares += other.squares + delta * delta * ((double) count * other.count / total);
+        mean += delta * other.count / total;
+        count = total;
+        return this;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the values.
+     *
+     * @return the mean, or NaN if no values have been added
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Returns the population variance of the values.
+     *
+     * @return the variance, or NaN if no values have been added
+     */
+    public double getVariance() {
+        return count == 0 ? Double.NaN : squares / count;
+    }
+
+    /**
+     * Returns the sample variance of the values, with Bessel's correction.
+     *
+     * @return the sample variance, or NaN if fewer than two values have been added
+     */
+    public double getSampleVariance() {
+        return count < 2 ? Double.NaN : squares / (count - 1);
+    }
+
+    /**
+     * Returns the population standard deviation of the values.
+     *
+     * @return the standard deviation, or NaN if no values have been added
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+}
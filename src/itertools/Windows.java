@@ -0,0 +1,190 @@
+//23832333 DharunSomalingam
+
+package itertools;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A Windows iterator over every run of a fixed number of consecutive elements (a "sliding window")
+ * of another iterator.
+ *
+ * <p>Elements are held in a ring buffer of the window size, and each step pulls just one new
+ * element over the oldest. Every window is returned through the same read-only list view, which
+ * only shows the current window until the iterator is advanced, so no step allocates.
+ *
+ * <p>Windows can be taken from the back if the underlying iterator is double ended and knows its
+ * exact size (see {@link SizedIterator}). Each end then keeps its own ring, and once the ends have
+ * used up the underlying iterator between them, each takes the elements it still needs from the
+ * other's ring.
+ *
+ * @param <T> The type of elements in the windows.
+ */
+public class Windows<T> implements DoubleEndedIterator<List<T>>, SizedIterator<List<T>> {
+    // The given iterator
+    private final Iterator<T> it;
+    // The number of elements in each window
+    private final int size;
+    // The number of elements in the given iterator, or -1 if it is not known
+    private final long length;
+    // Rings holding the elements of the latest window from each end, by position modulo size
+    private final Object[] front;
+    private final Object[] back;
+    private final RingView<T> frontView;
+    private final RingView<T> backView;
+    // The number of windows returned from each end
+    private long frontCount;
+    private long backCount;
+    // Whether the front ring holds the first size - 1 elements, and whether there were that many
+    private boolean primed;
+    private boolean tooShort;
+
+    /**
+     * Constructs a Windows iterator over the windows of the given size.
+     *
+     * @param it   the underlying iterator
+     * @param size the number of elements in each window
+     */
+    public Windows(Iterator<T> it, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.it = it;
+        this.size = size;
+        this.length = SizedIterator.exactSizeOf(it);
+        this.front = new Object[size];
+        this.back = new Object[size];
+        this.frontView = new RingView<T>(front);
+        this.backView = new RingView<T>(back);
+    }
+
+    /**
+     * Returns true if there are more windows.
+     *
+     * @return true if there are more windows
+     */
+    @Override
+    public boolean hasNext() {
+        if (length >= 0) {
+            return frontCount + backCount < length - size + 1;
+        }
+        if (!primed) {
+            primeFront();
+        }
+        return !tooShort && it.hasNext();
+    }
+
+    /**
+     * Returns the next window from the front.
+     *
+     * @return a view of the next window, valid until this iterator is next advanced
+     * @throws NoSuchElementException if there are no more windows
+     */
+    @Override
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (!primed) {
+            primeFront();
+        }
+        long position = frontCount + size - 1;
+        front[(int) (position % size)] = frontElement(position);
+        int start = (int) (frontCount % size);
+        frontCount++;
+        return frontView.show(start, size);
+    }
+
+    /**
+     * Returns the next window from the back.
+     *
+     * @return a view of the next window from the back, valid until this iterator is next advanced
+     * @throws NoSuchElementException if there are no more windows
+     * @throws UnsupportedOperationException if the underlying iterator is not double ended or does
+     *     not know its size
+     */
+    @Override
+    public List<T> reverseNext() {
+        if (length < 0 || !(it instanceof DoubleEndedIterator)) {
+            throw new UnsupportedOperationException(
+                    "windows from the back require a double ended iterator of known size");
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        long end = length - 1 - backCount;
+        if (backCount == 0) {
+            for (long position = end; position > end - size + 1; position--) {
+                back[(int) (position % size)] = backElement(position);
+            }
+        }
+        long position = end - size + 1;
+        back[(int) (position % size)] = backElement(position);
+        backCount++;
+        return backView.show((int) (position % size), size);
+    }
+
+    /**
+     * Returns the number of windows left if the underlying iterator knows its size, otherwise its
+     * size estimate.
+     *
+     * @return an upper bound on the number of windows remaining
+     */
+    @Override
+    public long estimateSize() {
+        if (length >= 0) {
+            return Math.max(0, length - size + 1 - frontCount - backCount);
+        }
+        return SizedIterator.estimateSizeOf(it);
+    }
+
+    /**
+     * Returns true if the underlying iterator knows its exact size.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return length >= 0;
+    }
+
+    /**
+     * Loads all but the last element of the first window into the front ring.
+     */
+    private void primeFront() {
+        primed = true;
+        for (long position = 0; position < size - 1; position++) {
+            if (length < 0 && !it.hasNext()) {
+                tooShort = true;
+                return;
+            }
+            front[(int) (position % size)] = frontElement(position);
+        }
+    }
+
+    /**
+     * Returns the element at the given position for the front ring, from the underlying iterator
+     * or, once that is used up, from the back ring.
+     *
+     * @param position the position of the element
+     * @return the element
+     */
+    private Object frontElement(long position) {
+        return it.hasNext() ? it.next() : back[(int) (position % size)];
+    }
+
+    /**
+     * Returns the element at the given position for the back ring, from the back of the underlying
+     * iterator or, once that is used up, from the front ring.
+     *
+     * @param position the position of the element
+     * @return the element
+     */
+    private Object backElement(long position) {
+        if (it.hasNext()) {
+            return ((DoubleEndedIterator<?>) it).reverseNext();
+        }
+        return front[(int) (position % size)];
+    }
+}
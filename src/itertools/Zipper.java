@@ -1,5 +1,6 @@
 package itertools;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.function.BiFunction;
 import java.util.NoSuchElementException;
@@ -11,10 +12,16 @@ import java.util.NoSuchElementException;
  * @param <U> the type of elements in the second iterator
  * @param <R> the type of result elements
  */
-public class Zipper<T, U, R> implements Iterator<R>, BiFunction<T, U, R> {
+public class Zipper<T, U, R>
+        implements BatchIterator<R>, SizedIterator<R>, AdvancingIterator<R>, BiFunction<T, U, R> {
     private final Iterator<T> iteratorT; // Iterator for the first collection
     private final Iterator<U> iteratorU; // Iterator for the second collection
     private final BiFunction<T, U, R> function; // Function to apply to elements
+    private Object[] scratchT; // Reused buffer for batches from the first iterator
+    private Object[] scratchU; // Reused buffer for batches from the second iterator
+    // Where calls are recorded when instrumentation is enabled (see Instrumentation)
+    private final StageMetrics metrics =
+            Instrumentation.ENABLED ? Instrumentation.scoped("Zipper") : null;
 
     /**
      * Constructs a Zipper iterator that iterates over two collections and applies a function to their elements.
@@ -48,6 +55,12 @@ public class Zipper<T, U, R> implements Iterator<R>, BiFunction<T, U, R> {
      */
     @Override
     public boolean hasNext() {
+        if (Instrumentation.ENABLED) {
+            long start = System.nanoTime();
+            boolean more = iteratorT.hasNext() && iteratorU.hasNext();
+            metrics.recordHasNext(start);
+            return more;
+        }
         return iteratorT.hasNext() && iteratorU.hasNext();
     }
 
@@ -58,12 +71,102 @@ public class Zipper<T, U, R> implements Iterator<R>, BiFunction<T, U, R> {
      */
     @Override
     public R next() {
-        if (hasNext()) {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        if (iteratorT.hasNext() && iteratorU.hasNext()) {
             T nextT = iteratorT.next();
             U nextU = iteratorU.next();
-            return apply(nextT, nextU);
+            R result = apply(nextT, nextU);
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(1);
+                metrics.recordNext(start);
+            }
+            return result;
         } else {
             throw new NoSuchElementException();
         }
     }
+
+    /**
+     * Copies up to `max` combined elements into the buffer, pulling a batch from each iterator.
+     *
+     * <p>No element is pulled that cannot be paired. When one iterator knows its exact size, the
+     * other is filled first and that one is asked for exactly as many elements as the other
+     * produced; when neither does, the pairs are pulled one at a time.
+     *
+     * @param buf the buffer to copy elements into
+     * @param off the index in `buf` of the first element copied
+     * @param max the maximum number of elements to copy
+     * @return the number of elements copied
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int nextBatch(Object[] buf, int off, int max) {
+        long sizeT = SizedIterator.exactSizeOf(iteratorT);
+        long sizeU = SizedIterator.exactSizeOf(iteratorU);
+        if (sizeT < 0 && sizeU < 0) {
+            int n = 0;
+            while (n < max && iteratorT.hasNext() && iteratorU.hasNext()) {
+                buf[off + n++] = apply(iteratorT.next(), iteratorU.next());
+            }
+            if (Instrumentation.ENABLED) {
+                metrics.recordPulled(n);
+                metrics.recordEmitted(n);
+            }
+            return n;
+        }
+        if (scratchT == null || scratchT.length < max) {
+            scratchT = new Object[max];
+            scratchU = new Object[max];
+        }
+        int n;
+        if (sizeT >= 0) {
+            // The first iterator can always match whatever the second produces.
+            n = BatchIterator.fill(iteratorU, scratchU, 0, (int) Math.min(max, sizeT));
+            BatchIterator.fill(iteratorT, scratchT, 0, n);
+        } else {
+            n = BatchIterator.fill(iteratorT, scratchT, 0, (int) Math.min(max, sizeU));
+            BatchIterator.fill(iteratorU, scratchU, 0, n);
+        }
+        for (int i = 0; i < n; i++) {
+            buf[off + i] = apply((T) scratchT[i], (U) scratchU[i]);
+        }
+        Arrays.fill(scratchT, 0, n, null);
+        Arrays.fill(scratchU, 0, n, null);
+        if (Instrumentation.ENABLED) {
+            metrics.recordPulled(n);
+            metrics.recordEmitted(n);
+        }
+        return n;
+    }
+
+    /**
+     * Returns the smaller of the size estimates of the two iterators.
+     *
+     * @return an upper bound on the number of elements remaining
+     */
+    @Override
+    public long estimateSize() {
+        return Math.min(SizedIterator.estimateSizeOf(iteratorT), SizedIterator.estimateSizeOf(iteratorU));
+    }
+
+    /**
+     * Returns true if both iterators know their exact sizes.
+     *
+     * @return true if the size estimate is exact
+     */
+    @Override
+    public boolean hasExactSize() {
+        return SizedIterator.exactSizeOf(iteratorT) >= 0 && SizedIterator.exactSizeOf(iteratorU) >= 0;
+    }
+
+    /**
+     * Skips over the next `n` pairs of elements without applying the function to them.
+     *
+     * @param n the number of elements to skip
+     * @return the number of elements actually skipped
+     */
+    @Override
+    public int advanceBy(int n) {
+        return AdvancingIterator.advance(iteratorU, AdvancingIterator.advance(iteratorT, n));
+    }
 }
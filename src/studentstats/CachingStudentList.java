@@ -0,0 +1,278 @@
+//23832333 DharunSomalingam
+package studentstats;
+
+import studentapi.*;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link StudentList} that caches the pages of another, so that pages fetched once are not
+ * fetched again by later iterators, by the other end of the same iterator, or by other threads.
+ *
+ * <p>The cache holds up to a given capacity, measured in pages or by any other weight of a page
+ * such as {@link #estimatedBytes}, and evicts the least recently used pages beyond it. Pages can
+ * also be given a time to live, after which they are fetched again. A page missing from the cache
+ * is fetched by one thread only: other threads asking for it at the same time wait for that fetch
+ * rather than making their own. Failed fetches are not cached.
+ *
+ * <p>This is safe to share between threads, as long as the underlying list is.
+ */
+public class CachingStudentList implements StudentList {
+    private final StudentList list;
+    private final long capacity;
+    private final ToLongFunction<Student[]> weigher;
+    private final long ttlNanos;  // Time to live of a page, or 0 for no limit
+
+    private final Object lock = new Object();
+    // Cached pages from least to most recently used, guarded by `lock`
+    private final LinkedHashMap<Integer, Entry> pages = new LinkedHashMap<>(16, 0.75f, true);
+    // Fetches in progress, guarded by `lock`
+    private final Map<Integer, CompletableFuture<Student[]>> loading = new HashMap<>();
+    private long weight = 0;  // Total weight of the cached pages, guarded by `lock`
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /** A cached page with its weight and the time it was fetched. */
+    private static class Entry {
+        final Student[] page;
+        final long weight;
+        final long fetchedAt;
+
+        Entry(Student[] page, long weight, long fetchedAt) {
+            this.page = page;
+            this.weight = weight;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    /**
+     * Constructs a cache holding up to the given number of pages of a list, with no time to live.
+     *
+     * @param list The student list to cache pages of.
+     * @param maxPages The largest number of pages to hold.
+     * @throws IllegalArgumentException If `maxPages` is negative.
+     */
+    public CachingStudentList(StudentList list, int maxPages) {
+        this(list, maxPages, page -> 1, null);
+    }
+
+    /**
+     * Constructs a cache holding pages of a list up to a total weight.
+     *
+     * @param list The student list to cache pages of.
+     * @param capacity The largest total weight of pages to hold.
+     * @param weigher Gives the weight of a page, such as 1 or {@link #estimatedBytes}.
+     * @param ttl How long a page may be served from the cache after it is fetched, or null or zero
+     *     for no limit.
+     * @throws IllegalArgumentException If `capacity` or `ttl` is negative.
+     */
+    public CachingStudentList(
+            StudentList list, long capacity, ToLongFunction<Student[]> weigher, Duration ttl) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("negative capacity: " + capacity);
+        }
+        if (ttl != null && ttl.isNegative()) {
+            throw new IllegalArgumentException("negative time to live: " + ttl);
+        }
+        this.list = list;
+        this.capacity = capacity;
+        this.weigher = weigher;
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+    }
+
+    /**
+     * Returns a rough estimate of the bytes of memory held by a page, for use as a weigher.
+     *
+     * @param page The page.
+     * @return The estimated size of the page and its students in bytes.
+     */
+    public static long estimatedBytes(Student[] page) {
+        long bytes = 16 + 4L * page.length;  // Array header and references
+        for (Student student : page) {
+            // Student and ID string headers, plus the ID's characters
+            bytes += 64 + student.getId().length();
+        }
+        return bytes;
+    }
+
+    @Override
+    public int getNumStudents() {
+        return list.getNumStudents();
+    }
+
+    @Override
+    public int getNumPages() {
+        return list.getNumPages();
+    }
+
+    @Override
+    public int getPageSize() {
+        return list.getPageSize();
+    }
+
+    /**
+     * Returns a page from the cache, or fetches it from the underlying list if it is not cached.
+     *
+     * @param pageNum The page number.
+     * @return A copy of the page, so that callers cannot change the cached one.
+     * @throws QueryTimedOutException If the page is not cached and fetching it timed out.
+     */
+    @Override
+    public Student[] getPage(int pageNum) throws QueryTimedOutException {
+        CompletableFuture<Student[]> load;
+        boolean fetching = false;
+        synchronized (lock) {
+            Entry entry = pages.get(pageNum);
+            if (entry != null && !expired(entry)) {
+                hits.increment();
+                return entry.page.clone();
+            }
+            if (entry != null) {
+                pages.remove(pageNum);
+                weight -= entry.weight;
+            }
+            misses.increment();
+            load = loading.get(pageNum);
+            if (load == null) {
+                load = new CompletableFuture<>();
+                loading.put(pageNum, load);
+                fetching = true;
+            }
+        }
+        return fetching ? fetch(pageNum, load) : await(load);
+    }
+
+    /**
+     * Returns the number of calls to {@link #getPage} answered from the cache.
+     *
+     * @return The number of hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of calls to {@link #getPage} not answered from the cache, including
+     * those that waited for another thread's fetch of the same page.
+     *
+     * @return The number of misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of pages evicted to stay within the capacity. Pages dropped because
+     * their time to live ran out are not counted.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of pages in the cache.
+     *
+     * @return The number of cached pages.
+     */
+    public int size() {
+        synchronized (lock) {
+            return pages.size();
+        }
+    }
+
+    /**
+     * Returns the total weight of the pages in the cache.
+     *
+     * @return The cached weight, at most the capacity.
+     */
+    public long getWeight() {
+        synchronized (lock) {
+            return weight;
+        }
+    }
+
+    /**
+     * Drops every page from the cache, so that each is fetched again when next asked for.
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            pages.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * Fetches a page from the underlying list, caches it and completes `load` with it, so that
+     * other threads waiting for the same page get it too.
+     */
+    private Student[] fetch(int pageNum, CompletableFuture<Student[]> load)
+            throws QueryTimedOutException {
+        Student[] page;
+        try {
+            page = list.getPage(pageNum);
+        } catch (Throwable e) {
+            synchronized (lock) {
+                loading.remove(pageNum);
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+        Student[] copy = page.clone();
+        synchronized (lock) {
+            loading.remove(pageNum);
+            insert(pageNum, new Entry(copy, weigher.applyAsLong(copy), System.nanoTime()));
+        }
+        load.complete(copy);
+        return page;
+    }
+
+    /**
+     * Waits for another thread's fetch of a page, failing in the same way if it fails.
+     */
+    private static Student[] await(CompletableFuture<Student[]> load)
+            throws QueryTimedOutException {
+        try {
+            return load.join().clone();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof QueryTimedOutException) throw (QueryTimedOutException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a page to the cache, then evicts the least recently used pages until the cache is
+     * within its capacity. A page heavier than the whole capacity is evicted straight away.
+     */
+    private void insert(int pageNum, Entry entry) {
+        Entry old = pages.put(pageNum, entry);
+        if (old != null) {
+            weight -= old.weight;
+        }
+        weight += entry.weight;
+        Iterator<Entry> eldest = pages.values().iterator();
+        while (weight > capacity && eldest.hasNext()) {
+            weight -= eldest.next().weight;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private boolean expired(Entry entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.fetchedAt >= ttlNanos;
+    }
+}
@@ -0,0 +1,221 @@
+//23832333 DharunSomalingam
+package studentstats;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The distribution of the marks in a unit, as built by {@link StudentStats#unitDistribution}.
+ *
+ * <p>Marks within a fixed range (0 to 100 unless told otherwise) are counted exactly in a
+ * primitive array, one slot per mark, so percentiles and histograms are exact and need no
+ * sorting. If a mark outside the range is added, the counts move into a {@link QuantileSketch}
+ * and percentiles become estimates within 1% of a mark actually added. The count, mean, minimum
+ * and maximum are always exact.
+ *
+ * <p>Distributions built from separate parts of a list can be combined with {@link #merge}.
+ */
+public class MarkDistribution {
+    private final int lowest;       // Smallest mark with a slot in the counting array
+    private long[] counts;          // Count of each mark from `lowest`, or null once sketched
+    private QuantileSketch sketch;  // Sketch of every mark, or null while counting exactly
+    private long count = 0;
+    private long total = 0;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    /**
+     * Constructs an empty distribution counting marks from 0 to 100 exactly.
+     */
+    public MarkDistribution() {
+        this(0, 100);
+    }
+
+    /**
+     * Constructs an empty distribution counting marks in the given range exactly.
+     *
+     * @param lowest The smallest mark to count exactly.
+     * @param highest The largest mark to count exactly.
+     * @throws IllegalArgumentException If `highest` is less than `lowest`.
+     */
+    public MarkDistribution(int lowest, int highest) {
+        if (highest < lowest) {
+            throw new IllegalArgumentException("empty range: " + lowest + " to " + highest);
+        }
+        this.lowest = lowest;
+        this.counts = new long[highest - lowest + 1];
+    }
+
+    /**
+     * Adds a mark to the distribution.
+     *
+     * @param mark The mark.
+     */
+    public void add(int mark) {
+        long slot = (long) mark - lowest;
+        if (counts != null && slot >= 0 && slot < counts.length) {
+            counts[(int) slot]++;
+        } else {
+            sketched().add(mark, 1);
+        }
+        count++;
+        total += mark;
+        min = Math.min(min, mark);
+        max = Math.max(max, mark);
+    }
+
+    /**
+     * Adds every mark of another distribution to this one.
+     *
+     * @param other The distribution to merge in, which is left unchanged.
+     * @return This distribution.
+     */
+    public MarkDistribution merge(MarkDistribution other) {
+        if (counts != null
+                && other.counts != null
+                && lowest == other.lowest
+                && counts.length == other.counts.length) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+        } else if (other.counts != null) {
+            QuantileSketch into = sketched();
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] > 0) {
+                    into.add(other.lowest + i, other.counts[i]);
+                }
+            }
+        } else {
+            sketched().merge(other.sketch);
+        }
+        count += other.count;
+        total += other.total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Returns the number of marks.
+     *
+     * @return The number of marks.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the marks.
+     *
+     * @return The mean mark, or NaN if there are none.
+     */
+    public double mean() {
+        return count == 0 ? Double.NaN : (double) total / count;
+    }
+
+    /**
+     * Returns the lowest mark.
+     *
+     * @return The lowest mark.
+     * @throws NoSuchElementException If there are no marks.
+     */
+    public int min() {
+        requireMarks();
+        return min;
+    }
+
+    /**
+     * Returns the highest mark.
+     *
+     * @return The highest mark.
+     * @throws NoSuchElementException If there are no marks.
+     */
+    public int max() {
+        requireMarks();
+        return max;
+    }
+
+    /**
+     * Returns the given percentile of the marks, by the nearest-rank method: the lowest mark at
+     * least `p` percent of the marks are less than or equal to.
+     *
+     * @param p The percentile, from 0 to 100.
+     * @return The mark at that percentile, exact unless {@link #isExact} is false.
+     * @throws IllegalArgumentException If `p` is not between 0 and 100.
+     * @throws NoSuchElementException If there are no marks.
+     */
+    public int percentile(double p) {
+        if (!(p >= 0 && p <= 100)) {
+            throw new IllegalArgumentException("percentile out of range: " + p);
+        }
+        requireMarks();
+        // Multiply before dividing: p / 100 is rarely exact, and the rounding error can push a
+        // whole rank (28 / 100 * 25 is just over 7) up to the next one.
+        long rank = Math.max(1, (long) Math.ceil(p * count / 100.0));
+        if (counts == null) {
+            // The extremes are known exactly, even when the marks around them are sketched
+            if (rank == 1) return min;
+            if (rank == count) return max;
+            long estimate = Math.round(sketch.valueAt(rank));
+            return (int) Math.max(min, Math.min(max, estimate));
+        }
+        for (int i = 0; ; i++) {
+            rank -= counts[i];
+            if (rank <= 0) return lowest + i;
+        }
+    }
+
+    /**
+     * Returns the median of the marks, the lower of the middle two if there is an even number.
+     *
+     * @return The median mark.
+     * @throws NoSuchElementException If there are no marks.
+     */
+    public int median() {
+        return percentile(50);
+    }
+
+    /**
+     * Returns true if every mark is counted exactly, so that percentiles and the histogram are
+     * exact.
+     *
+     * @return True if no mark has fallen outside the counting range.
+     */
+    public boolean isExact() {
+        return counts != null;
+    }
+
+    /**
+     * Returns the number of times each mark in the counting range occurs.
+     *
+     * @return A new array whose element `i` is the count of the mark `lowest + i`.
+     * @throws IllegalStateException If a mark has fallen outside the counting range.
+     */
+    public long[] histogram() {
+        if (counts == null) {
+            throw new IllegalStateException("histogram requires every mark to be in range");
+        }
+        return counts.clone();
+    }
+
+    /**
+     * Returns the sketch, moving the exact counts into a new one first if need be.
+     */
+    private QuantileSketch sketched() {
+        if (sketch == null) {
+            sketch = new QuantileSketch();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    sketch.add(lowest + i, counts[i]);
+                }
+            }
+            counts = null;
+        }
+        return sketch;
+    }
+
+    private void requireMarks() {
+        if (count == 0) {
+            throw new NoSuchElementException("no marks");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+//23832333 DharunSomalingam
+package studentstats;
+
+import itertools.IntGroupTable;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable sketch of a distribution of integers over an unbounded range, used by {@link
+ * MarkDistribution} once a value falls outside its counting array.
+ *
+ * <p>Values are counted in buckets whose width grows geometrically with their magnitude, so
+ * every percentile is within {@link #RELATIVE_ACCURACY} of a value actually added, and the number
+ * of buckets grows only with the logarithm of the range. Buckets for positive and negative values
+ * are kept in {@link IntGroupTable}s keyed by bucket index.
+ */
+class QuantileSketch {
+    static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private final IntGroupTable positive = new IntGroupTable();
+    private final IntGroupTable negative = new IntGroupTable();
+    private long zeros = 0;
+
+    /** Adds `count` copies of a value. */
+    public void add(long value, long count) {
+        if (value > 0) {
+            positive.add(bucket(value), count, Long::sum);
+        } else if (value < 0) {
+            negative.add(bucket(-value), count, Long::sum);
+        } else {
+            zeros += count;
+        }
+    }
+
+    /** Adds every value counted by another sketch. */
+    public void merge(QuantileSketch other) {
+        positive.merge(other.positive, Long::sum);
+        negative.merge(other.negative, Long::sum);
+        zeros += other.zeros;
+    }
+
+    /** Returns an estimate of the value with the given 1-based rank, from the lowest value. */
+    public double valueAt(long rank) {
+        int[] negatives = sortedBuckets(negative);
+        for (int i = negatives.length - 1; i >= 0; i--) {
+            rank -= negative.get(negatives[i], 0);
+            if (rank <= 0) return -estimate(negatives[i]);
+        }
+        rank -= zeros;
+        if (rank <= 0) return 0;
+        int[] positives = sortedBuckets(positive);
+        for (int i = 0; i < positives.length; i++) {
+            rank -= positive.get(positives[i], 0);
+            if (rank <= 0) return estimate(positives[i]);
+        }
+        throw new IllegalArgumentException("rank beyond the number of values");
+    }
+
+    /** Returns the index of the bucket holding a positive value. */
+    private static int bucket(long value) {
+        return (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+    }
+
+    /** Returns the value within {@link #RELATIVE_ACCURACY} of everything in a bucket. */
+    private static double estimate(int bucket) {
+        return 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+    }
+
+    /** Returns the indices of the nonempty buckets of a table, in ascending order. */
+    private static int[] sortedBuckets(IntGroupTable table) {
+        int[] buckets = new int[table.size()];
+        int[] next = {0};
+        table.forEach((bucket, count) -> buckets[next[0]++] = bucket);
+        Arrays.sort(buckets);
+        return buckets;
+    }
+}
@@ -1,8 +1,20 @@
 //23832333 DharunSomalingam
 package studentstats;
 
-import itertools.DoubleEndedIterator;
+import itertools.DoubleEndedBatchIterator;
+import itertools.SeekableIterator;
+import itertools.SizedIterator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import studentapi.*;
 
 /**
@@ -10,8 +22,36 @@ import studentapi.*;
  *
  * <p>This does not load the whole student list immediately, but rather queries the API ({@link
  * StudentList#getPage}) only as needed.
+ *
+ * <p>With a parallelism above 1, pages are read ahead of each end in the direction it is moving,
+ * up to that many at once, and handed out in order as each end reaches them. Each page is
+ * retried on its own, and no page is fetched beyond where the two ends meet. The list must then
+ * be safe to query from several threads at once.
+ *
+ * <p>A page fetched ahead that is no longer needed, say after a seek, is cancelled. If its fetch
+ * is already running it still counts towards the parallelism until it finishes, and if it fails,
+ * its exception is rethrown when the next page is taken rather than being lost.
+ *
+ * <p>Reading ahead adapts to each end: once half of an end's current page has been used, the
+ * next pages start being fetched, as many as it takes to cover the time a fetch takes at the
+ * rate that end uses pages, both measured as moving averages.
  */
-public class StudentListIterator implements DoubleEndedIterator<Student> {
+public class StudentListIterator
+        implements DoubleEndedBatchIterator<Student>,
+                SizedIterator<Student>,
+                SeekableIterator<String, Student> {
+    static final int DEFAULT_RETRIES = 3;      // Number of attempts per page unless told otherwise
+
+    // Threads fetching pages ahead when no executor is given. Java 17 has no virtual threads, so
+    // these are daemon platform threads, cached between iterators.
+    private static final ExecutorService FETCH_POOL =
+            Executors.newCachedThreadPool(
+                    task -> {
+                        Thread thread = new Thread(task, "studentlist-fetch");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
     private final StudentList list;            // Reference to the student list API
     private final int retries;                 // Number of retry attempts for API calls
     private int currentPage;         // Current page index for forward iteration
@@ -23,6 +63,121 @@ public class StudentListIterator implements DoubleEndedIterator<Student> {
     private Student[] currentPageStudents; // Array holding students of the current page for forward iteration
     private Student[] reversePageStudents; // Array holding students of the current page for reverse iteration
     private int finder;              // Position of the next student to fetch
+    private int forwardOffset;       // Position within the next forward page to start from, after a skip
+    private int reverseOffset;       // Number of students to skip at the end of the next reverse page, after a skip
+
+    private final int parallelism;   // Largest number of pages to fetch at once
+    private final Executor executor; // Runs page fetches when parallelism is above 1
+    // Pages being fetched ahead of either end, by page number
+    private final Map<Integer, Fetch> inFlight = new HashMap<>();
+    // Fetches dropped from inFlight that are still running
+    private final AtomicInteger abandoned = new AtomicInteger();
+    // The first exception thrown by a dropped fetch, until it is rethrown
+    private final AtomicReference<RuntimeException> abandonedFailure = new AtomicReference<>();
+    private final Readahead forward = new Readahead();  // Readahead state for forward iteration
+    private final Readahead reverse = new Readahead();  // Readahead state for reverse iteration
+
+    /** A page fetched ahead, with how long it took to fetch. */
+    private static class FetchedPage {
+        final Student[] students;
+        final long nanos;
+
+        FetchedPage(Student[] students, long nanos) {
+            this.students = students;
+            this.nanos = nanos;
+        }
+    }
+
+    /** A page being fetched with the executor, which may be dropped before it is taken. */
+    private final class Fetch implements Runnable {
+        private static final int RUNNING = 0;   // Queued or running
+        private static final int FINISHED = 1;
+        private static final int DROPPED = 2;   // Dropped while still queued or running
+
+        final int page;
+        final CompletableFuture<FetchedPage> future = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(RUNNING);
+
+        Fetch(int page) {
+            this.page = page;
+        }
+
+        /** Fetches the page, unless it was cancelled before it started. */
+        @Override
+        public void run() {
+            RuntimeException failure = null;
+            try {
+                if (!future.isCancelled()) {
+                    long start = System.nanoTime();
+                    Student[] students = fetchPage(list, page, retries);
+                    future.complete(new FetchedPage(students, System.nanoTime() - start));
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+                future.completeExceptionally(e);
+            } catch (Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                if (state.getAndSet(FINISHED) == DROPPED) {
+                    abandoned.decrementAndGet();
+                    if (failure != null) {
+                        abandonedFailure.compareAndSet(null, failure);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Cancels the fetch because its page is no longer needed. Until a fetch already running
+         * finishes, it is counted in {@link #abandoned}.
+         */
+        void drop() {
+            abandoned.incrementAndGet();
+            if (!state.compareAndSet(RUNNING, DROPPED)) {
+                abandoned.decrementAndGet();
+                if (future.isCompletedExceptionally()) {
+                    try {
+                        future.join();
+                    } catch (CompletionException e) {
+                        if (e.getCause() instanceof RuntimeException) {
+                            abandonedFailure.compareAndSet(null, (RuntimeException) e.getCause());
+                        }
+                    }
+                }
+            }
+            future.cancel(false);
+        }
+    }
+
+    /** How far ahead one end of the iterator reads, from how fast pages arrive and are used. */
+    private static class Readahead {
+        private long latency;      // Moving average of the time to fetch a page, in nanoseconds
+        private long consumption;  // Moving average of the time spent on each page, in nanoseconds
+        private long lastTaken;    // When this end last took a page, or 0 before the first
+        int depth = 1;             // Number of pages to fetch ahead of the current one
+        boolean triggered;         // Whether the current page is half used and readahead started
+
+        /**
+         * Records the taking of a page that took `fetchNanos` to fetch, where the end had been
+         * using the previous page until `started`, and sets the depth to cover the fetch time.
+         */
+        void taken(long started, long fetchNanos, int maxDepth) {
+            latency = average(latency, fetchNanos);
+            if (lastTaken != 0) {
+                consumption = average(consumption, started - lastTaken);
+            }
+            lastTaken = System.nanoTime();
+            if (consumption > 0) {
+                long pages = (latency + consumption - 1) / consumption;
+                depth = (int) Math.max(1, Math.min(maxDepth, pages));
+            }
+        }
+
+        private static long average(long average, long sample) {
+            return average == 0 ? Math.max(sample, 1) : average + (sample - average) / 4;
+        }
+    }
 
     /**
      * Constructs a StudentListIterator with a specified number of retries for API calls.
@@ -31,10 +186,45 @@ public class StudentListIterator implements DoubleEndedIterator<Student> {
      * @param retries the number of retries for API calls
      */
     public StudentListIterator(StudentList list, int retries) {
+        this(list, retries, 1, Runnable::run);
+    }
+
+    /**
+     * Constructs a StudentListIterator fetching up to `parallelism` pages at once on a shared pool
+     * of daemon threads.
+     *
+     * @param list the StudentList instance to iterate over, which must be safe to query from
+     *     several threads at once if `parallelism` is above 1
+     * @param retries the number of retries for API calls, for each page
+     * @param parallelism the largest number of pages to fetch at once
+     * @throws IllegalArgumentException if `parallelism` is less than 1
+     */
+    public StudentListIterator(StudentList list, int retries, int parallelism) {
+        this(list, retries, parallelism, FETCH_POOL);
+    }
+
+    /**
+     * Constructs a StudentListIterator fetching up to `parallelism` pages at once with the given
+     * executor.
+     *
+     * @param list the StudentList instance to iterate over, which must be safe to query from
+     *     several threads at once if `parallelism` is above 1
+     * @param retries the number of retries for API calls, for each page
+     * @param parallelism the largest number of pages to fetch at once
+     * @param executor the executor to fetch pages with
+     * @throws IllegalArgumentException if `parallelism` is less than 1
+     */
+    public StudentListIterator(
+            StudentList list, int retries, int parallelism, Executor executor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        }
         this.list = list;
         this.retries = retries;
         this.totalPages = list.getNumPages();
         this.currentReversePage = totalPages - 1;
+        this.parallelism = parallelism;
+        this.executor = executor;
     }
 
     /**
@@ -43,7 +233,7 @@ public class StudentListIterator implements DoubleEndedIterator<Student> {
      * @param list the StudentList instance to iterate over
      */
     public StudentListIterator(StudentList list) {
-        this(list, 3);
+        this(list, DEFAULT_RETRIES);
     }
 
     /**
@@ -55,6 +245,24 @@ public class StudentListIterator implements DoubleEndedIterator<Student> {
         return finder < list.getNumStudents();
     }
 
+    /**
+     * Returns the number of students that have not yet been returned from either end.
+     *
+     * @return the exact number of students remaining
+     */
+    public long estimateSize() {
+        return list.getNumStudents() - finder;
+    }
+
+    /**
+     * Returns true, since the API reports the total number of students up front.
+     *
+     * @return true
+     */
+    public boolean hasExactSize() {
+        return true;
+    }
+
     /**
      * Returns the next student in the forward direction.
      *
@@ -70,6 +278,7 @@ public class StudentListIterator implements DoubleEndedIterator<Student> {
         }
         Student student = currentPageStudents[currentPageLength++];
         finder++;
+        readAheadForward();
         return student;
     }
 
@@ -88,27 +297,317 @@ public class StudentListIterator implements DoubleEndedIterator<Student> {
         }
         Student student = reversePageStudents[reversePageLength--];
         finder++;
+        readAheadBackward();
         return student;
     }
 
+    /**
+     * Skips over the next `n` students in the forward direction without fetching the pages they
+     * are on. Only the page holding the next student returned is fetched, once it is needed.
+     *
+     * @param n the number of students to skip
+     * @return the number of students actually skipped
+     */
+    public int advanceBy(int n) {
+        int skipped = (int) Math.min(Math.max(n, 0), estimateSize());
+        if (currentPageStudents != null && currentPageLength + skipped < currentPageStudents.length) {
+            currentPageLength += skipped;
+        } else if (skipped > 0) {
+            int pageSize = list.getPageSize();
+            int index = forwardIndex() + skipped;
+            currentPage = index / pageSize;
+            forwardOffset = index % pageSize;
+            currentPageStudents = null;
+        }
+        finder += skipped;
+        return skipped;
+    }
+
+    /**
+     * Skips over the next `n` students in the reverse direction without fetching the pages they
+     * are on. Only the page holding the next student returned is fetched, once it is needed.
+     *
+     * @param n the number of students to skip
+     * @return the number of students actually skipped
+     */
+    public int advanceBackBy(int n) {
+        int skipped = (int) Math.min(Math.max(n, 0), estimateSize());
+        if (reversePageStudents != null && reversePageLength - skipped >= 0) {
+            reversePageLength -= skipped;
+        } else if (skipped > 0) {
+            int index = reverseIndex() - skipped;
+            if (index >= 0) {
+                currentReversePage = index / list.getPageSize();
+                reverseOffset = lastIndexOnPage(currentReversePage) - index;
+            }
+            reversePageStudents = null;
+        }
+        finder += skipped;
+        return skipped;
+    }
+
+    /**
+     * Skips forward to the first remaining student whose ID is at or after the given ID.
+     *
+     * <p>Pages are probed galloping forward from the current one, 1, 2, 4, ... pages ahead, until
+     * one ends at or after the ID, and then the pages since the last probe are binary searched.
+     * This fetches O(log d) pages to move d pages ahead, and the page landed on is kept for the
+     * students that follow.
+     *
+     * @param id the ID to seek to
+     * @throws ApiUnreachableException if the API cannot be reached after the specified number of retries
+     */
+    public void seek(String id) {
+        int start = forwardIndex();
+        int end = reverseIndex();
+        if (start > end) {
+            return;
+        }
+        int pageSize = list.getPageSize();
+        int lastPage = end / pageSize;
+        int low = start / pageSize;
+        int probe = low;
+        Student[] students = currentPageStudents != null && currentPage - 1 == probe
+                ? currentPageStudents
+                : fetchPage(list, probe, retries);
+        for (int gap = 1; probe < lastPage && compareLast(students, id) < 0; gap *= 2) {
+            low = probe + 1;
+            probe = Math.min(lastPage, probe + gap);
+            students = fetchPage(list, probe, retries);
+        }
+        // The first page ending at or after the ID is in [low, probe].
+        while (low < probe) {
+            int mid = (low + probe) >>> 1;
+            Student[] midStudents = fetchPage(list, mid, retries);
+            if (compareLast(midStudents, id) >= 0) {
+                probe = mid;
+                students = midStudents;
+            } else {
+                low = mid + 1;
+            }
+        }
+        int index = Math.max(start, probe * pageSize + firstAtOrAfter(students, id));
+        advanceBy(index - start);
+        if (currentPageStudents == null && currentPage == probe && forwardIndex() <= end) {
+            useNextPage(students);
+        }
+    }
+
+    /**
+     * Skips backward to the last remaining student whose ID is at or before the given ID.
+     *
+     * <p>Pages are probed galloping backward from the current one, as in {@link #seek}.
+     *
+     * @param id the ID to seek to
+     * @throws ApiUnreachableException if the API cannot be reached after the specified number of retries
+     */
+    public void seekBack(String id) {
+        int start = forwardIndex();
+        int end = reverseIndex();
+        if (start > end) {
+            return;
+        }
+        int pageSize = list.getPageSize();
+        int firstPage = start / pageSize;
+        int high = end / pageSize;
+        int probe = high;
+        Student[] students = reversePageStudents != null && currentReversePage + 1 == probe
+                ? reversePageStudents
+                : fetchPage(list, probe, retries);
+        for (int gap = 1; probe > firstPage && compareFirst(students, id) > 0; gap *= 2) {
+            high = probe - 1;
+            probe = Math.max(firstPage, probe - gap);
+            students = fetchPage(list, probe, retries);
+        }
+        // The last page starting at or before the ID is in [probe, high].
+        while (probe < high) {
+            int mid = (probe + high + 1) >>> 1;
+            Student[] midStudents = fetchPage(list, mid, retries);
+            if (compareFirst(midStudents, id) <= 0) {
+                probe = mid;
+                students = midStudents;
+            } else {
+                high = mid - 1;
+            }
+        }
+        int index = Math.min(end, probe * pageSize + lastAtOrBefore(students, id));
+        advanceBackBy(end - index);
+        if (reversePageStudents == null && currentReversePage == probe && reverseIndex() >= start) {
+            usePreviousPage(students);
+        }
+    }
+
+    /**
+     * Compares the ID of the last student on a page with the given ID.
+     */
+    private static int compareLast(Student[] students, String id) {
+        return students.length == 0
+                ? -1
+                : StudentStats.ID_ORDER.compare(students[students.length - 1].getId(), id);
+    }
+
+    /**
+     * Compares the ID of the first student on a page with the given ID.
+     */
+    private static int compareFirst(Student[] students, String id) {
+        return students.length == 0 ? 1 : StudentStats.ID_ORDER.compare(students[0].getId(), id);
+    }
+
+    /**
+     * Returns the position on a page of the first student whose ID is at or after the given ID,
+     * or the length of the page if there is none.
+     */
+    private static int firstAtOrAfter(Student[] students, String id) {
+        int low = 0;
+        int high = students.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (StudentStats.ID_ORDER.compare(students[mid].getId(), id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the position on a page of the last student whose ID is at or before the given ID,
+     * or -1 if there is none.
+     */
+    private static int lastAtOrBefore(Student[] students, String id) {
+        int low = 0;
+        int high = students.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (StudentStats.ID_ORDER.compare(students[mid].getId(), id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * Returns the index in the whole list of the next student in the forward direction.
+     *
+     * @return the index of the next student forwards
+     */
+    private int forwardIndex() {
+        int pageSize = list.getPageSize();
+        if (currentPageStudents == null) {
+            return currentPage * pageSize + forwardOffset;
+        }
+        return (currentPage - 1) * pageSize + currentPageLength;
+    }
+
+    /**
+     * Returns the index in the whole list of the next student in the reverse direction.
+     *
+     * @return the index of the next student backwards
+     */
+    private int reverseIndex() {
+        if (reversePageStudents == null) {
+            return lastIndexOnPage(currentReversePage) - reverseOffset;
+        }
+        return (currentReversePage + 1) * list.getPageSize() + reversePageLength;
+    }
+
+    /**
+     * Returns the index in the whole list of the last student on the given page.
+     *
+     * @param page the page number
+     * @return the index of the page's last student
+     */
+    private int lastIndexOnPage(int page) {
+        return Math.min((page + 1) * list.getPageSize(), list.getNumStudents()) - 1;
+    }
+
+    /**
+     * Copies up to `max` of the next students in the forward direction into the buffer. Whole runs
+     * of each page are copied at once, fetching pages only as needed.
+     *
+     * @param buf the buffer to copy students into
+     * @param off the index in `buf` of the first student copied
+     * @param max the maximum number of students to copy
+     * @return the number of students copied
+     * @throws ApiUnreachableException if the API cannot be reached after the specified number of retries
+     */
+    public int nextBatch(Object[] buf, int off, int max) {
+        int n = Math.min(max, list.getNumStudents() - finder);
+        int copied = 0;
+        while (copied < n) {
+            if (currentPageStudents == null || currentPageLength >= currentPageStudents.length) {
+                fetchNextPage();
+            }
+            int chunk = Math.min(n - copied, currentPageStudents.length - currentPageLength);
+            System.arraycopy(currentPageStudents, currentPageLength, buf, off + copied, chunk);
+            currentPageLength += chunk;
+            finder += chunk;
+            copied += chunk;
+            readAheadForward();
+        }
+        return n;
+    }
+
+    /**
+     * Copies up to `max` of the next students in the reverse direction into the buffer, fetching
+     * pages only as needed.
+     *
+     * @param buf the buffer to copy students into
+     * @param off the index in `buf` of the first student copied
+     * @param max the maximum number of students to copy
+     * @return the number of students copied
+     * @throws ApiUnreachableException if the API cannot be reached after the specified number of retries
+     */
+    public int reverseNextBatch(Object[] buf, int off, int max) {
+        int n = Math.min(max, list.getNumStudents() - finder);
+        int copied = 0;
+        while (copied < n) {
+            if (reversePageStudents == null || reversePageLength < 0) {
+                fetchPreviousPage();
+            }
+            int chunk = Math.min(n - copied, reversePageLength + 1);
+            for (int i = 0; i < chunk; i++) {
+                buf[off + copied + i] = reversePageStudents[reversePageLength - i];
+            }
+            reversePageLength -= chunk;
+            finder += chunk;
+            copied += chunk;
+            readAheadBackward();
+        }
+        return n;
+    }
+
     /**
      * Fetches the next page of students from the API for forward iteration.
      *
      * @throws ApiUnreachableException if the API cannot be reached after the specified number of retries
      */
     private void fetchNextPage() {
-        int attempts = 0;
-        while (attempts < retries) {
-            try {
-                currentPageStudents = list.getPage(currentPage);
-                currentPageLength = 0;
-                currentPage++;
-                return;
-            } catch (QueryTimedOutException e) {
-                attempts++;
-            }
+        if (reversePageStudents != null && currentPage == currentReversePage + 1) {
+            // The reverse end is on this page already
+            useNextPage(reversePageStudents);
+        } else if (parallelism > 1) {
+            useNextPage(takePage(currentPage, 1));
+        } else {
+            useNextPage(fetchPage(list, currentPage, retries));
         }
-        throw new ApiUnreachableException();
+    }
+
+    /**
+     * Makes the given students, fetched from page `currentPage`, the current page for forward
+     * iteration.
+     *
+     * @param students the students on the page
+     */
+    private void useNextPage(Student[] students) {
+        currentPageStudents = students;
+        currentPageLength = forwardOffset;
+        forwardOffset = 0;
+        currentPage++;
+        forward.triggered = false;
     }
 
     /**
@@ -117,13 +616,147 @@ public class StudentListIterator implements DoubleEndedIterator<Student> {
      * @throws ApiUnreachableException if the API cannot be reached after the specified number of retries
      */
     private void fetchPreviousPage() {
+        if (currentPageStudents != null && currentReversePage == currentPage - 1) {
+            // The forward end is on this page already
+            usePreviousPage(currentPageStudents);
+        } else if (parallelism > 1) {
+            usePreviousPage(takePage(currentReversePage, -1));
+        } else {
+            usePreviousPage(fetchPage(list, currentReversePage, retries));
+        }
+    }
+
+    /**
+     * Makes the given students, fetched from page `currentReversePage`, the current page for
+     * reverse iteration.
+     *
+     * @param students the students on the page
+     */
+    private void usePreviousPage(Student[] students) {
+        reversePageStudents = students;
+        reversePageLength = students.length - 1 - reverseOffset;
+        reverseOffset = 0;
+        currentReversePage--;
+        reverse.triggered = false;
+    }
+
+    /**
+     * Starts reading ahead of the forward end once half of its current page has been used.
+     */
+    private void readAheadForward() {
+        if (parallelism > 1
+                && !forward.triggered
+                && currentPageLength * 2 >= currentPageStudents.length) {
+            forward.triggered = true;
+            fetchAhead(currentPage - 1, 1, forward.depth);
+        }
+    }
+
+    /**
+     * Starts reading ahead of the reverse end once half of its current page has been used.
+     */
+    private void readAheadBackward() {
+        if (parallelism > 1
+                && !reverse.triggered
+                && (reversePageLength + 1) * 2 <= reversePageStudents.length) {
+            reverse.triggered = true;
+            fetchAhead(currentReversePage + 1, -1, reverse.depth);
+        }
+    }
+
+    /**
+     * Returns a page, waiting for it if it was fetched ahead or fetching it now if not. While
+     * waiting, the pages after it are fetched too if the end's readahead depth is over 1.
+     *
+     * @param page the number of the page to return
+     * @param step 1 if the page is for forward iteration, or -1 for reverse iteration
+     * @return the students on the page
+     * @throws ApiUnreachableException if the API cannot be reached after the specified number of retries
+     */
+    private Student[] takePage(int page, int step) {
+        Readahead readahead = step > 0 ? forward : reverse;
+        long started = System.nanoTime();
+        if (!inFlight.containsKey(page)) {
+            inFlight.put(page, fetchLater(page));
+        }
+        // The page being waited for is still in flight, so counts towards the limit
+        fetchAhead(page, step, readahead.depth - 1);
+        RuntimeException failure = abandonedFailure.getAndSet(null);
+        if (failure != null) {
+            throw failure;
+        }
+        FetchedPage fetched;
+        try {
+            fetched = inFlight.remove(page).future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+        readahead.taken(started, fetched.nanos, parallelism);
+        return fetched.students;
+    }
+
+    /**
+     * Starts fetching up to `ahead` pages after `page` in the direction `step`, keeping no more
+     * than `parallelism` pages in flight, and drops any pages fetched ahead which are no longer
+     * between the two ends. A page the other end already has is shared rather than fetched, so
+     * nothing is fetched from there on.
+     *
+     * @param page the current page of the end moving in direction `step`
+     * @param step 1 to fetch the following pages, or -1 to fetch the preceding pages
+     * @param ahead the number of pages after `page` to fetch
+     */
+    private void fetchAhead(int page, int step, int ahead) {
+        int pageSize = list.getPageSize();
+        int low = Math.min(page, forwardIndex() / pageSize);
+        int high = Math.max(page, reverseIndex() / pageSize);
+        for (Iterator<Fetch> it = inFlight.values().iterator(); it.hasNext(); ) {
+            Fetch pending = it.next();
+            if (pending.page < low || pending.page > high) {
+                it.remove();
+                pending.drop();
+            }
+        }
+        int forwardHeld = currentPageStudents != null ? currentPage - 1 : -1;
+        int reverseHeld = reversePageStudents != null ? currentReversePage + 1 : -1;
+        for (int i = 1; i <= ahead && inFlight.size() + abandoned.get() < parallelism; i++) {
+            int next = page + i * step;
+            if (next < low || next > high || next == forwardHeld || next == reverseHeld) {
+                break;
+            }
+            if (!inFlight.containsKey(next)) {
+                inFlight.put(next, fetchLater(next));
+            }
+        }
+    }
+
+    /**
+     * Starts fetching a page with the executor, timing how long it takes.
+     *
+     * @param page the number of the page to fetch
+     * @return the fetch, whose future is completed with the page
+     */
+    private Fetch fetchLater(int page) {
+        Fetch fetch = new Fetch(page);
+        executor.execute(fetch);
+        return fetch;
+    }
+
+    /**
+     * Fetches a page of students from the API, trying again each time the query times out.
+     *
+     * @param list the StudentList instance to query
+     * @param page the number of the page to fetch
+     * @param retries the number of attempts to make
+     * @return the page of students
+     * @throws ApiUnreachableException if the API cannot be reached after the specified number of retries
+     */
+    static Student[] fetchPage(StudentList list, int page, int retries) {
         int attempts = 0;
         while (attempts < retries) {
             try {
-                reversePageStudents = list.getPage(currentReversePage);
-                reversePageLength = reversePageStudents.length - 1;
-                currentReversePage--;
-                return;
+                return list.getPage(page);
             } catch (QueryTimedOutException e) {
                 attempts++;
             }
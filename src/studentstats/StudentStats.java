@@ -2,53 +2,52 @@
 package studentstats;
 
 import itertools.Itertools;
+import itertools.SumCount;
 
 import studentapi.*;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.function.BiFunction;
-import java.util.function.Function;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
 import java.util.function.Predicate;
-/** A class for computing the average of a number of integer samples. */
-class IntegerAverage {
-    private int total = 0;
-    private int count = 0;
 
-    public void addSample(int sample) {
-        total += sample;
-        count++;
-    }
-
-    public int getAverage() {
-        return total / count;
-    }
-}
+/**
+ * A primitive iterator over the marks of the students who have taken a particular unit, skipping
+ * those who have not. Marks are unboxed as they are read, so reducing them allocates nothing per
+ * student.
+ */
+class UnitMarks implements PrimitiveIterator.OfInt {
+    private final Iterator<Student> students;
+    private final String unit;
+    private Integer next;
 
-/** A {@link BiFunction} adding an integer sample to an {@link IntegerAverage}. */
-class IntegerAverageReduction implements BiFunction<IntegerAverage, Integer, IntegerAverage> {
-    public IntegerAverage apply(IntegerAverage lhs, Integer rhs) {
-        if (rhs == null) return lhs;
-        lhs.addSample(rhs);
-        return lhs;
+    public UnitMarks(Iterator<Student> students, String unit) {
+        this.students = students;
+        this.unit = unit;
     }
-}
-
-/** A {@link Function} retrieving the mark for a particular unit from a {@link Student} record. */
-class GetUnitMark implements Function<Student, Integer> {
-    String unit;
 
-    public GetUnitMark(String unit) {
-        this.unit = unit;
+    @Override
+    public boolean hasNext() {
+        while (next == null && students.hasNext()) {
+            next = students.next().getMark(unit);
+        }
+        return next != null;
     }
 
-    public Integer apply(Student student) {
-        return student.getMark(unit);
+    @Override
+    public int nextInt() {
+        if (!hasNext()) throw new NoSuchElementException();
+        int mark = next;
+        next = null;
+        return mark;
     }
 }
 
-
-
-
 /**
  * A {@link Predicate} to filter students who have a mark for a particular unit.
  */
@@ -65,24 +64,129 @@ class GetUnitStudent implements Predicate<Student> {
     }
 }
 
+/**
+ * The best `k` students seen so far by mark in a unit, with ties broken by lower ID. This is a
+ * binary min-heap of students and their marks in parallel arrays, so the worst kept student is
+ * at the root and each mark is read only once.
+ */
+class TopStudents {
+    private final Student[] students;
+    private final int[] marks;
+    private int size = 0;
+
+    public TopStudents(int k) {
+        students = new Student[k];
+        marks = new int[k];
+    }
+
+    /** Offers a student with the given mark, keeping them if they are among the best `k`. */
+    public void offer(Student student, int mark) {
+        if (size < students.length) {
+            siftUp(size++, student, mark);
+        } else if (size > 0 && worse(students[0], marks[0], student, mark)) {
+            siftDown(0, student, mark);
+        }
+    }
+
+    /** Empties the heap into an array, best student first. */
+    public Student[] drain() {
+        Student[] ranked = new Student[size];
+        while (size > 0) {
+            ranked[size - 1] = students[0];
+            size--;
+            siftDown(0, students[size], marks[size]);
+            students[size] = null;
+        }
+        return ranked;
+    }
+
+    /** Returns true if student `a` with mark `markA` ranks below student `b` with `markB`. */
+    private static boolean worse(Student a, int markA, Student b, int markB) {
+        if (markA != markB) return markA < markB;
+        return StudentStats.ID_ORDER.compare(a.getId(), b.getId()) > 0;
+    }
+
+    private void siftUp(int index, Student student, int mark) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(student, mark, students[parent], marks[parent])) break;
+            students[index] = students[parent];
+            marks[index] = marks[parent];
+            index = parent;
+        }
+        students[index] = student;
+        marks[index] = mark;
+    }
+
+    private void siftDown(int index, Student student, int mark) {
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && worse(students[right], marks[right], students[child], marks[child])) {
+                child = right;
+            }
+            if (!worse(students[child], marks[child], student, mark)) break;
+            students[index] = students[child];
+            marks[index] = marks[child];
+            index = child;
+        }
+        if (size > 0) {
+            students[index] = student;
+            marks[index] = mark;
+        }
+    }
+}
+
+/**
+ * A dictionary encoding of unit codes: each distinct code gets an int slot, so that per-unit
+ * state can be kept in arrays indexed by slot rather than in a map keyed by code.
+ */
+class UnitSlots {
+    /** The distinct unit codes, indexed by slot. */
+    final String[] codes;
+    /** The slot of each unit code given to the constructor, in the same order. */
+    final int[] of;
 
+    public UnitSlots(String[] units) {
+        Map<String, Integer> slots = new HashMap<>();
+        of = new int[units.length];
+        for (int i = 0; i < units.length; i++) {
+            Integer slot = slots.putIfAbsent(units[i], slots.size());
+            of[i] = slot == null ? slots.size() - 1 : slot;
+        }
+        codes = new String[slots.size()];
+        for (Map.Entry<String, Integer> entry : slots.entrySet()) {
+            codes[entry.getValue()] = entry.getKey();
+        }
+    }
+}
 
 /** A collection of statistical and analytical methods for working with the student API. */
 public class StudentStats {
+    /**
+     * The order of student IDs in the list: by length, then character by character, which is
+     * numeric order for IDs made of digits.
+     */
+    static final Comparator<String> ID_ORDER =
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
+
     /**
      * Returns the average mark (integer division) across all students who have completed a given
      * unit.
      *
+     * <p>Marks are added unboxed to a {@link SumCount}, whose long total cannot overflow however
+     * large the cohort, and nothing is allocated per student.
+     *
      * @param list The student API interface.
      * @param unit The unit code.
      * @return The average mark for all students who have taken `unit`.
+     * @throws ArithmeticException If no student has taken `unit`.
      */
     public static int unitAverage(StudentList list, String unit) {
-        return Itertools.reduce(
-                        Itertools.map(new StudentListIterator(list), new GetUnitMark(unit)),
-                        new IntegerAverage(),
-                        new IntegerAverageReduction())
-                .getAverage();
+        return (int)
+                Itertools.reduce(new UnitMarks(new StudentListIterator(list), unit), new SumCount())
+                        .getAverage();
     }
 
     /**
@@ -93,7 +197,211 @@ public class StudentStats {
      * @return An iterator over the students who have taken `unit`, from newest to oldest.
      */
     public static Iterator<Student> unitNewestStudents(StudentList list, String unit) {
-        ;
-        return Itertools.filter(Itertools.reversed(new StudentListIterator(list)),new GetUnitStudent(unit));
+        return Itertools.reversed(
+                Itertools.filterDoubleEnded(
+                        new StudentListIterator(list), new GetUnitStudent(unit)));
+    }
+
+    /**
+     * Returns the distribution of the marks of all students who have completed a given unit.
+     *
+     * <p>The list is scanned once, and marks are counted in a primitive array, so the median,
+     * percentiles and histogram come out exact without sorting.
+     *
+     * @param list The student API interface.
+     * @param unit The unit code.
+     * @return The distribution of the marks in `unit`.
+     */
+    public static MarkDistribution unitDistribution(StudentList list, String unit) {
+        MarkDistribution distribution = new MarkDistribution();
+        UnitMarks marks = new UnitMarks(new StudentListIterator(list), unit);
+        while (marks.hasNext()) {
+            distribution.add(marks.nextInt());
+        }
+        return distribution;
+    }
+
+    /**
+     * Returns the average mark (integer division) in each of the given units, in the same order,
+     * as {@link #unitAverage} would for each unit.
+     *
+     * <p>The list is scanned once for all the units rather than once per unit, so each page is
+     * fetched only once. Each distinct unit is given an int slot up front, and the scan keeps
+     * one {@link SumCount} per slot in an array.
+     *
+     * @param list The student API interface.
+     * @param units The unit codes.
+     * @return The average mark for each of `units`.
+     * @throws ArithmeticException If no student has taken one of `units`.
+     */
+    public static int[] unitAverages(StudentList list, String... units) {
+        UnitSlots slots = new UnitSlots(units);
+        SumCount[] sums = new SumCount[slots.codes.length];
+        for (int slot = 0; slot < sums.length; slot++) {
+            sums[slot] = new SumCount();
+        }
+        StudentListIterator it = new StudentListIterator(list);
+        while (it.hasNext()) {
+            Student student = it.next();
+            for (int slot = 0; slot < sums.length; slot++) {
+                Integer mark = student.getMark(slots.codes[slot]);
+                if (mark != null) {
+                    sums[slot].add(mark);
+                }
+            }
+        }
+        int[] averages = new int[units.length];
+        for (int i = 0; i < units.length; i++) {
+            SumCount sum = sums[slots.of[i]];
+            if (sum.getCount() == 0) {
+                throw new ArithmeticException("no marks in " + units[i]);
+            }
+            averages[i] = (int) sum.getAverage();
+        }
+        return averages;
+    }
+
+    /**
+     * Returns the distribution of the marks in each of the given units, in the same order, as
+     * {@link #unitDistribution} would for each unit. A unit given more than once gets the same
+     * distribution each time.
+     *
+     * <p>The list is scanned once for all the units, as in {@link #unitAverages}.
+     *
+     * @param list The student API interface.
+     * @param units The unit codes.
+     * @return The distribution of the marks for each of `units`.
+     */
+    public static MarkDistribution[] unitDistributions(StudentList list, String... units) {
+        UnitSlots slots = new UnitSlots(units);
+        MarkDistribution[] bySlot = new MarkDistribution[slots.codes.length];
+        for (int slot = 0; slot < bySlot.length; slot++) {
+            bySlot[slot] = new MarkDistribution();
+        }
+        StudentListIterator it = new StudentListIterator(list);
+        while (it.hasNext()) {
+            Student student = it.next();
+            for (int slot = 0; slot < bySlot.length; slot++) {
+                Integer mark = student.getMark(slots.codes[slot]);
+                if (mark != null) {
+                    bySlot[slot].add(mark);
+                }
+            }
+        }
+        MarkDistribution[] distributions = new MarkDistribution[units.length];
+        for (int i = 0; i < units.length; i++) {
+            distributions[i] = bySlot[slots.of[i]];
+        }
+        return distributions;
+    }
+
+    /**
+     * Returns an iterator over the `k` students with the highest marks in a given unit, from
+     * highest to lowest, with students on the same mark in ID order. If fewer than `k` students
+     * have taken the unit, all of them are returned.
+     *
+     * <p>The list is scanned once, reading each student's mark once, and only the best `k`
+     * students seen so far are kept, so memory use does not grow with the size of the list.
+     *
+     * @param list The student API interface.
+     * @param unit The unit code.
+     * @param k The number of students to return.
+     * @return An iterator over the top `k` students who have taken `unit`, in rank order.
+     * @throws IllegalArgumentException If `k` is negative.
+     */
+    public static Iterator<Student> unitTopStudents(StudentList list, String unit, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        TopStudents top = new TopStudents(k);
+        if (k > 0) {
+            StudentListIterator it = new StudentListIterator(list);
+            while (it.hasNext()) {
+                Student student = it.next();
+                Integer mark = student.getMark(unit);
+                if (mark != null) {
+                    top.offer(student, mark);
+                }
+            }
+        }
+        return Arrays.asList(top.drain()).iterator();
+    }
+
+    /**
+     * Returns the student with the given ID, or null if there is none.
+     *
+     * <p>Since the list is sorted by ID, this binary searches the pages, fetching O(log pages) of
+     * them rather than scanning the whole list.
+     *
+     * @param list The student API interface.
+     * @param id The student ID to look for.
+     * @return The student with ID `id`, or null if there is none.
+     * @throws ApiUnreachableException If a page cannot be fetched after the usual number of retries.
+     */
+    public static Student findById(StudentList list, String id) {
+        return findByIds(list, Arrays.asList(id)).get(0);
+    }
+
+    /**
+     * Returns the students with the given IDs, in the same order, with null for any ID that has
+     * no student.
+     *
+     * <p>The IDs are binary searched for together: each page fetched splits the IDs still being
+     * looked for between the pages before it, the page itself and the pages after it, so no page
+     * is fetched more than once and IDs on nearby pages share fetches.
+     *
+     * @param list The student API interface.
+     * @param sortedIds The student IDs to look for, in ascending order.
+     * @return The students with those IDs, or null for those not found.
+     * @throws ApiUnreachableException If a page cannot be fetched after the usual number of retries.
+     */
+    public static List<Student> findByIds(StudentList list, List<String> sortedIds) {
+        Student[] found = new Student[sortedIds.size()];
+        findByIds(list, sortedIds, 0, sortedIds.size(), 0, list.getNumPages() - 1, found);
+        return Arrays.asList(found);
+    }
+
+    /**
+     * Finds the IDs in `sortedIds[from, to)` among the pages `[lowPage, highPage]`.
+     */
+    private static void findByIds(
+            StudentList list,
+            List<String> sortedIds,
+            int from,
+            int to,
+            int lowPage,
+            int highPage,
+            Student[] found) {
+        if (from >= to || lowPage > highPage) {
+            return;
+        }
+        int midPage = (lowPage + highPage) >>> 1;
+        Student[] page =
+                StudentListIterator.fetchPage(list, midPage, StudentListIterator.DEFAULT_RETRIES);
+        if (page.length == 0) {
+            return;
+        }
+        String first = page[0].getId();
+        String last = page[page.length - 1].getId();
+
+        // IDs before the first on this page are on earlier pages, and those after the last later.
+        int before = from;
+        while (before < to && ID_ORDER.compare(sortedIds.get(before), first) < 0) {
+            before++;
+        }
+        int after = before;
+        int index = 0;
+        while (after < to && ID_ORDER.compare(sortedIds.get(after), last) <= 0) {
+            String id = sortedIds.get(after);
+            while (ID_ORDER.compare(page[index].getId(), id) < 0) {
+                index++;
+            }
+            if (page[index].getId().equals(id)) {
+                found[after] = page[index];
+            }
+            after++;
+        }
+        findByIds(list, sortedIds, from, before, lowPage, midPage - 1, found);
+        findByIds(list, sortedIds, after, to, midPage + 1, highPage, found);
     }
 }
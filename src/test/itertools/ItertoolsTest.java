@@ -4,13 +4,25 @@ import itertools.*;
 
 import test.Stats;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
+import javax.management.ObjectName;
+
 class IntegerIsEven implements Predicate<Integer> {
     public boolean test(Integer x) {
         return x % 2 == 0;
@@ -48,6 +60,22 @@ public class ItertoolsTest {
         stats.add(testMapBackwards(indent));
         stats.add(testZip(indent));
         stats.add(testReduce(indent));
+        stats.add(testIntPipeline(indent));
+        stats.add(testPipeline(indent));
+        stats.add(testBatch(indent));
+        stats.add(testParallelReduce(indent));
+        stats.add(testSizeHints(indent));
+        stats.add(testSkip(indent));
+        stats.add(testDoubleEnded(indent));
+        stats.add(testTee(indent));
+        stats.add(testWindows(indent));
+        stats.add(testPrefetch(indent));
+        stats.add(testMapConcurrent(indent));
+        stats.add(testFlow(indent));
+        stats.add(testInstrument(indent));
+        stats.add(testMergeSorted(indent));
+        stats.add(testGroupAggregate(indent));
+        stats.add(testAccumulators(indent));
 
         System.out.println(prefix + stats);
         return stats;
@@ -273,4 +301,1053 @@ public class ItertoolsTest {
         stats.awardMarks(1);
         return stats;
     }
+
+    public static Stats testIntPipeline(String prefix) {
+        Stats stats = new Stats(prefix, "testIntPipeline");
+
+        try {
+            // 2, 5, 8, 11, 14, 17 -> squares 4, 25, 64, 121, 196, 289 -> evens 4, 64, 196
+            PrimitiveIterator.OfInt received =
+                    Itertools.takeInt(
+                            Itertools.filterInt(
+                                    Itertools.mapInt(new RangeIterator(2, 20, 3), x -> x * x),
+                                    x -> x % 2 == 0),
+                            2);
+            stats.expect(4, received.nextInt());
+            stats.expect(64, received.nextInt());
+            stats.expect(false, received.hasNext(), "iterator does not end when expected");
+
+            IntDoubleEndedIterator backwards =
+                    Itertools.mapInt(new RangeIterator(2, 20, 3), x -> -x);
+            stats.expect(-17, backwards.reverseNextInt());
+            stats.expect(-2, backwards.nextInt());
+
+            int sum =
+                    Itertools.reduce(
+                            Itertools.zipInt(
+                                    new RangeIterator(5), new RangeIterator(10, 20), (l, r) -> l * r),
+                            0,
+                            (int acc, int x) -> acc + x);
+            stats.expect(0 * 10 + 1 * 11 + 2 * 12 + 3 * 13 + 4 * 14, sum);
+
+            LongDoubleEndedIterator longs = new LongRangeIterator(4000000000L, 4000000010L, 4);
+            stats.expect(4000000008L, longs.reverseNextLong());
+            stats.expect(4000000000L, longs.nextLong());
+            stats.expect(4000000004L, longs.nextLong());
+            stats.expect(false, longs.hasNext(), "iterator does not end when expected");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testPipeline(String prefix) {
+        Stats stats = new Stats(prefix, "testPipeline");
+
+        try {
+            Iterator<Integer> expected = Arrays.asList(4, 64).iterator();
+
+            CountingIterator<Integer> countit = new CountingIterator<>(new RangeIterator(2, 20, 3));
+            Iterator<Integer> received =
+                    Itertools.pipeline((Iterator<Integer>) countit)
+                            .filter(new IntegerIsEven())
+                            .map(new IntegerSquare())
+                            .map(new IntegerSquare().andThen(new IntegerSquare()))
+                            .map(x -> (int) Math.round(Math.sqrt(Math.sqrt(x))))
+                            .take(5)
+                            .take(2)
+                            .iterator();
+
+            while (expected.hasNext() && received.hasNext()) {
+                stats.expect(expected.next(), received.next());
+            }
+            stats.expect(
+                    expected.hasNext(), received.hasNext(), "iterator does not end when expected");
+            stats.expect(3, countit.getCount(), "should not consume past the last taken element");
+
+            String reduced =
+                    Itertools.pipeline((Iterator<Integer>) new RangeIterator(2, 20, 3))
+                            .take(4)
+                            .filter(new IntegerIsEven().negate())
+                            .reduce("init", new StringIntegerAppend());
+            stats.expect("init511", reduced);
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testBatch(String prefix) {
+        Stats stats = new Stats(prefix, "testBatch");
+
+        try {
+            // 2, 5, 8, 11, 14, 17 -> evens 2, 8, 14 -> squares 4, 64, 196
+            BatchIterator<Integer> received =
+                    (BatchIterator<Integer>)
+                            Itertools.map(
+                                    Itertools.filter(
+                                            (Iterator<Integer>) new RangeIterator(2, 20, 3),
+                                            new IntegerIsEven()),
+                                    new IntegerSquare());
+            Object[] buf = new Object[4];
+            stats.expect(2, received.nextBatch(buf, 1, 2));
+            stats.expect(Arrays.asList(null, 4, 64, null), Arrays.asList(buf));
+            stats.expect(1, received.nextBatch(buf, 0, 4));
+            stats.expect(196, buf[0]);
+            stats.expect(0, received.nextBatch(buf, 0, 4));
+
+            BatchIterator<Integer> reversed =
+                    (BatchIterator<Integer>)
+                            Itertools.take(
+                                    Itertools.reversed(
+                                            (DoubleEndedIterator<Integer>) new RangeIterator(10)),
+                                    3);
+            stats.expect(3, reversed.nextBatch(buf, 0, 4));
+            stats.expect(Arrays.asList(9, 8, 7), Arrays.asList(buf).subList(0, 3));
+
+            DoubleEndedBatchIterator<Integer> doubleMapped =
+                    (DoubleEndedBatchIterator<Integer>)
+                            Itertools.map(
+                                    (DoubleEndedIterator<Integer>) new RangeIterator(6),
+                                    new IntegerSquare());
+            stats.expect(2, doubleMapped.reverseNextBatch(buf, 0, 2));
+            stats.expect(2, doubleMapped.nextBatch(buf, 2, 2));
+            stats.expect(Arrays.asList(25, 16, 0, 1), Arrays.asList(buf));
+
+            BatchIterator<Integer> zipped =
+                    (BatchIterator<Integer>)
+                            Itertools.zip(
+                                    (Iterator<Integer>) new RangeIterator(10),
+                                    (Iterator<Integer>) new RangeIterator(3),
+                                    new IntegerSub());
+            stats.expect(3, zipped.nextBatch(buf, 0, 4));
+            stats.expect(false, zipped.hasNext(), "iterator does not end when expected");
+
+            // The left side has no exact size, so it must not be pulled past the right side's end.
+            Iterator<Integer> unsized =
+                    Itertools.filter((Iterator<Integer>) new RangeIterator(10), x -> true);
+            BatchIterator<Integer> bounded =
+                    (BatchIterator<Integer>)
+                            Itertools.zip(
+                                    unsized, (Iterator<Integer>) new RangeIterator(3),
+                                    new IntegerSub());
+            stats.expect(3, bounded.nextBatch(buf, 0, 4));
+            stats.expect(3, unsized.next());
+
+            stats.expect(
+                    Itertools.reduce(
+                            (Iterator<Integer>) new RangeIterator(600), "",
+                            new StringIntegerAppend()),
+                    Itertools.reduceBatches(new RangeIterator(600), "", new StringIntegerAppend()));
+
+            String reduced =
+                    Itertools.reduce(
+                            Itertools.take((Iterator<Integer>) new RangeIterator(1000), 600),
+                            "",
+                            new StringIntegerAppend());
+            stats.expect(
+                    Itertools.reduce(
+                            new CountingIterator<>(new RangeIterator(600)),
+                            "",
+                            new StringIntegerAppend()),
+                    reduced);
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testParallelReduce(String prefix) {
+        Stats stats = new Stats(prefix, "testParallelReduce");
+
+        try {
+            RangeIterator range = new RangeIterator(2, 20, 3);
+            RangeIterator front = range.trySplit();
+            stats.expect(Arrays.asList(2, 5, 8), Arrays.asList(drain(front)));
+            stats.expect(Arrays.asList(11, 14, 17), Arrays.asList(drain(range)));
+            stats.expect(true, new RangeIterator(1).trySplit() == null, "should not split");
+
+            long received =
+                    Itertools.parallelReduce(
+                            new RangeIterator(1, 1000001),
+                            0L,
+                            (Long acc, Integer x) -> acc + x,
+                            Long::sum);
+            stats.expect(500000500000L, received);
+
+            // Combining must keep the elements in order.
+            String ordered =
+                    Itertools.parallelReduce(
+                            new RangeIterator(2, 20, 3), "", new StringIntegerAppend(), String::concat);
+            stats.expect("258111417", ordered);
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testSizeHints(String prefix) {
+        Stats stats = new Stats(prefix, "testSizeHints");
+
+        try {
+            RangeIterator range = new RangeIterator(2, 20, 3);
+            stats.expect(6L, range.estimateSize());
+            range.next();
+            range.reverseNext();
+            stats.expect(4L, range.estimateSize());
+
+            Iterator<Integer> mapped =
+                    Itertools.map(
+                            Itertools.take(
+                                    Itertools.reversed((DoubleEndedIterator<Integer>) range), 3),
+                            new IntegerSquare());
+            stats.expect(3L, SizedIterator.exactSizeOf(mapped));
+            stats.expect(Arrays.asList(196, 121, 64), Itertools.toList(mapped));
+
+            Iterator<Integer> zipped =
+                    Itertools.zip(
+                            (Iterator<Integer>) new RangeIterator(10),
+                            (Iterator<Integer>) new RangeIterator(4),
+                            new IntegerSub());
+            stats.expect(4L, Itertools.count(zipped));
+
+            Iterator<Integer> filtered =
+                    Itertools.filter((Iterator<Integer>) new RangeIterator(10), new IntegerIsEven());
+            stats.expect(10L, SizedIterator.estimateSizeOf(filtered));
+            stats.expect(-1L, SizedIterator.exactSizeOf(filtered));
+            stats.expect(5L, Itertools.count(filtered));
+
+            CountingIterator<Integer> unsized = new CountingIterator<>(new RangeIterator(5));
+            stats.expect(-1L, SizedIterator.exactSizeOf(Itertools.take(unsized, 3)));
+
+            CountingDoubleEndedIterator<Integer> countit =
+                    new CountingDoubleEndedIterator<>(new RangeIterator(2, 20, 3));
+            stats.expect(17, Itertools.last((DoubleEndedIterator<Integer>) countit));
+            stats.expect(1, countit.getCount(), "last should only take the back element");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testSkip(String prefix) {
+        Stats stats = new Stats(prefix, "testSkip");
+
+        try {
+            CountingDoubleEndedIterator<Integer> countit =
+                    new CountingDoubleEndedIterator<>(new RangeIterator(2, 20, 3));
+            Iterator<Integer> received =
+                    Itertools.skip(
+                            Itertools.map((Iterator<Integer>) countit, new IntegerSquare()), 2);
+            stats.expect(0, countit.getCount(), "skip should be lazy");
+            stats.expect(64, received.next());
+            stats.expect(121, Itertools.nth(received, 0));
+            stats.expect(289, Itertools.nth(received, 1));
+            stats.expect(false, received.hasNext(), "iterator does not end when expected");
+
+            RangeIterator range = new RangeIterator(1000000);
+            int[] calls = new int[1];
+            DoubleEndedIterator<Integer> mapped =
+                    Itertools.map(
+                            (DoubleEndedIterator<Integer>) range,
+                            (Integer x) -> {
+                                calls[0]++;
+                                return x * x;
+                            });
+            stats.expect(1000, mapped.advanceBy(1000));
+            stats.expect(998000, mapped.advanceBackBy(998000));
+            stats.expect(0, calls[0], "function should not be applied to skipped elements");
+            stats.expect(1000L, range.estimateSize());
+            stats.expect(1000 * 1000, mapped.next());
+
+            Iterator<Integer> reversed =
+                    Itertools.take(
+                            Itertools.reversed((DoubleEndedIterator<Integer>) new RangeIterator(10)),
+                            5);
+            stats.expect(6, Itertools.nth(reversed, 3));
+            stats.expect(5, Itertools.nth(reversed, 0));
+            stats.expect(false, reversed.hasNext(), "iterator does not end when expected");
+
+            RangeIterator sevens = new RangeIterator(0, 1000, 7);
+            sevens.seek(500);
+            stats.expect(504, sevens.next());
+            sevens.seekBack(900);
+            stats.expect(896, sevens.reverseNext());
+            sevens.seek(2000);
+            stats.expect(false, sevens.hasNext(), "iterator does not end when expected");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testDoubleEnded(String prefix) {
+        Stats stats = new Stats(prefix, "testDoubleEnded");
+
+        try {
+            CountingDoubleEndedIterator<Integer> countit =
+                    new CountingDoubleEndedIterator<>(new RangeIterator(2, 20, 3));
+            DoubleEndedIterator<Integer> filtered =
+                    Itertools.filterDoubleEnded(countit, new IntegerIsEven());
+            stats.expect(14, filtered.reverseNext());
+            stats.expect(0, countit.getNextCount(), "should search from the back only");
+            stats.expect(2, filtered.next());
+            stats.expect(8, filtered.reverseNext());
+            stats.expect(false, filtered.hasNext(), "iterator does not end when expected");
+
+            DoubleEndedIterator<Integer> taken =
+                    Itertools.takeDoubleEnded(
+                            (DoubleEndedIterator<Integer>) new RangeIterator(2, 20, 3), 4);
+            stats.expect(11, taken.reverseNext());
+            stats.expect(2, taken.next());
+            stats.expect(8, taken.reverseNext());
+            stats.expect(5, taken.next());
+            stats.expect(false, taken.hasNext(), "iterator does not end when expected");
+
+            IntDoubleEndedIterator intTaken =
+                    Itertools.takeInt(Itertools.mapInt(new RangeIterator(10), x -> x * 2), 3);
+            stats.expect(4, intTaken.reverseNextInt());
+            stats.expect(0, intTaken.nextInt());
+
+            DoubleEndedIterator<Integer> zipped =
+                    Itertools.zipDoubleEnded(
+                            (DoubleEndedIterator<Integer>) new RangeIterator(10),
+                            (DoubleEndedIterator<Integer>) new RangeIterator(100, 103),
+                            new IntegerSub());
+            stats.expect(2 - 102, zipped.reverseNext());
+            stats.expect(0 - 100, zipped.next());
+            stats.expect(1 - 101, zipped.reverseNext());
+            stats.expect(false, zipped.hasNext(), "iterator does not end when expected");
+
+            boolean rejected = false;
+            try {
+                Itertools.takeDoubleEnded(
+                        new CountingDoubleEndedIterator<>(new RangeIterator(5)), 1);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            stats.expect(true, rejected, "unsized iterator cannot be taken from the back");
+
+            RangeIterator range = new RangeIterator(5);
+            IntDoubleEndedIterator unsized =
+                    new IntDoubleEndedIterator() {
+                        @Override
+                        public boolean hasNext() {
+                            return range.hasNext();
+                        }
+
+                        @Override
+                        public int nextInt() {
+                            return range.nextInt();
+                        }
+
+                        @Override
+                        public int reverseNextInt() {
+                            return range.reverseNextInt();
+                        }
+                    };
+            rejected = false;
+            try {
+                Itertools.takeInt(unsized, 1);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            stats.expect(true, rejected, "unsized int iterator cannot be taken from the back");
+
+            // The generic overloads stay the default for double-ended sources.
+            Iterator<Integer> plain =
+                    Itertools.take(
+                            Itertools.filter(new RangeIterator(10), new IntegerIsEven()), 3);
+            stats.expect(false, plain instanceof DoubleEndedIterator, "should not be double-ended");
+            stats.expect(Arrays.asList(0, 2, 4), Itertools.toList(plain));
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testTee(String prefix) {
+        Stats stats = new Stats(prefix, "testTee");
+
+        try {
+            CountingIterator<Integer> countit = new CountingIterator<>(new RangeIterator(100));
+            List<Iterator<Integer>> tees = Itertools.tee((Iterator<Integer>) countit, 3, 40);
+
+            int sum = 0;
+            Iterator<Integer> first = tees.get(0);
+            for (int i = 0; i < 40; i++) {
+                sum += first.next();
+            }
+            stats.expect(40, countit.getCount(), "should pull each element from the source once");
+
+            boolean overflowed = false;
+            try {
+                first.next();
+            } catch (TeeOverflowException e) {
+                overflowed = true;
+                stats.expect(40, e.getCapacity());
+                stats.expect(40L, e.getLag());
+                stats.expect(true, e.getMessage().contains("40"), "message should give the lag");
+            }
+            stats.expect(true, overflowed, "should not buffer more than the capacity");
+
+            // Once the others catch up, the buffer is released and all can carry on.
+            for (int i = 0; i < 40; i++) {
+                stats.expect(tees.get(1).next(), tees.get(2).next());
+            }
+            while (first.hasNext()) {
+                int next = first.next();
+                sum += next;
+                stats.expect(next, tees.get(1).next());
+                stats.expect(next, tees.get(2).next());
+            }
+            stats.expect(99 * 100 / 2, sum);
+            stats.expect(100, countit.getCount(), "should pull each element from the source once");
+            stats.expect(false, tees.get(2).hasNext(), "iterator does not end when expected");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testWindows(String prefix) {
+        Stats stats = new Stats(prefix, "testWindows");
+
+        try {
+            Iterator<List<Integer>> windows = Itertools.windows(Arrays.asList(1, 2, 3, 4).iterator(), 3);
+            stats.expect(Arrays.asList(1, 2, 3), new ArrayList<>(windows.next()));
+            stats.expect(Arrays.asList(2, 3, 4), new ArrayList<>(windows.next()));
+            stats.expect(false, windows.hasNext(), "iterator does not end when expected");
+
+            windows = Itertools.windows(Arrays.asList(1, 2).iterator(), 3);
+            stats.expect(false, windows.hasNext(), "too few elements for a window");
+
+            // Windows from both ends meet in the middle, sharing elements across the ends.
+            int[] calls = new int[1];
+            DoubleEndedIterator<Integer> counted = Itertools.map((DoubleEndedIterator<Integer>) new RangeIterator(6),
+                    x -> {
+                        calls[0]++;
+                        return x;
+                    });
+            DoubleEndedIterator<List<Integer>> both = Itertools.windowsDoubleEnded(counted, 3);
+            stats.expect(Arrays.asList(0, 1, 2), new ArrayList<>(both.next()));
+            stats.expect(Arrays.asList(3, 4, 5), new ArrayList<>(both.reverseNext()));
+            stats.expect(Arrays.asList(2, 3, 4), new ArrayList<>(both.reverseNext()));
+            stats.expect(Arrays.asList(1, 2, 3), new ArrayList<>(both.next()));
+            stats.expect(false, both.hasNext(), "iterator does not end when expected");
+            stats.expect(6, calls[0], "should pull each element from the source once");
+
+            DoubleEndedIterator<List<Integer>> chunks =
+                    Itertools.chunksDoubleEnded(
+                            (DoubleEndedIterator<Integer>) new RangeIterator(7), 3);
+            stats.expect(3L, ((SizedIterator<?>) chunks).estimateSize());
+            stats.expect(Arrays.asList(6), new ArrayList<>(chunks.reverseNext()));
+            stats.expect(Arrays.asList(0, 1, 2), new ArrayList<>(chunks.next()));
+            stats.expect(Arrays.asList(3, 4, 5), new ArrayList<>(chunks.reverseNext()));
+            stats.expect(false, chunks.hasNext(), "iterator does not end when expected");
+
+            chunks =
+                    Itertools.chunksDoubleEnded(
+                            (DoubleEndedIterator<Integer>) new RangeIterator(5), 2);
+            stats.expect(Arrays.asList(0, 1), new ArrayList<>(chunks.next()));
+            stats.expect(Arrays.asList(2, 3), new ArrayList<>(chunks.next()));
+            stats.expect(Arrays.asList(4), new ArrayList<>(chunks.next()));
+
+            DoubleEndedIterator<IntView> intWindows =
+                    Itertools.windowsInt(new RangeIterator(1, 6, 1), 2);
+            stats.expect(9L, intWindows.reverseNext().sum());
+            stats.expect(3L, intWindows.next().sum());
+            stats.expect(7L, intWindows.reverseNext().sum());
+            IntView view = intWindows.next();
+            stats.expect(2, view.size());
+            stats.expect(2, view.get(0));
+            stats.expect(3, view.get(1));
+            stats.expect(false, intWindows.hasNext(), "iterator does not end when expected");
+
+            DoubleEndedIterator<IntView> intChunks = Itertools.chunksInt(new RangeIterator(10), 4);
+            stats.expect(17L, intChunks.reverseNext().sum());
+            stats.expect(6L, intChunks.next().sum());
+            stats.expect(22L, intChunks.next().sum());
+            stats.expect(false, intChunks.hasNext(), "iterator does not end when expected");
+
+            boolean rejected = false;
+            try {
+                Itertools.windowsDoubleEnded(
+                        Itertools.filterDoubleEnded(
+                                (DoubleEndedIterator<Integer>) new RangeIterator(10),
+                                new IntegerIsEven()),
+                        2);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            stats.expect(true, rejected, "unsized iterator cannot be windowed from the back");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testPrefetch(String prefix) {
+        Stats stats = new Stats(prefix, "testPrefetch");
+
+        try {
+            Iterator<Integer> failing =
+                    Itertools.map(
+                            (Iterator<Integer>) new RangeIterator(10),
+                            x -> {
+                                if (x == 5) {
+                                    throw new IllegalStateException();
+                                }
+                                return x;
+                            });
+            Iterator<Integer> received = Itertools.prefetch(failing, 3);
+            for (int i = 0; i < 5; i++) {
+                stats.expect(i, received.next());
+            }
+            stats.expect(true, received.hasNext());
+            boolean thrown = false;
+            try {
+                received.next();
+            } catch (IllegalStateException e) {
+                thrown = true;
+            }
+            stats.expect(true, thrown, "should rethrow the exception from next");
+
+            CountingIterator<Integer> countit = new CountingIterator<>(new RangeIterator(1000000));
+            Prefetch<Integer> prefetch = Itertools.prefetch((Iterator<Integer>) countit, 4);
+            stats.expect(0, prefetch.next());
+            stats.expect(1, prefetch.next());
+            prefetch.close();
+            Thread.sleep(50);
+            stats.expect(true, countit.getCount() <= 8, "should stop fetching once closed");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testMapConcurrent(String prefix) {
+        Stats stats = new Stats(prefix, "testMapConcurrent");
+
+        try {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger most = new AtomicInteger();
+            Function<Integer, Integer> slowSquare =
+                    x -> {
+                        most.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        try {
+                            // Later elements finish first, to check the order is kept.
+                            Thread.sleep(20 - x);
+                        } catch (InterruptedException e) {
+                            throw new IllegalStateException(e);
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                        return x * x;
+                    };
+
+            Iterator<Integer> received =
+                    Itertools.mapConcurrent((Iterator<Integer>) new RangeIterator(20), slowSquare, 4);
+            for (int i = 0; i < 20; i++) {
+                stats.expect(i * i, received.next());
+            }
+            stats.expect(false, received.hasNext(), "iterator does not end when expected");
+            stats.expect(true, most.get() <= 4, "should not run more than maxInFlight calls");
+            stats.expect(true, most.get() > 1, "should run calls concurrently");
+
+            received =
+                    Itertools.mapConcurrentUnordered(
+                            (Iterator<Integer>) new RangeIterator(20), slowSquare, 4);
+            int sum = 0;
+            while (received.hasNext()) {
+                sum += received.next();
+            }
+            stats.expect(2470, sum);
+
+            received =
+                    Itertools.mapConcurrent(
+                            (Iterator<Integer>) new RangeIterator(20),
+                            x -> {
+                                if (x == 7) {
+                                    throw new IllegalStateException();
+                                }
+                                if (x >= 5) {
+                                    // Still running when the call on 7 fails.
+                                    try {
+                                        Thread.sleep(20);
+                                    } catch (InterruptedException e) {
+                                        throw new IllegalStateException(e);
+                                    }
+                                }
+                                return x;
+                            },
+                            4);
+            boolean thrown = false;
+            int returned = 0;
+            try {
+                while (received.hasNext()) {
+                    stats.expect(returned, received.next());
+                    returned++;
+                }
+            } catch (IllegalStateException e) {
+                thrown = true;
+            }
+            stats.expect(true, thrown, "should rethrow the exception from the function");
+            stats.expect(7, returned, "should return the results before the failed element");
+            stats.expect(false, received.hasNext(), "should stop after a failure");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testFlow(String prefix) {
+        Stats stats = new Stats(prefix, "testFlow");
+
+        try {
+            CountingIterator<Integer> countit = new CountingIterator<>(new RangeIterator(100));
+            Flow.Publisher<Integer> publisher = Itertools.publisher((Iterator<Integer>) countit);
+            List<Integer> received = new ArrayList<>();
+            Flow.Subscription[] subscription = new Flow.Subscription[1];
+            publisher.subscribe(
+                    new Flow.Subscriber<Integer>() {
+                        @Override
+                        public void onSubscribe(Flow.Subscription s) {
+                            subscription[0] = s;
+                        }
+
+                        @Override
+                        public void onNext(Integer item) {
+                            received.add(item);
+                        }
+
+                        @Override
+                        public void onError(Throwable throwable) {}
+
+                        @Override
+                        public void onComplete() {}
+                    });
+            stats.expect(0, countit.getCount(), "should not pull before any request");
+            subscription[0].request(3);
+            stats.expect(Arrays.asList(0, 1, 2), received);
+            stats.expect(3, countit.getCount(), "should only pull what was requested");
+            subscription[0].cancel();
+            subscription[0].request(3);
+            stats.expect(3, received.size(), "should stop once cancelled");
+
+            countit = new CountingIterator<>(new RangeIterator(100));
+            Iterator<Integer> it =
+                    Itertools.fromPublisher(Itertools.publisher((Iterator<Integer>) countit), 8);
+            stats.expect(8, countit.getCount(), "should only request what fits in the buffer");
+            int sum = 0;
+            while (it.hasNext()) {
+                sum += it.next();
+                stats.expect(
+                        true, countit.getCount() <= sum + 9, "should not buffer past the capacity");
+            }
+            stats.expect(99 * 100 / 2, sum);
+
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Iterator<Integer> range = new RangeIterator(1000);
+                it = Itertools.fromPublisher(Itertools.publisher(range, executor), 16);
+                sum = 0;
+                while (it.hasNext()) {
+                    sum += it.next();
+                }
+                stats.expect(999 * 1000 / 2, sum);
+            } finally {
+                executor.shutdown();
+            }
+
+            Iterator<Integer> withNull = Arrays.asList(1, null, 3).iterator();
+            it = Itertools.fromPublisher(Itertools.publisher(withNull), 8);
+            stats.expect(1, it.next());
+            boolean rejected = false;
+            try {
+                it.hasNext();
+            } catch (NullPointerException e) {
+                rejected = true;
+            }
+            stats.expect(true, rejected, "a null element should be delivered as an error");
+
+            // Elements that happen to be exceptions are returned, not thrown.
+            Exception item = new IllegalStateException("item");
+            Iterator<Exception> exceptions =
+                    Itertools.fromPublisher(
+                            Itertools.publisher(Arrays.<Exception>asList(item).iterator()), 4);
+            stats.expect(true, exceptions.hasNext());
+            stats.expect(true, exceptions.next() == item, "should return the element");
+            stats.expect(false, exceptions.hasNext());
+
+            // A subscriber whose onNext throws is cancelled, and later requests still work.
+            countit = new CountingIterator<>(new RangeIterator(100));
+            publisher = Itertools.publisher((Iterator<Integer>) countit);
+            publisher.subscribe(
+                    new Flow.Subscriber<Integer>() {
+                        @Override
+                        public void onSubscribe(Flow.Subscription s) {
+                            subscription[0] = s;
+                        }
+
+                        @Override
+                        public void onNext(Integer item) {
+                            throw new IllegalStateException("subscriber failed");
+                        }
+
+                        @Override
+                        public void onError(Throwable throwable) {}
+
+                        @Override
+                        public void onComplete() {}
+                    });
+            boolean thrown = false;
+            try {
+                subscription[0].request(5);
+            } catch (IllegalStateException e) {
+                thrown = true;
+            }
+            stats.expect(true, thrown, "should rethrow the exception from onNext");
+            subscription[0].request(5);
+            stats.expect(1, countit.getCount(), "should stop delivering after onNext throws");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testInstrument(String prefix) {
+        Stats stats = new Stats(prefix, "testInstrument");
+
+        try {
+            Iterator<Integer> source = Itertools.instrument(new RangeIterator(10), "test.source");
+            Iterator<Integer> evens =
+                    Itertools.instrument(Itertools.filter(source, x -> x % 2 == 0), "test.evens");
+            while (evens.hasNext()) {
+                evens.next();
+            }
+
+            StageSnapshot snapshot = Instrumentation.stage("test.source").snapshot();
+            stats.expect(10L, snapshot.getNextCalls());
+            stats.expect(10L, snapshot.getEmitted());
+            stats.expect(11L, snapshot.getHasNextCalls());
+
+            snapshot = Instrumentation.snapshot().get("test.evens");
+            stats.expect(5L, snapshot.getNextCalls());
+            stats.expect(6L, snapshot.getHasNextCalls());
+            long calls = 0;
+            for (long count : snapshot.getHistogram()) {
+                calls += count;
+            }
+            stats.expect(5L, calls, "should record the time of each call");
+            stats.expect(true, snapshot.getPercentileNanos(50) <= snapshot.getPercentileNanos(99));
+            stats.expect(
+                    true, snapshot.getHasNextNanos() > 0, "should time the search done in hasNext");
+            stats.expect(true, snapshot.getNanosPerElement() >= snapshot.getMeanNanos());
+
+            Object stages =
+                    ManagementFactory.getPlatformMBeanServer()
+                            .getAttribute(new ObjectName("itertools:type=Instrumentation"), "Stages");
+            stats.expect(true, Arrays.asList((String[]) stages).contains("test.evens"));
+
+            Instrumentation.stage("test.source").reset();
+            stats.expect(0L, Instrumentation.stage("test.source").snapshot().getPulled());
+
+            Instrumentation.Scope scope = Instrumentation.pipeline("test.pipeline");
+            source = Itertools.instrument(new RangeIterator(3), "source");
+            scope.close();
+            source.next();
+            snapshot = Instrumentation.snapshot().get("test.pipeline/source");
+            stats.expect(1L, snapshot.getNextCalls());
+            stats.expect(
+                    true,
+                    Instrumentation.snapshot().get("source") == null,
+                    "should name the stage within its pipeline");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testMergeSorted(String prefix) {
+        Stats stats = new Stats(prefix, "testMergeSorted");
+
+        try {
+            Iterator<Integer> merged =
+                    Itertools.mergeSorted(
+                            Comparator.<Integer>naturalOrder(),
+                            Arrays.asList(1, 4, 6).iterator(),
+                            Arrays.asList(2, 4, 5).iterator(),
+                            Arrays.<Integer>asList().iterator());
+            stats.expect(Arrays.asList(1, 2, 4, 4, 5, 6), Itertools.toList(merged));
+
+            merged =
+                    Itertools.mergeSortedDistinct(
+                            Comparator.<Integer>naturalOrder(),
+                            Arrays.asList(1, 4, 4, 6).iterator(),
+                            Arrays.asList(2, 4, 6).iterator());
+            stats.expect(Arrays.asList(1, 2, 4, 6), Itertools.toList(merged));
+
+            // Multiples of 2, 3 and 5 below 30, from both ends.
+            int[] comparisons = new int[1];
+            Comparator<Integer> counting =
+                    (x, y) -> {
+                        comparisons[0]++;
+                        return Integer.compare(x, y);
+                    };
+            DoubleEndedIterator<Integer> both =
+                    Itertools.mergeSortedDistinct(
+                            counting,
+                            (DoubleEndedIterator<Integer>) new RangeIterator(0, 30, 2),
+                            (DoubleEndedIterator<Integer>) new RangeIterator(0, 30, 3),
+                            (DoubleEndedIterator<Integer>) new RangeIterator(0, 30, 5));
+            stats.expect(0, both.next());
+            stats.expect(28, both.reverseNext());
+            stats.expect(27, both.reverseNext());
+            stats.expect(2, both.next());
+            List<Integer> rest = Itertools.toList(both);
+            stats.expect(
+                    Arrays.asList(3, 4, 5, 6, 8, 9, 10, 12, 14, 15, 16, 18, 20, 21, 22, 24, 25, 26),
+                    rest);
+            stats.expect(false, both.hasNext(), "iterator does not end when expected");
+            // 15 + 10 + 6 elements, 2 comparisons each plus those for duplicates and building.
+            stats.expect(true, comparisons[0] <= 31 * 4, "too many comparisons");
+
+            boolean rejected = false;
+            try {
+                Itertools.mergeSorted(
+                        Comparator.<Integer>naturalOrder(),
+                        (DoubleEndedIterator<Integer>) new RangeIterator(10),
+                        Itertools.filterDoubleEnded(
+                                (DoubleEndedIterator<Integer>) new RangeIterator(10),
+                                x -> x % 2 == 0));
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            stats.expect(true, rejected, "should need iterators of known size from the back");
+            rejected = false;
+            try {
+                Itertools.mergeSortedDistinct(
+                        Comparator.<Integer>naturalOrder(),
+                        Itertools.filterDoubleEnded(
+                                (DoubleEndedIterator<Integer>) new RangeIterator(10),
+                                x -> x % 2 == 0));
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            stats.expect(true, rejected, "should need iterators of known size from the back");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testGroupAggregate(String prefix) {
+        Stats stats = new Stats(prefix, "testGroupAggregate");
+
+        try {
+            // Lists of the elements of 0 to 19 by remainder mod 3, with a null key for 0
+            GroupTable<Integer, List<Integer>> lists =
+                    Itertools.groupAggregate(
+                            new RangeIterator(20),
+                            x -> x == 0 ? null : x % 3,
+                            ArrayList::new,
+                            (list, x) -> {
+                                list.add(x);
+                                return list;
+                            });
+            stats.expect(4, lists.size());
+            stats.expect(Arrays.asList(3, 6, 9, 12, 15, 18), lists.get(0));
+            stats.expect(Arrays.asList(2, 5, 8, 11, 14, 17), lists.get(2));
+            stats.expect(Arrays.asList(0), lists.get(null));
+            stats.expect(true, lists.get(3) == null, "should have no group 3");
+
+            // Enough groups to grow the tables several times, including the key 0
+            IntGroupTable counts =
+                    Itertools.groupAggregateInt(
+                            new RangeIterator(-5000, 5000), x -> x / 2, x -> 1, Long::sum);
+            stats.expect(5000, counts.size());
+            stats.expect(3L, counts.get(0, -1));
+            stats.expect(2L, counts.get(-2499, -1));
+            stats.expect(1L, counts.get(-2500, -1));
+            stats.expect(-1L, counts.get(2500, -1));
+
+            LongGroupTable maxima =
+                    Itertools.groupAggregateLong(
+                            new RangeIterator(1000),
+                            x -> (x % 100) * 10_000_000_000L,
+                            x -> x,
+                            Math::max);
+            stats.expect(100, maxima.size());
+            stats.expect(999L, maxima.get(99 * 10_000_000_000L, -1));
+            stats.expect(900L, maxima.get(0, -1));
+
+            // Merging two partial tables gives the same as grouping everything at once
+            IntGroupTable left =
+                    Itertools.groupAggregateInt(
+                            new RangeIterator(0, 500), x -> x % 7, x -> x, Long::sum);
+            IntGroupTable right =
+                    Itertools.groupAggregateInt(
+                            new RangeIterator(500, 1000), x -> x % 11, x -> x, Long::sum);
+            IntGroupTable whole = new IntGroupTable();
+            for (int x = 0; x < 1000; x++) {
+                whole.add(x < 500 ? x % 7 : x % 11, x, Long::sum);
+            }
+            left.merge(right, Long::sum);
+            stats.expect(whole.size(), left.size());
+            long[] mismatches = {0};
+            whole.forEach(
+                    (key, value) -> {
+                        if (left.get(key, -1) != value) {
+                            mismatches[0]++;
+                        }
+                    });
+            stats.expect(0L, mismatches[0]);
+
+            GroupTable<Integer, Integer> a =
+                    Itertools.groupAggregate(
+                            new RangeIterator(10), x -> x % 2, () -> 0, (n, x) -> n + 1);
+            GroupTable<Integer, Integer> b =
+                    Itertools.groupAggregate(
+                            new RangeIterator(5), x -> x % 4, () -> 0, (n, x) -> n + 1);
+            stats.expect(4, a.merge(b, Integer::sum).size());
+            stats.expect(7, a.get(0));
+            stats.expect(1, a.toMap().get(3));
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testAccumulators(String prefix) {
+        Stats stats = new Stats(prefix, "testAccumulators");
+
+        try {
+            SumCount sum = Itertools.reduce(new RangeIterator(2, 20, 3), new SumCount());
+            stats.expect(57L, sum.getSum());
+            stats.expect(6L, sum.getCount());
+            stats.expect(9L, sum.getAverage());
+            stats.expect(9.5, sum.getMean());
+
+            // Would overflow an int total many times over
+            SumCount big = new SumCount();
+            for (int i = 0; i < 3; i++) {
+                IntRepeat repeat = new IntRepeat(Integer.MAX_VALUE, 1000);
+                big.merge(Itertools.reduce(repeat, new SumCount()));
+            }
+            stats.expect(3000L * Integer.MAX_VALUE, big.getSum());
+            stats.expect((long) Integer.MAX_VALUE, big.getAverage());
+
+            MinMax range = Itertools.reduce(new RangeIterator(-5, 5), new MinMax());
+            range.merge(Itertools.reduce(new RangeIterator(100, 101), new MinMax()));
+            range.merge(new MinMax());
+            stats.expect(-5, range.getMin());
+            stats.expect(100, range.getMax());
+
+            // Welford's method keeps the variance exact where a sum of squares loses it all
+            Variance variance = new Variance();
+            Variance shard = new Variance();
+            for (int i = 0; i < 1000; i++) {
+                (i < 300 ? variance : shard).add(1e9 + (i % 2 == 0 ? 1 : -1));
+            }
+            variance.merge(shard);
+            stats.expect(1000L, variance.getCount());
+            stats.expect(1e9, variance.getMean());
+            stats.expect(1.0, variance.getVariance());
+            Variance small = Itertools.reduce(new RangeIterator(1, 6), new Variance());
+            stats.expect(2.5, small.getSampleVariance());
+
+            // 0.1 cannot be represented exactly, so a naive sum drifts
+            CompensatedSum compensated = new CompensatedSum();
+            CompensatedSum other = new CompensatedSum();
+            double naive = 0;
+            for (int i = 0; i < 10_000_000; i++) {
+                (i % 2 == 0 ? compensated : other).add(0.1);
+                naive += 0.1;
+            }
+            compensated.merge(other);
+            stats.expect(1_000_000.0, compensated.getSum());
+            stats.expect(10_000_000L, compensated.getCount());
+            stats.expect(true, naive != 1_000_000.0, "naive sum should have drifted");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    /** A primitive iterator repeating one value a given number of times. */
+    private static class IntRepeat implements PrimitiveIterator.OfInt {
+        private final int value;
+        private int remaining;
+
+        IntRepeat(int value, int count) {
+            this.value = value;
+            this.remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            remaining--;
+            return value;
+        }
+    }
+
+    private static Object[] drain(Iterator<Integer> it) {
+        Object[] buf = new Object[8];
+        int n = BatchIterator.fill(it, buf, 0, buf.length);
+        return Arrays.copyOf(buf, n);
+    }
 }
@@ -0,0 +1,176 @@
+package test.studentstats;
+
+import studentapi.*;
+
+import studentstats.CachingStudentList;
+import studentstats.StudentListIterator;
+import studentstats.StudentStats;
+
+import test.Stats;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class CachingStudentListTest {
+    public static Stats run(String prefix) {
+        String indent = prefix + "  ";
+        System.out.println(prefix + "CachingStudentListTest");
+        Stats stats = new Stats(prefix, "CachingStudentListTest");
+
+        stats.add(testCache(indent));
+        stats.add(testEviction(indent));
+        stats.add(testConcurrent(indent));
+
+        System.out.println(prefix + stats);
+        return stats;
+    }
+
+    public static Stats testCache(String prefix) {
+        Stats stats = new Stats(prefix, "testCache");
+
+        try {
+            MockStudentList list = new MockStudentList(400);
+            list.setFail(0, 1);
+            CachingStudentList cache = new CachingStudentList(list, 1000);
+            String first = ids(new StudentListIterator(cache));
+            int fetched = list.getCountGetPage();
+            stats.expect(100, fetched);
+
+            // A second scan, and queries through StudentStats, are served from the cache
+            stats.expect(first, ids(new StudentListIterator(cache)));
+            stats.expect(
+                    StudentStats.unitAverage((StudentList) new MockStudentList(400), "CITS2005"),
+                    StudentStats.unitAverage(cache, "CITS2005"));
+            stats.expect(fetched, list.getCountGetPage());
+            stats.expect(200L, cache.getHitCount());
+            stats.expect(100L, cache.getMissCount());
+            stats.expect(100, cache.size());
+
+            // The forward and reverse ends meeting in a page share its fetch
+            list = new MockStudentList(10);
+            cache = new CachingStudentList(list, 10);
+            StudentListIterator both = new StudentListIterator(cache);
+            for (int i = 0; i < 5; i++) {
+                both.next();
+                both.reverseNext();
+            }
+            stats.expect(false, both.hasNext(), "should have met in the middle");
+            stats.expect(3, list.getCountGetPage());
+
+            // Pages past their time to live are fetched again
+            list = new MockStudentList(40);
+            cache = new CachingStudentList(list, 100, page -> 1, Duration.ofMillis(20));
+            ids(new StudentListIterator(cache));
+            ids(new StudentListIterator(cache));
+            stats.expect(10, list.getCountGetPage());
+            Thread.sleep(40);
+            ids(new StudentListIterator(cache));
+            stats.expect(20, list.getCountGetPage());
+            stats.expect(0L, cache.getEvictionCount());
+
+            cache.invalidateAll();
+            stats.expect(0, cache.size());
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testEviction(String prefix) {
+        Stats stats = new Stats(prefix, "testEviction");
+
+        try {
+            MockStudentList list = new MockStudentList(400);
+            list.setFail(0, 1);
+            CachingStudentList cache = new CachingStudentList(list, 10);
+            ids(new StudentListIterator(cache));
+            stats.expect(10, cache.size());
+            stats.expect(90L, cache.getEvictionCount());
+
+            // The last ten pages are still cached, and the first was evicted
+            int fetched = list.getCountGetPage();
+            for (int page = 90; page < 100; page++) {
+                cache.getPage(page);
+            }
+            stats.expect(fetched, list.getCountGetPage());
+            cache.getPage(0);
+            stats.expect(fetched + 1, list.getCountGetPage());
+
+            // Fetching page 0 evicted page 90, the least recently used; using page 91 again
+            // means page 92 goes next
+            stats.expect(91L, cache.getEvictionCount());
+            cache.getPage(91);
+            cache.getPage(1);
+            stats.expect(92L, cache.getEvictionCount());
+            fetched = list.getCountGetPage();
+            cache.getPage(91);
+            stats.expect(fetched, list.getCountGetPage());
+            cache.getPage(92);
+            stats.expect(fetched + 1, list.getCountGetPage());
+
+            // By estimated bytes, with room for about five pages
+            list = new MockStudentList(400);
+            list.setFail(0, 1);
+            long pageBytes = CachingStudentList.estimatedBytes(list.getPage(0));
+            cache =
+                    new CachingStudentList(
+                            list, 5 * pageBytes, CachingStudentList::estimatedBytes, null);
+            ids(new StudentListIterator(cache));
+            stats.expect(5, cache.size());
+            stats.expect(true, cache.getWeight() <= 5 * pageBytes, "over capacity");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testConcurrent(String prefix) {
+        Stats stats = new Stats(prefix, "testConcurrent");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            MockStudentList list = new MockStudentList(400);
+            list.setFail(0, 1);
+            String expected = ids(new StudentListIterator((StudentList) new MockStudentList(400)));
+
+            CachingStudentList cache = new CachingStudentList(list, 1000);
+            List<Future<String>> scans = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                scans.add(executor.submit(() -> ids(new StudentListIterator(cache))));
+            }
+            for (Future<String> scan : scans) {
+                stats.expect(expected, scan.get());
+            }
+            // Each page fetched by one thread only, however many asked for it at once
+            stats.assertLessThanEqual(list.getCountGetPage(), 100, "too many calls to getPage()");
+            stats.expect(800L, cache.getHitCount() + cache.getMissCount());
+        } catch (Exception e) {
+            stats.exception(e);
+        } finally {
+            executor.shutdown();
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    private static String ids(Iterator<Student> it) {
+        StringBuilder ids = new StringBuilder();
+        while (it.hasNext()) {
+            ids.append(it.next().getId()).append(' ');
+        }
+        return ids.toString();
+    }
+}
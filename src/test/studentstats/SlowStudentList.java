@@ -0,0 +1,71 @@
+package test.studentstats;
+
+import studentapi.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe {@link StudentList} over a {@link MockStudentList}, taking a fixed time to answer
+ * each page and keeping track of how many pages were being fetched at once.
+ */
+public class SlowStudentList implements StudentList {
+    private final MockStudentList list;
+    private final long latencyMillis;
+    private final AtomicInteger fetching = new AtomicInteger();
+    private final AtomicInteger maxFetching = new AtomicInteger();
+    private volatile int unreachablePage = -1;
+
+    public SlowStudentList(MockStudentList list, long latencyMillis) {
+        this.list = list;
+        this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public int getNumStudents() {
+        return list.getNumStudents();
+    }
+
+    @Override
+    public int getNumPages() {
+        return list.getNumPages();
+    }
+
+    @Override
+    public int getPageSize() {
+        return list.getPageSize();
+    }
+
+    /** Makes every query for the given page time out at once. */
+    public void setUnreachable(int pageNum) {
+        unreachablePage = pageNum;
+    }
+
+    @Override
+    public Student[] getPage(int pageNum) throws QueryTimedOutException {
+        if (pageNum == unreachablePage) {
+            throw new QueryTimedOutException();
+        }
+        maxFetching.accumulateAndGet(fetching.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(latencyMillis);
+            synchronized (list) {
+                return list.getPage(pageNum);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimedOutException();
+        } finally {
+            fetching.decrementAndGet();
+        }
+    }
+
+    public int getCountGetPage() {
+        synchronized (list) {
+            return list.getCountGetPage();
+        }
+    }
+
+    public int getMaxFetching() {
+        return maxFetching.get();
+    }
+}
@@ -1,6 +1,7 @@
 package test.studentstats;
 
 import itertools.DoubleEndedIterator;
+import itertools.Itertools;
 
 import studentapi.*;
 
@@ -11,6 +12,8 @@ import test.Stats;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class StudentListIteratorTest {
     public static Stats run(String prefix) {
@@ -20,6 +23,13 @@ public class StudentListIteratorTest {
 
         stats.add(testIteration(indent));
         stats.add(testRetries(indent));
+        stats.add(testBatch(indent));
+        stats.add(testAdvance(indent));
+        stats.add(testPrefetch(indent));
+        stats.add(testPublisher(indent));
+        stats.add(testSeek(indent));
+        stats.add(testParallel(indent));
+        stats.add(testReadahead(indent));
 
         System.out.println(prefix + stats);
         return stats;
@@ -111,4 +121,321 @@ public class StudentListIteratorTest {
         stats.awardMarks(1);
         return stats;
     }
+
+    public static Stats testBatch(String prefix) {
+        Stats stats = new Stats(prefix, "testBatch");
+
+        try {
+            MockStudentList list = new MockStudentList(10);
+            StudentListIterator received = new StudentListIterator((StudentList) list);
+            Iterator<Student> expected =
+                    new StudentListIterator((StudentList) new MockStudentList(10));
+
+            Object[] buf = new Object[10];
+            stats.expect(2, received.reverseNextBatch(buf, 0, 2));
+            stats.expect(6, received.nextBatch(buf, 2, 6));
+            stats.expect(2, received.nextBatch(buf, 8, 6));
+            stats.expect(false, received.hasNext(), "iterator should be finished, hasNext");
+
+            // The last two students (newest first), then the first eight in order
+            String[] ids = new String[10];
+            for (int i = 0; i < 10; i++) {
+                ids[i] = expected.next().getId();
+            }
+            stats.expect(ids[9], ((Student) buf[0]).getId());
+            stats.expect(ids[8], ((Student) buf[1]).getId());
+            for (int i = 0; i < 8; i++) {
+                stats.expect(ids[i], ((Student) buf[i + 2]).getId());
+            }
+            // Can be done in 3 calls, but allow some leeway
+            stats.assertLessThanEqual(list.getCountGetPage(), 5, "too many calls to getPage()");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testAdvance(String prefix) {
+        Stats stats = new Stats(prefix, "testAdvance");
+
+        try {
+            String[] ids = new String[45];
+            Iterator<Student> all = new StudentListIterator((StudentList) new MockStudentList(45));
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = all.next().getId();
+            }
+
+            MockStudentList list = new MockStudentList(45);
+            StudentListIterator received = new StudentListIterator((StudentList) list);
+            stats.expect(17, received.advanceBy(17));
+            stats.expect(ids[17], received.next().getId());
+            stats.expect(1, received.advanceBy(1));
+            stats.expect(ids[19], received.next().getId());
+            stats.expect(10, received.advanceBackBy(10));
+            stats.expect(ids[34], received.reverseNext().getId());
+            stats.expect(2, received.advanceBackBy(2));
+            stats.expect(ids[31], received.reverseNext().getId());
+            stats.expect(ids[20], received.next().getId());
+            // Only pages 4, 8, 7 and 5 hold students that were returned
+            stats.assertLessThanEqual(list.getCountGetPage(), 4, "too many calls to getPage()");
+
+            stats.expect(10, received.advanceBy(100));
+            stats.expect(false, received.hasNext(), "iterator should be finished, hasNext");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testPrefetch(String prefix) {
+        Stats stats = new Stats(prefix, "testPrefetch");
+
+        try {
+            Iterator<Student> received =
+                    Itertools.prefetch(new StudentListIterator((StudentList) new MockStudentList(30)), 8);
+            Iterator<Student> expected =
+                    new StudentListIterator((StudentList) new MockStudentList(30));
+            while (expected.hasNext()) {
+                stats.expect(expected.next().getId(), received.next().getId());
+            }
+            stats.expect(false, received.hasNext(), "iterator should be finished, hasNext");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        MockStudentList list = new MockStudentList(300);
+        list.setFail(3, 5); // Fail 3 in a row out of every 5
+        int seen = 0;
+        boolean unreachable = false;
+        try {
+            Iterator<Student> it = Itertools.prefetch(new StudentListIterator((StudentList) list), 8);
+            while (it.hasNext()) {
+                it.next();
+                seen++;
+            }
+        } catch (ApiUnreachableException e) {
+            unreachable = true;
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        if (!unreachable) {
+            stats.fail("did not receive expected ApiUnreachableException");
+        }
+        stats.expect(true, seen < 300, "should stop at the failure");
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testPublisher(String prefix) {
+        Stats stats = new Stats(prefix, "testPublisher");
+
+        try {
+            MockStudentList list = new MockStudentList(30);
+            Iterator<Student> received =
+                    Itertools.fromPublisher(
+                            Itertools.publisher(new StudentListIterator((StudentList) list)), 4);
+            // Pages hold 4 students, so a buffer of 4 should need a single page up front.
+            stats.assertLessThanEqual(list.getCountGetPage(), 1, "fetched pages before demand");
+            Iterator<Student> expected =
+                    new StudentListIterator((StudentList) new MockStudentList(30));
+            while (expected.hasNext()) {
+                stats.expect(expected.next().getId(), received.next().getId());
+            }
+            stats.expect(false, received.hasNext(), "iterator should be finished, hasNext");
+            stats.assertLessThanEqual(list.getCountGetPage(), 10, "too many calls to getPage()");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testSeek(String prefix) {
+        Stats stats = new Stats(prefix, "testSeek");
+
+        try {
+            Iterator<Student> all =
+                    new StudentListIterator((StudentList) new MockStudentList(4000));
+            String[] ids = new String[4000];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = all.next().getId();
+            }
+
+            MockStudentList list = new MockStudentList(4000);
+            StudentListIterator it = new StudentListIterator((StudentList) list);
+            stats.expect(ids[0], it.next().getId());
+            it.seek(ids[3000]);
+            stats.expect(ids[3000], it.next().getId());
+            stats.expect(ids[3001], it.next().getId());
+            // Galloping 750 pages ahead takes about 2 * log2(750) calls.
+            stats.assertLessThanEqual(list.getCountGetPage(), 25, "too many calls to getPage()");
+
+            it.seekBack(ids[3500]);
+            stats.expect(ids[3500], it.reverseNext().getId());
+            it.seek("20948679"); // Behind the front, so nothing moves
+            stats.expect(ids[3002], it.next().getId());
+            stats.expect(3500L - 3003, it.estimateSize());
+
+            // An ID with no student seeks to the next one after it.
+            it = new StudentListIterator((StudentList) new MockStudentList(10));
+            it.seek("20948679");
+            stats.expect("20948680", it.next().getId());
+            it.seekBack("20948679");
+            stats.expect(false, it.hasNext(), "iterator should be finished, hasNext");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testParallel(String prefix) {
+        Stats stats = new Stats(prefix, "testParallel");
+
+        try {
+            StringBuilder expected = new StringBuilder();
+            Iterator<Student> all =
+                    new StudentListIterator((StudentList) new MockStudentList(200));
+            while (all.hasNext()) {
+                expected.append(all.next().getId()).append(' ');
+            }
+
+            // 50 pages at 20ms each would take a second one at a time. The mock's failures are
+            // counted across all pages, so are turned off where fetches interleave.
+            MockStudentList mock = new MockStudentList(200);
+            mock.setFail(0, 1);
+            SlowStudentList list = new SlowStudentList(mock, 20);
+            StudentListIterator it = new StudentListIterator(list, 3, 8);
+            StringBuilder received = new StringBuilder();
+            while (it.hasNext()) {
+                received.append(it.next().getId()).append(' ');
+            }
+            stats.expect(expected.toString(), received.toString());
+            stats.assertLessThanEqual(list.getMaxFetching(), 8, "too many pages in flight");
+            stats.expect(true, list.getMaxFetching() > 1, "should fetch pages in parallel");
+            stats.assertLessThanEqual(list.getCountGetPage(), 50, "too many calls to getPage()");
+
+            // Both ends at once, meeting in the middle, on a supplied executor
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                mock = new MockStudentList(200);
+                mock.setFail(0, 1);
+                list = new SlowStudentList(mock, 5);
+                it = new StudentListIterator(list, 3, 4, executor);
+                StringBuilder front = new StringBuilder();
+                StringBuilder back = new StringBuilder();
+                for (int i = 0; i < 100; i++) {
+                    front.append(it.next().getId()).append(' ');
+                    back.insert(0, it.reverseNext().getId() + " ");
+                }
+                stats.expect(false, it.hasNext(), "should have met in the middle");
+                stats.expect(expected.toString(), front.toString() + back);
+                stats.assertLessThanEqual(list.getMaxFetching(), 4, "too many pages in flight");
+                stats.assertLessThanEqual(
+                        list.getCountGetPage(), 50, "too many calls to getPage()");
+            } finally {
+                executor.shutdown();
+            }
+
+            // A page that cannot be fetched fails the iterator when it is reached
+            MockStudentList failing = new MockStudentList(200);
+            failing.setFail(3, 5); // Fail 3 in a row out of every 5
+            boolean unreachable = false;
+            try {
+                it = new StudentListIterator(new SlowStudentList(failing, 1), 3, 4);
+                while (it.hasNext()) it.next();
+            } catch (ApiUnreachableException e) {
+                unreachable = true;
+            }
+            stats.expect(true, unreachable, "did not receive expected ApiUnreachableException");
+
+            // A page read ahead and then skipped is dropped, but its failure is still reported
+            mock = new MockStudentList(200);
+            mock.setFail(0, 1);
+            list = new SlowStudentList(mock, 5);
+            list.setUnreachable(1);
+            it = new StudentListIterator(list, 3, 4);
+            it.next();
+            it.next();
+            it.next(); // Past half of page 0, so page 1 is being read ahead
+            Thread.sleep(50);
+            it.advanceBy(40);
+            unreachable = false;
+            try {
+                it.next();
+            } catch (ApiUnreachableException e) {
+                unreachable = true;
+            }
+            stats.expect(true, unreachable, "failure of a dropped page should not be lost");
+            // The failure is reported once, and the iterator carries on from where it was
+            stats.expect(expected.toString().split(" ")[43], it.next().getId());
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testReadahead(String prefix) {
+        Stats stats = new Stats(prefix, "testReadahead");
+
+        try {
+            // A consumer slower than the API only ever needs the next page read ahead
+            MockStudentList mock = new MockStudentList(40);
+            mock.setFail(0, 1);
+            SlowStudentList list = new SlowStudentList(mock, 10);
+            StudentListIterator it = new StudentListIterator(list, 3, 8);
+            int count = 0;
+            while (it.hasNext()) {
+                it.next();
+                Thread.sleep(5);
+                count++;
+            }
+            stats.expect(40, count);
+            stats.expect(1, list.getMaxFetching());
+            stats.expect(10, list.getCountGetPage());
+
+            // A fast consumer reads further ahead, from both ends, without passing the middle
+            mock = new MockStudentList(200);
+            mock.setFail(0, 1);
+            list = new SlowStudentList(mock, 10);
+            it = new StudentListIterator(list, 3, 8);
+            Object[] buf = new Object[3];
+            while (it.hasNext()) {
+                it.nextBatch(buf, 0, 3);
+                it.reverseNext();
+            }
+            stats.expect(true, list.getMaxFetching() > 2, "should read several pages ahead");
+            stats.expect(50, list.getCountGetPage());
+
+            // The ends share the page they meet on, even without reading ahead
+            MockStudentList single = new MockStudentList(4);
+            it = new StudentListIterator((StudentList) single);
+            it.next();
+            it.reverseNext();
+            it.next();
+            stats.expect(1, single.getCountGetPage());
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
 }
@@ -2,12 +2,17 @@ package test.studentstats;
 
 import studentapi.*;
 
+import studentstats.MarkDistribution;
+import studentstats.StudentListIterator;
 import studentstats.StudentStats;
 
 import test.Stats;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 
 public class StudentStatsTest {
     public static Stats run(String prefix) {
@@ -17,6 +22,10 @@ public class StudentStatsTest {
 
         stats.add(testUnitAverage(indent));
         stats.add(testUnitNewestStudents(indent));
+        stats.add(testFindById(indent));
+        stats.add(testUnitTopStudents(indent));
+        stats.add(testUnitDistribution(indent));
+        stats.add(testUnitAverages(indent));
 
         System.out.println(prefix + stats);
         return stats;
@@ -72,4 +81,225 @@ public class StudentStatsTest {
         stats.awardMarks(1);
         return stats;
     }
+
+    public static Stats testFindById(String prefix) {
+        Stats stats = new Stats(prefix, "testFindById");
+
+        try {
+            Iterator<Student> all =
+                    new StudentListIterator((StudentList) new MockStudentList(4000));
+            String[] ids = new String[4000];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = all.next().getId();
+            }
+
+            MockStudentList list = new MockStudentList(4000);
+            list.setFail(2, 5); // Fail 2 in a row out of every 5, within the default retries
+            stats.expect(ids[1234], StudentStats.findById((StudentList) list, ids[1234]).getId());
+            // 1000 pages can be binary searched in 10 calls, plus retries
+            stats.assertLessThanEqual(list.getCountGetPage(), 30, "too many calls to getPage()");
+
+            list = new MockStudentList(4000);
+            stats.expect(true, StudentStats.findById((StudentList) list, "20948679") == null);
+            stats.assertLessThanEqual(list.getCountGetPage(), 11, "too many calls to getPage()");
+
+            list = new MockStudentList(4000);
+            List<Student> found =
+                    StudentStats.findByIds(
+                            (StudentList) list,
+                            Arrays.asList(ids[0], "20948679", ids[2000], ids[2001], ids[3999]));
+            stats.expect(ids[0], found.get(0).getId());
+            stats.expect(true, found.get(1) == null, "should not find a missing ID");
+            stats.expect(ids[2000], found.get(2).getId());
+            stats.expect(ids[2001], found.get(3).getId());
+            stats.expect(ids[3999], found.get(4).getId());
+            stats.assertLessThanEqual(list.getCountGetPage(), 25, "too many calls to getPage()");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testUnitTopStudents(String prefix) {
+        Stats stats = new Stats(prefix, "testUnitTopStudents");
+
+        try {
+            // Sort everyone who took the unit by mark, best first, then by ID
+            List<Student> sorted = new ArrayList<>();
+            Iterator<Student> all =
+                    new StudentListIterator((StudentList) new MockStudentList(2000));
+            while (all.hasNext()) {
+                Student student = all.next();
+                if (student.getMark("CITS2005") != null) {
+                    sorted.add(student);
+                }
+            }
+            sorted.sort(
+                    Comparator.comparing((Student s) -> -s.getMark("CITS2005"))
+                            .thenComparing(s -> Long.parseLong(s.getId())));
+
+            MockStudentList list = new MockStudentList(2000);
+            Iterator<Student> received =
+                    StudentStats.unitTopStudents((StudentList) list, "CITS2005", 25);
+            for (int i = 0; i < 25; i++) {
+                stats.expect(true, received.hasNext(), "iterator ends unexpectedly, hasNext");
+                stats.expect(sorted.get(i).getId(), received.next().getId());
+            }
+            stats.expect(false, received.hasNext(), "should return only k students");
+            // 500 pages, each fetched once
+            stats.assertLessThanEqual(list.getCountGetPage(), 500, "too many calls to getPage()");
+
+            // Asking for more students than took the unit returns all of them
+            received =
+                    StudentStats.unitTopStudents(
+                            (StudentList) new MockStudentList(2000), "CITS2005", 5000);
+            int count = 0;
+            while (received.hasNext()) {
+                received.next();
+                count++;
+            }
+            stats.expect(sorted.size(), count);
+
+            received =
+                    StudentStats.unitTopStudents(
+                            (StudentList) new MockStudentList(30), "CITS2005", 0);
+            stats.expect(false, received.hasNext(), "should return no students for k = 0");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testUnitDistribution(String prefix) {
+        Stats stats = new Stats(prefix, "testUnitDistribution");
+
+        try {
+            List<Integer> marks = new ArrayList<>();
+            Iterator<Student> all =
+                    new StudentListIterator((StudentList) new MockStudentList(1000));
+            while (all.hasNext()) {
+                Integer mark = all.next().getMark("CITS2005");
+                if (mark != null) {
+                    marks.add(mark);
+                }
+            }
+            marks.sort(null);
+            long total = 0;
+            for (int mark : marks) {
+                total += mark;
+            }
+
+            MockStudentList list = new MockStudentList(1000);
+            MarkDistribution received =
+                    StudentStats.unitDistribution((StudentList) list, "CITS2005");
+            stats.expect((long) marks.size(), received.count());
+            stats.expect((double) total / marks.size(), received.mean());
+            stats.expect(marks.get((marks.size() + 1) / 2 - 1), received.median());
+            int p10 = (marks.size() * 10 + 99) / 100 - 1;
+            int p90 = (marks.size() * 90 + 99) / 100 - 1;
+            stats.expect(marks.get(p10), received.percentile(10));
+            stats.expect(marks.get(p90), received.percentile(90));
+            stats.expect(marks.get(0), received.percentile(0));
+            stats.expect(marks.get(marks.size() - 1), received.percentile(100));
+            stats.expect(true, received.isExact(), "marks 0 to 100 should be counted exactly");
+            long[] histogram = received.histogram();
+            stats.expect(101, histogram.length);
+            stats.expect(marks.stream().filter(m -> m == 55).count(), histogram[55]);
+            stats.assertLessThanEqual(list.getCountGetPage(), 250, "too many calls to getPage()");
+
+            // Merging the two halves of a range gives the same as adding everything at once
+            MarkDistribution low = new MarkDistribution();
+            MarkDistribution high = new MarkDistribution();
+            for (int mark = 0; mark <= 100; mark++) {
+                (mark < 30 ? low : high).add(mark);
+            }
+            low.merge(high);
+            stats.expect(101L, low.count());
+            stats.expect(50, low.median());
+            stats.expect(90, low.percentile(90));
+
+            // 28% of 25 marks is exactly the 7th, though 28 / 100 * 25 rounds to just over 7
+            MarkDistribution odd = new MarkDistribution();
+            for (int mark = 1; mark <= 25; mark++) {
+                odd.add(mark);
+            }
+            stats.expect(7, odd.percentile(28));
+            stats.expect(8, odd.percentile(28.5));
+            stats.expect(13, odd.median());
+
+            // Out of range marks fall back to a sketch within 1% of the true percentile
+            MarkDistribution wide = new MarkDistribution();
+            for (int mark = -50_000; mark <= 100_000; mark++) {
+                wide.add(mark);
+            }
+            stats.expect(false, wide.isExact(), "should have fallen back to a sketch");
+            stats.expect(25_000.0, wide.mean());
+            stats.expect(-50_000, wide.percentile(0));
+            stats.expect(100_000, wide.percentile(100));
+            stats.assertLessThanEqual(Math.abs(wide.median() - 25_000), 250, "median too far off");
+            stats.assertLessThanEqual(
+                    Math.abs(wide.percentile(10) + 35_000), 350, "p10 too far off");
+
+            MarkDistribution sketched = new MarkDistribution();
+            sketched.add(1_000_000);
+            sketched.merge(new MarkDistribution().merge(low));
+            stats.expect(102L, sketched.count());
+            stats.assertLessThanEqual(Math.abs(sketched.median() - 50), 1, "merged median off");
+            boolean threw = false;
+            try {
+                sketched.histogram();
+            } catch (IllegalStateException e) {
+                threw = true;
+            }
+            stats.expect(true, threw, "should have no histogram once sketched");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
+
+    public static Stats testUnitAverages(String prefix) {
+        Stats stats = new Stats(prefix, "testUnitAverages");
+
+        try {
+            String[] units = {"CITS2005", "CITS1001", "MATH1011", "CITS2005", "CITS2200"};
+            int[] expected = new int[units.length];
+            for (int i = 0; i < units.length; i++) {
+                expected[i] =
+                        StudentStats.unitAverage((StudentList) new MockStudentList(30), units[i]);
+            }
+
+            MockStudentList list = new MockStudentList(30);
+            int[] received = StudentStats.unitAverages((StudentList) list, units);
+            stats.expect(Arrays.toString(expected), Arrays.toString(received));
+            stats.expect(55, received[0]);
+            // One scan for all the units, as for a single unit
+            stats.assertLessThanEqual(list.getCountGetPage(), 10, "too many calls to getPage()");
+
+            list = new MockStudentList(30);
+            MarkDistribution[] distributions =
+                    StudentStats.unitDistributions((StudentList) list, units);
+            stats.expect(units.length, distributions.length);
+            for (int i = 0; i < units.length; i++) {
+                stats.expect(expected[i], (int) Math.floor(distributions[i].mean()));
+            }
+            stats.expect(true, distributions[0] == distributions[3], "should share a slot");
+            stats.assertLessThanEqual(list.getCountGetPage(), 10, "too many calls to getPage()");
+        } catch (Exception e) {
+            stats.exception(e);
+        }
+
+        stats.resolveTest();
+        stats.awardMarks(1);
+        return stats;
+    }
 }
@@ -10,6 +10,7 @@ public class Test {
 
         stats.add(StudentListIteratorTest.run(indent));
         stats.add(StudentStatsTest.run(indent));
+        stats.add(CachingStudentListTest.run(indent));
 
         System.out.println(prefix + stats);
         return stats;